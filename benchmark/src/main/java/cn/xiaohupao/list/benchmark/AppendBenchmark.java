@@ -0,0 +1,50 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从空列表开始逐个追加元素，对比MyArrayList整体复制的扩容与MySegmentedList追加新段的扩容
+ * 使用SampleTime可以看到MyArrayList在扩容时的长尾
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 19:30
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class AppendBenchmark {
+
+    @Param({Lists.MY_ARRAY_LIST, Lists.MY_SEGMENTED_LIST})
+    public String impl;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    /**
+     * 所有追加的元素都是同一个对象，只测量列表本身的开销
+     */
+    private static final Integer ELEMENT = 42;
+
+    @Benchmark
+    public List<Integer> append(){
+        List<Integer> list = Lists.newList(impl);
+        for (int i = 0; i < size; i++){
+            list.add(ELEMENT);
+        }
+        return list;
+    }
+}
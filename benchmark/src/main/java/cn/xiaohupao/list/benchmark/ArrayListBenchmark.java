@@ -0,0 +1,170 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyArrayList与java.util.ArrayList的热点路径对比
+ * 覆盖add/get/remove/indexOf/grow、removeIf、batchRemove(removeAll/retainAll)、sort以及基于spliterator的流
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 10:35
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ArrayListBenchmark {
+
+    @Param({Lists.MY_ARRAY_LIST, Lists.ARRAY_LIST})
+    public String impl;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /**
+     * 只读操作共用的列表
+     */
+    private List<Integer> list;
+
+    /**
+     * removeAll/retainAll的参数，包含十分之一的元素
+     */
+    private List<Integer> probe;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        list = Lists.sequential(impl, size);
+        probe = new ArrayList<>();
+        for (int i = 0; i < size; i += 10){
+            probe.add(i);
+        }
+    }
+
+    /**
+     * 每次调用前重新构造的列表，用于会修改列表结构的基准
+     */
+    @State(Scope.Thread)
+    public static class MutableState {
+        List<Integer> list;
+        List<Integer> shuffled;
+
+        @Setup(Level.Invocation)
+        public void setUp(ArrayListBenchmark outer){
+            list = Lists.sequential(outer.impl, outer.size);
+            shuffled = Lists.shuffled(outer.impl, outer.size);
+        }
+    }
+
+    /**
+     * 从空列表开始追加元素，包含多次grow
+     */
+    @Benchmark
+    public List<Integer> addWithGrow(){
+        List<Integer> l = Lists.newList(impl);
+        for (int i = 0; i < size; i++){
+            l.add(i);
+        }
+        return l;
+    }
+
+    /**
+     * 按索引顺序访问所有元素
+     */
+    @Benchmark
+    public long get(){
+        long sum = 0;
+        for (int i = 0, n = list.size(); i < n; i++){
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * 在中间位置插入再删除，测量add(int, E)和remove(int)的元素移动开销
+     */
+    @Benchmark
+    public Integer addRemoveMiddle(){
+        int mid = list.size() >> 1;
+        list.add(mid, -1);
+        return list.remove(mid);
+    }
+
+    /**
+     * 在尾部插入再删除
+     */
+    @Benchmark
+    public Integer addRemoveLast(){
+        list.add(-1);
+        return list.remove(list.size() - 1);
+    }
+
+    /**
+     * 查找最后一个元素，即indexOf的最坏情况
+     */
+    @Benchmark
+    public int indexOf(){
+        return list.indexOf(size - 1);
+    }
+
+    /**
+     * 查找不存在的元素
+     */
+    @Benchmark
+    public boolean containsMissing(){
+        return list.contains(-1);
+    }
+
+    @Benchmark
+    public boolean removeIf(MutableState s){
+        return s.list.removeIf(e -> (e & 1) == 0);
+    }
+
+    @Benchmark
+    public boolean removeAll(MutableState s){
+        return s.list.removeAll(probe);
+    }
+
+    @Benchmark
+    public boolean retainAll(MutableState s){
+        return s.list.retainAll(probe);
+    }
+
+    @Benchmark
+    public List<Integer> sort(MutableState s){
+        s.shuffled.sort(Comparator.naturalOrder());
+        return s.shuffled;
+    }
+
+    @Benchmark
+    public long stream(){
+        return list.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStream(){
+        return list.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public void forEach(Blackhole bh){
+        list.forEach(bh::consume);
+    }
+}
@@ -0,0 +1,40 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * 用法：先在上级目录执行 mvn install，再在本目录执行 mvn package，然后
+ * java -jar target/benchmarks.jar [JMH参数...]
+ * 结果默认以JSON格式写入 target/jmh-result.json，可通过 -Djmh.result=路径 修改，
+ * 便于在不同的提交之间对比回归
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 10:12
+ */
+public class BenchmarkRunner {
+
+    /**
+     * 默认的结果文件
+     */
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        //命令行参数与JMH自带的参数一致，如 -f 1 -wi 3 -i 5 ArrayListBenchmark
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cmd);
+        //命令行未指定结果格式时，输出机器可读的JSON结果
+        if (!cmd.getResultFormat().hasValue()){
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmd.getResult().hasValue()){
+            builder.result(System.getProperty("jmh.result", DEFAULT_RESULT_FILE));
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,83 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 参数是List时MyArrayList.removeAll/retainAll的耗时
+ * removeIfContains用逐个调用c.contains的方式作为对照，即原来O(n*m)的做法
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 20:50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BulkRemoveBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"1000"})
+    public int argumentSize;
+
+    private Integer[] source;
+
+    private List<Integer> argument;
+
+    private MyArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUpData(){
+        Random random = new Random(42);
+        source = new Integer[size];
+        for (int i = 0; i < size; i++){
+            source[i] = random.nextInt(size);
+        }
+        argument = new ArrayList<>(argumentSize);
+        for (int i = 0; i < argumentSize; i++){
+            argument.add(random.nextInt(size));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpList(){
+        list = new MyArrayList<>(size);
+        for (Integer e : source){
+            list.add(e);
+        }
+    }
+
+    @Benchmark
+    public boolean removeAll(){
+        return list.removeAll(argument);
+    }
+
+    @Benchmark
+    public boolean retainAll(){
+        return list.retainAll(argument);
+    }
+
+    @Benchmark
+    public boolean removeIfContains(){
+        return list.removeIf(argument::contains);
+    }
+}
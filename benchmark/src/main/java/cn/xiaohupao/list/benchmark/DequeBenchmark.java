@@ -0,0 +1,72 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyArrayDeque与MyLinkedList(包括开启结点回收的MyLinkedList)作为队列使用时的对比
+ * 配合-prof gc运行可以看到每个操作分配的字节数
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 16:50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DequeBenchmark {
+
+    @Param({Lists.MY_ARRAY_DEQUE, Lists.MY_LINKED_LIST, Lists.MY_POOLED_LINKED_LIST})
+    public String impl;
+
+    @Param({"16", "10000"})
+    public int size;
+
+    private Deque<Integer> deque;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        deque = (Deque<Integer>) Lists.sequential(impl, size);
+    }
+
+    /**
+     * 稳态的FIFO：尾部入队、头部出队，队列长度不变
+     */
+    @Benchmark
+    public Integer offerLastPollFirst(){
+        deque.offerLast(1);
+        return deque.pollFirst();
+    }
+
+    /**
+     * 稳态的LIFO：头部入栈、头部出栈
+     */
+    @Benchmark
+    public Integer pushPop(){
+        deque.push(1);
+        return deque.pop();
+    }
+
+    /**
+     * 按索引读取中间的元素
+     */
+    @Benchmark
+    public Integer getMiddle(){
+        return ((List<Integer>) deque).get(size >> 1);
+    }
+}
@@ -0,0 +1,130 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyConcurrentLinkedDeque;
+import cn.xiaohupao.list.arraylist.MyLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程争用下MyConcurrentLinkedDeque与加了synchronized的MyLinkedList的对比
+ * 每个线程先入队再出队，队列长度保持在预填充的大小附近
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 15:45
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class DequeContentionBenchmark {
+
+    static final String CONCURRENT = "MyConcurrentLinkedDeque";
+    static final String SYNCHRONIZED = "SynchronizedMyLinkedList";
+
+    @Param({CONCURRENT, SYNCHRONIZED})
+    public String impl;
+
+    /**
+     * 预填充的元素个数
+     */
+    @Param({"1000"})
+    public int size;
+
+    private WorkQueue queue;
+
+    @Setup
+    public void setUp(){
+        queue = CONCURRENT.equals(impl) ? new ConcurrentQueue() : new SynchronizedQueue();
+        for (int i = 0; i < size; i++){
+            queue.offerLast(i);
+        }
+    }
+
+    /**
+     * FIFO：尾部入队，头部出队，两端各自争用
+     */
+    @Benchmark
+    @Group("fifo")
+    @GroupThreads(4)
+    public Integer fifo(){
+        queue.offerLast(1);
+        return queue.pollFirst();
+    }
+
+    /**
+     * LIFO：所有线程都在头部入栈出栈，争用最集中
+     */
+    @Benchmark
+    @Group("lifo")
+    @GroupThreads(4)
+    public Integer lifo(){
+        queue.offerFirst(1);
+        return queue.pollFirst();
+    }
+
+    /**
+     * 被测的最小队列操作集合
+     */
+    private interface WorkQueue {
+        void offerFirst(Integer e);
+
+        void offerLast(Integer e);
+
+        Integer pollFirst();
+    }
+
+    private static final class ConcurrentQueue implements WorkQueue {
+        private final MyConcurrentLinkedDeque<Integer> deque = new MyConcurrentLinkedDeque<>();
+
+        @Override
+        public void offerFirst(Integer e){
+            deque.offerFirst(e);
+        }
+
+        @Override
+        public void offerLast(Integer e){
+            deque.offerLast(e);
+        }
+
+        @Override
+        public Integer pollFirst(){
+            return deque.pollFirst();
+        }
+    }
+
+    /**
+     * 用一个监视器保护MyLinkedList，即现在作为工作队列的用法
+     */
+    private static final class SynchronizedQueue implements WorkQueue {
+        private final MyLinkedList<Integer> deque = new MyLinkedList<>();
+
+        @Override
+        public synchronized void offerFirst(Integer e){
+            deque.offerFirst(e);
+        }
+
+        @Override
+        public synchronized void offerLast(Integer e){
+            deque.offerLast(e);
+        }
+
+        @Override
+        public synchronized Integer pollFirst(){
+            return deque.pollFirst();
+        }
+    }
+}
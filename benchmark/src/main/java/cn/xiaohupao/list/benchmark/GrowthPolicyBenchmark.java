@@ -0,0 +1,79 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.GrowthPolicy;
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同容量策略下MyArrayList的耗时和分配量，配合-prof gc查看B/op
+ * append为持续追加；sawtooth为追加到size后删除到size/10，再追加回size，模拟大小起伏的缓存
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:40
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GrowthPolicyBenchmark {
+
+    @Param({"DEFAULT", "DOUBLING", "MEMORY_TIGHT"})
+    public String policy;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private static final Integer ELEMENT = 1;
+
+    private GrowthPolicy growthPolicy;
+
+    @Setup
+    public void setUp(){
+        switch (policy){
+            case "DOUBLING":
+                growthPolicy = GrowthPolicy.DOUBLING;
+                break;
+            case "MEMORY_TIGHT":
+                growthPolicy = GrowthPolicy.MEMORY_TIGHT;
+                break;
+            default:
+                growthPolicy = GrowthPolicy.DEFAULT;
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> append(){
+        MyArrayList<Integer> list = new MyArrayList<>(growthPolicy);
+        for (int i = 0; i < size; i++){
+            list.add(ELEMENT);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> sawtooth(){
+        MyArrayList<Integer> list = new MyArrayList<>(growthPolicy);
+        for (int round = 0; round < 3; round++){
+            while (list.size() < size){
+                list.add(ELEMENT);
+            }
+            while (list.size() > size / 10){
+                list.remove(list.size() - 1);
+            }
+        }
+        return list;
+    }
+}
@@ -0,0 +1,91 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyArrayList启用哈希索引前后的对比
+ * 查询比较contains/indexOf的收益，修改比较每次add/set多出的索引维护开销
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 20:10
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IndexedListBenchmark {
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private MyArrayList<Integer> list;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        list = new MyArrayList<>(size + 1);
+        for (int i = 0; i < size; i++){
+            list.add(i);
+        }
+        list.setIndexed(indexed);
+    }
+
+    private int next(){
+        cursor = (cursor + 7919) % size;
+        return cursor;
+    }
+
+    /**
+     * 命中的contains，位置在整个列表中均匀分布
+     */
+    @Benchmark
+    public boolean containsHit(){
+        return list.contains(next());
+    }
+
+    /**
+     * 不命中的indexOf，线性扫描时需要遍历整个列表
+     */
+    @Benchmark
+    public int indexOfMiss(){
+        return list.indexOf(-1);
+    }
+
+    /**
+     * 尾部追加再从尾部删除，列表长度不变
+     */
+    @Benchmark
+    public Integer addRemoveLast(){
+        list.add(size);
+        return list.remove(size);
+    }
+
+    /**
+     * 替换一个元素再换回原值
+     */
+    @Benchmark
+    public Integer setRoundTrip(){
+        int i = next();
+        list.set(i, -i);
+        return list.set(i, i);
+    }
+}
@@ -0,0 +1,201 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyLinkedList与java.util.LinkedList的热点路径对比
+ * 覆盖node(int)(通过get/set，包括按顺序的索引访问)、addAll(int, Collection)、双端队列操作、removeIf、removeAll、sort以及基于spliterator的流
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 10:58
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkedListBenchmark {
+
+    @Param({Lists.MY_LINKED_LIST, Lists.LINKED_LIST})
+    public String impl;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    /**
+     * indexedLoop和addSequential访问的连续索引的个数
+     */
+    private static final int WINDOW = 1000;
+
+    /**
+     * 只读操作及稳态队列操作共用的列表
+     */
+    private List<Integer> list;
+
+    /**
+     * removeAll和addAll的参数，包含十分之一的元素
+     */
+    private List<Integer> probe;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        list = Lists.sequential(impl, size);
+        probe = new ArrayList<>();
+        for (int i = 0; i < size; i += 10){
+            probe.add(i);
+        }
+    }
+
+    /**
+     * 每次调用前重新构造的列表，用于会修改列表结构的基准
+     */
+    @State(Scope.Thread)
+    public static class MutableState {
+        List<Integer> list;
+        List<Integer> shuffled;
+
+        @Setup(Level.Invocation)
+        public void setUp(LinkedListBenchmark outer){
+            list = Lists.sequential(outer.impl, outer.size);
+            shuffled = Lists.shuffled(outer.impl, outer.size);
+        }
+    }
+
+    /**
+     * 访问中间位置的元素，node(int)需要遍历size/2个结点
+     */
+    @Benchmark
+    public Integer getMiddle(){
+        return list.get(size >> 1);
+    }
+
+    /**
+     * 访问靠近头部的元素
+     */
+    @Benchmark
+    public Integer getNearHead(){
+        return list.get(size >> 3);
+    }
+
+    @Benchmark
+    public Integer setMiddle(){
+        int mid = size >> 1;
+        return list.set(mid, list.get(mid));
+    }
+
+    /**
+     * 从中间开始按顺序用get(i)读取最多WINDOW个元素，finger使每次只需要移动一个结点
+     */
+    @Benchmark
+    public long indexedLoop(){
+        long sum = 0;
+        for (int i = size >> 1, end = Math.min(i + WINDOW, size); i < end; i++){
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * 在中间位置按顺序逐个插入WINDOW个元素
+     */
+    @Benchmark
+    public List<Integer> addSequential(MutableState s){
+        for (int i = size >> 1, end = i + WINDOW; i < end; i++){
+            s.list.add(i, i);
+        }
+        return s.list;
+    }
+
+    /**
+     * 在中间位置批量插入
+     */
+    @Benchmark
+    public boolean addAllMiddle(MutableState s){
+        return s.list.addAll(size >> 1, probe);
+    }
+
+    /**
+     * 作为FIFO队列使用：尾部入队，头部出队
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Integer offerLastPollFirst(){
+        Deque<Integer> deque = (Deque<Integer>) list;
+        deque.offerLast(-1);
+        return deque.pollFirst();
+    }
+
+    /**
+     * 作为栈使用：头部压入，头部弹出
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Integer pushPop(){
+        Deque<Integer> deque = (Deque<Integer>) list;
+        deque.push(-1);
+        return deque.pop();
+    }
+
+    /**
+     * 头部入队，尾部出队
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Integer offerFirstPollLast(){
+        Deque<Integer> deque = (Deque<Integer>) list;
+        deque.offerFirst(-1);
+        return deque.pollLast();
+    }
+
+    @Benchmark
+    public boolean removeIf(MutableState s){
+        return s.list.removeIf(e -> (e & 1) == 0);
+    }
+
+    @Benchmark
+    public boolean removeAll(MutableState s){
+        return s.list.removeAll(probe);
+    }
+
+    @Benchmark
+    public List<Integer> sort(MutableState s){
+        s.shuffled.sort(Comparator.naturalOrder());
+        return s.shuffled;
+    }
+
+    @Benchmark
+    public long iterate(){
+        long sum = 0;
+        for (Integer e : list){
+            sum += e;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long stream(){
+        return list.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    @Benchmark
+    public long parallelStream(){
+        return list.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
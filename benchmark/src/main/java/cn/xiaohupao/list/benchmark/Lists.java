@@ -0,0 +1,109 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayDeque;
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import cn.xiaohupao.list.arraylist.MyLinkedList;
+import cn.xiaohupao.list.arraylist.MySegmentedList;
+import cn.xiaohupao.list.arraylist.MyTreeList;
+import cn.xiaohupao.list.arraylist.MyUnrolledLinkedList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试中用于创建被测列表的工具类
+ * 实现的名称即为各基准测试中impl参数的取值
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 10:20
+ */
+final class Lists {
+
+    static final String MY_ARRAY_LIST = "MyArrayList";
+    static final String ARRAY_LIST = "ArrayList";
+    static final String MY_LINKED_LIST = "MyLinkedList";
+    static final String LINKED_LIST = "LinkedList";
+    static final String MY_TREE_LIST = "MyTreeList";
+    static final String MY_ARRAY_DEQUE = "MyArrayDeque";
+    static final String MY_SEGMENTED_LIST = "MySegmentedList";
+    static final String MY_UNROLLED_LINKED_LIST = "MyUnrolledLinkedList";
+    static final String MY_POOLED_LINKED_LIST = "MyLinkedListPooled";
+
+    /**
+     * MY_POOLED_LINKED_LIST使用的回收结点上限
+     */
+    static final int NODE_POOL_CAPACITY = 1024;
+
+    /**
+     * 生成数据时使用的固定种子，保证每次运行的数据相同
+     */
+    static final long SEED = 42L;
+
+    private Lists(){
+    }
+
+    /**
+     * 根据实现名称创建一个空列表
+     * @param impl 实现名称
+     * @return 空列表
+     */
+    static <E> List<E> newList(String impl){
+        switch (impl){
+            case MY_ARRAY_LIST:
+                return new MyArrayList<>();
+            case ARRAY_LIST:
+                return new ArrayList<>();
+            case MY_LINKED_LIST:
+                return new MyLinkedList<>();
+            case LINKED_LIST:
+                return new LinkedList<>();
+            case MY_TREE_LIST:
+                return new MyTreeList<>();
+            case MY_ARRAY_DEQUE:
+                return new MyArrayDeque<>();
+            case MY_SEGMENTED_LIST:
+                return new MySegmentedList<>();
+            case MY_UNROLLED_LINKED_LIST:
+                return new MyUnrolledLinkedList<>();
+            case MY_POOLED_LINKED_LIST:
+                MyLinkedList<E> pooled = new MyLinkedList<>();
+                pooled.setNodePoolCapacity(NODE_POOL_CAPACITY);
+                return pooled;
+            default:
+                throw new IllegalArgumentException("Unknown list implementation: " + impl);
+        }
+    }
+
+    /**
+     * 创建一个包含0~size-1的列表
+     * @param impl 实现名称
+     * @param size 元素个数
+     * @return 填充好的列表
+     */
+    static List<Integer> sequential(String impl, int size){
+        List<Integer> list = newList(impl);
+        for (int i = 0; i < size; i++){
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * 创建一个包含0~size-1且顺序被打乱的列表
+     * @param impl 实现名称
+     * @param size 元素个数
+     * @return 填充好的列表
+     */
+    static List<Integer> shuffled(String impl, int size){
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(SEED));
+        List<Integer> list = newList(impl);
+        list.addAll(values);
+        return list;
+    }
+}
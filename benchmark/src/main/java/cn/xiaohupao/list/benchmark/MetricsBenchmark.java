@@ -0,0 +1,57 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.ListMetrics;
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关联统计对象对MyArrayList追加、中间插入删除的影响
+ * 分别用-jvmArgsAppend -Dcn.xiaohupao.list.metrics=false/true运行，比较开关关闭和打开时的耗时
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:30
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean attach;
+
+    @Param({"1000"})
+    public int size;
+
+    private static final Integer ELEMENT = 1;
+
+    private final ListMetrics metrics = new ListMetrics("benchmark");
+
+    @Benchmark
+    public MyArrayList<Integer> appendAndEdit(){
+        MyArrayList<Integer> list = new MyArrayList<>();
+        if (attach){
+            list.setMetrics(metrics);
+        }
+        for (int i = 0; i < size; i++){
+            list.add(ELEMENT);
+        }
+        for (int i = 0; i < size; i++){
+            list.add(size >> 1, ELEMENT);
+            list.remove(size >> 2);
+        }
+        return list;
+    }
+}
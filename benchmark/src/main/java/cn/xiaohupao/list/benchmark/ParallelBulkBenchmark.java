@@ -0,0 +1,81 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyArrayList的removeIf/replaceAll与并行版本的对比
+ * 谓词和替换函数都做一段与元素相关的计算，模拟代价较高的条件；
+ * 并行版本只有在多核机器上才会真正并行，单核时退化为串行版本
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 21:10
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelBulkBenchmark {
+
+    @Param({"1000000"})
+    public int size;
+
+    /**
+     * 每个元素上计算的轮数
+     */
+    @Param({"1", "64"})
+    public int work;
+
+    private MyArrayList<Integer> list;
+
+    @Setup(Level.Invocation)
+    public void setUp(){
+        list = new MyArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            list.add(i);
+        }
+    }
+
+    private int mix(int x){
+        for (int i = 0; i < work; i++){
+            x = x * 0x9E3779B9 + (x >>> 16);
+        }
+        return x;
+    }
+
+    @Benchmark
+    public boolean removeIf(){
+        return list.removeIf(e -> (mix(e) & 1) == 0);
+    }
+
+    @Benchmark
+    public boolean parallelRemoveIf(){
+        return list.parallelRemoveIf(e -> (mix(e) & 1) == 0);
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> replaceAll(){
+        list.replaceAll(this::mix);
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> parallelReplaceAll(){
+        list.parallelReplaceAll(this::mix);
+        return list;
+    }
+}
@@ -0,0 +1,67 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 随机位置插入/删除的对比，MyTreeList为O(log n)，MyArrayList需要移动尾部元素，MyLinkedList需要遍历结点
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 13:50
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PositionalEditBenchmark {
+
+    @Param({Lists.MY_TREE_LIST, Lists.MY_ARRAY_LIST, Lists.MY_LINKED_LIST})
+    public String impl;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private List<Integer> list;
+
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        list = Lists.sequential(impl, size);
+        random = new Random(Lists.SEED);
+    }
+
+    /**
+     * 在随机位置插入再在另一随机位置删除，列表长度保持不变
+     */
+    @Benchmark
+    public Integer addRemoveRandom(){
+        list.add(random.nextInt(size + 1), -1);
+        return list.remove(random.nextInt(size + 1));
+    }
+
+    @Benchmark
+    public Integer getRandom(){
+        return list.get(random.nextInt(size));
+    }
+
+    @Benchmark
+    public Integer setRandom(){
+        return list.set(random.nextInt(size), -1);
+    }
+}
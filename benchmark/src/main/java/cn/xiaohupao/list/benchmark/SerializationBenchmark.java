@@ -0,0 +1,102 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.ElementCodec;
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import cn.xiaohupao.list.arraylist.MyLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java序列化(writeObject/readObject)与ElementCodec按批写通道的对比
+ * 数据为1M个Integer，两种方式都写到内存中的字节数组
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 18:40
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    @Param({Lists.MY_ARRAY_LIST, Lists.MY_LINKED_LIST})
+    public String impl;
+
+    @Param({"1000000"})
+    public int size;
+
+    private List<Integer> list;
+
+    /**
+     * 两种格式预先写好的字节，用于读取的测试
+     */
+    private byte[] javaBytes;
+    private byte[] codecBytes;
+
+    /**
+     * 写入时复用的输出流，避免每次重新扩容
+     */
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() throws IOException{
+        list = Lists.shuffled(impl, size);
+        out = new ByteArrayOutputStream(size * 16);
+        javaBytes = javaWrite().toByteArray();
+        codecBytes = codecWrite().toByteArray();
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream javaWrite() throws IOException{
+        out.reset();
+        try (ObjectOutputStream s = new ObjectOutputStream(out)){
+            s.writeObject(list);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream codecWrite() throws IOException{
+        out.reset();
+        if (list instanceof MyArrayList){
+            ((MyArrayList<Integer>) list).writeTo(Channels.newChannel(out), ElementCodec.INT);
+        }else{
+            ((MyLinkedList<Integer>) list).writeTo(Channels.newChannel(out), ElementCodec.INT);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public Object javaRead() throws IOException, ClassNotFoundException{
+        try (ObjectInputStream s = new ObjectInputStream(new ByteArrayInputStream(javaBytes))){
+            return s.readObject();
+        }
+    }
+
+    @Benchmark
+    public List<Integer> codecRead() throws IOException{
+        if (Lists.MY_ARRAY_LIST.equals(impl)){
+            return MyArrayList.readFrom(Channels.newChannel(new ByteArrayInputStream(codecBytes)), ElementCodec.INT);
+        }
+        return MyLinkedList.readFrom(Channels.newChannel(new ByteArrayInputStream(codecBytes)), ElementCodec.INT);
+    }
+}
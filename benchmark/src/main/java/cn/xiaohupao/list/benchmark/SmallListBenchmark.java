@@ -0,0 +1,69 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import cn.xiaohupao.list.arraylist.MyCompactList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 只有少量元素的列表，比较空参构造的MyArrayList与MyCompactList
+ * 配合-prof gc运行，create的B/op即为一个填好的列表(列表对象加数组)占用的堆空间
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SmallListBenchmark {
+
+    @Param({"false", "true"})
+    public boolean compact;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int elements;
+
+    private static final Integer ELEMENT = 1;
+
+    private List<Integer> newList(){
+        return compact ? new MyCompactList<>() : new MyArrayList<>();
+    }
+
+    /**
+     * 创建列表并添加elements个元素
+     */
+    @Benchmark
+    public List<Integer> create(){
+        List<Integer> list = newList();
+        for (int i = 0; i < elements; i++){
+            list.add(ELEMENT);
+        }
+        return list;
+    }
+
+    /**
+     * 创建后遍历一次，确认紧凑列表的读取路径没有变慢
+     */
+    @Benchmark
+    public int createAndIterate(){
+        List<Integer> list = create();
+        int sum = 0;
+        for (int i = 0, n = list.size(); i < n; i++){
+            sum += list.get(i);
+        }
+        return sum;
+    }
+}
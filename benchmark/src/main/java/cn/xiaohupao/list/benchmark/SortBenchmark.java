@@ -0,0 +1,75 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyArrayList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyArrayList.sort与MyArrayList.parallelSort的对比
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 14:25
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({"100000", "1000000", "10000000"})
+    public int size;
+
+    /**
+     * 打乱顺序的数据，每次调用前复制到list中
+     */
+    private List<Integer> data;
+
+    private MyArrayList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++){
+            values[i] = i;
+        }
+        data = Arrays.asList(values);
+        Collections.shuffle(data, new Random(Lists.SEED));
+        list = new MyArrayList<>(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill(){
+        list.clear();
+        list.addAll(data);
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> sort(){
+        list.sort(Comparator.naturalOrder());
+        return list;
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> parallelSort(){
+        list.parallelSort(Comparator.naturalOrder());
+        return list;
+    }
+}
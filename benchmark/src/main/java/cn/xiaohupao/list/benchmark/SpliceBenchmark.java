@@ -0,0 +1,73 @@
+package cn.xiaohupao.list.benchmark;
+
+import cn.xiaohupao.list.arraylist.MyLinkedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 把一个链表合并到另一个链表尾部的几种方式
+ * addAllList为参数是MyLinkedList时直接沿结点复制，addAllArrayList为经过toArray的一般路径，transfer直接移动结点
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 22:30
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpliceBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private MyLinkedList<Integer> target;
+
+    private MyLinkedList<Integer> source;
+
+    private List<Integer> arraySource;
+
+    @Setup(Level.Invocation)
+    public void setUp(){
+        target = new MyLinkedList<>();
+        source = new MyLinkedList<>();
+        arraySource = new ArrayList<>(size);
+        for (int i = 0; i < size; i++){
+            target.add(i);
+            source.add(i);
+            arraySource.add(i);
+        }
+    }
+
+    @Benchmark
+    public MyLinkedList<Integer> addAllList(){
+        target.addAll(source);
+        return target;
+    }
+
+    @Benchmark
+    public MyLinkedList<Integer> addAllArrayList(){
+        target.addAll(arraySource);
+        return target;
+    }
+
+    @Benchmark
+    public MyLinkedList<Integer> transfer(){
+        target.transferFrom(source);
+        return target;
+    }
+}
@@ -0,0 +1,101 @@
+package cn.xiaohupao.list.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Deque;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MyUnrolledLinkedList与MyLinkedList、MyArrayList的对比
+ * 覆盖顺序遍历、在迭代器位置插入以及队列操作
+ * 列表按顺序构造，MyLinkedList的结点在内存中基本相邻，对它是有利的情况；
+ * 长时间运行、结点被打散后，MyLinkedList的遍历会更慢
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 22:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnrolledListBenchmark {
+
+    @Param({Lists.MY_UNROLLED_LINKED_LIST, Lists.MY_LINKED_LIST, Lists.MY_ARRAY_LIST})
+    public String impl;
+
+    @Param({"100000"})
+    public int size;
+
+    private List<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        list = Lists.sequential(impl, size);
+    }
+
+    /**
+     * 每次调用前重新构造的列表
+     */
+    @State(Scope.Thread)
+    public static class MutableState {
+        List<Integer> list;
+
+        @Setup(Level.Invocation)
+        public void setUp(UnrolledListBenchmark outer){
+            list = Lists.sequential(outer.impl, outer.size);
+        }
+    }
+
+    @Benchmark
+    public long iterate(){
+        long sum = 0;
+        for (Integer e : list){
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * 遍历的同时每隔8个元素在迭代器位置插入一个元素
+     */
+    @Benchmark
+    public List<Integer> iteratorInsert(MutableState s){
+        ListIterator<Integer> it = s.list.listIterator();
+        int i = 0;
+        while (it.hasNext()){
+            it.next();
+            if ((++i & 7) == 0){
+                it.add(-1);
+            }
+        }
+        return s.list;
+    }
+
+    /**
+     * 稳态的FIFO，MyArrayList不是双端队列，跳过
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Integer offerLastPollFirst(){
+        if (!(list instanceof Deque)){
+            return null;
+        }
+        Deque<Integer> deque = (Deque<Integer>) list;
+        deque.offerLast(1);
+        return deque.pollFirst();
+    }
+}
@@ -0,0 +1,1145 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 写时复制的线程安全ArrayList，适用于读多写少的共享列表
+ * 读操作不加锁，直接读取volatile数组；写操作在锁内复制一份新数组，修改后再替换
+ * 迭代器和并行遍历迭代器基于创建时的数组快照，永远不会抛出并发修改异常，也不支持修改操作
+ * subList返回的视图在锁内检查和修改，列表被视图以外的途径修改后，视图抛出并发修改异常
+ * addAll、removeAll、retainAll、removeIf、replaceAll、sort等批量写操作每批只复制一次
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 14:50
+ */
+public class CopyOnWriteMyArrayList<E> extends MyAbstractList<E> implements List<E>, RandomAccess, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960226L;
+
+    /**
+     * 保护所有写操作的锁
+     * 反序列化时不会执行字段初始化，因此不声明为final，在readObject中重新创建
+     */
+    transient ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 存储元素的数组，只能通过getArray/setArray访问
+     */
+    private transient volatile Object[] array;
+
+    final Object[] getArray(){
+        return array;
+    }
+
+    final void setArray(Object[] a){
+        array = a;
+    }
+
+    /**
+     * 空参构造
+     */
+    public CopyOnWriteMyArrayList(){
+        setArray(new Object[0]);
+    }
+
+    /**
+     * 通过指定的集合创建列表
+     * @param c 要将元素放入该list的集合
+     */
+    public CopyOnWriteMyArrayList(@NotNull Collection<? extends E> c){
+        Object[] elements;
+        if (c.getClass() == CopyOnWriteMyArrayList.class){
+            elements = ((CopyOnWriteMyArrayList<?>) c).getArray();
+        }else{
+            elements = c.toArray();
+            if (elements.getClass() != Object[].class){
+                elements = Arrays.copyOf(elements, elements.length, Object[].class);
+            }
+        }
+        setArray(elements);
+    }
+
+    /**
+     * 通过给定数组的副本创建列表
+     * @param toCopyIn 数组
+     */
+    public CopyOnWriteMyArrayList(E @NotNull [] toCopyIn){
+        setArray(Arrays.copyOf(toCopyIn, toCopyIn.length, Object[].class));
+    }
+
+    //读操作，均不加锁
+
+    @Override
+    public int size(){
+        return getArray().length;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size() == 0;
+    }
+
+    /**
+     * 在数组的指定区间中查找元素第一次出现的位置
+     * @param o 指定的元素
+     * @param elements 数组
+     * @param index 起始索引(包含)
+     * @param fence 结束索引(不包含)
+     * @return 元素的索引，不存在则返回-1
+     */
+    private static int indexOf(Object o, Object[] elements, int index, int fence){
+        if (o == null){
+            for (int i = index; i < fence; i++){
+                if (elements[i] == null){
+                    return i;
+                }
+            }
+        }else{
+            for (int i = index; i < fence; i++){
+                if (o.equals(elements[i])){
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 在数组中从指定位置向前查找元素最后一次出现的位置
+     * @param o 指定的元素
+     * @param elements 数组
+     * @param index 起始索引(包含)
+     * @return 元素的索引，不存在则返回-1
+     */
+    private static int lastIndexOf(Object o, Object[] elements, int index){
+        if (o == null){
+            for (int i = index; i >= 0; i--){
+                if (elements[i] == null){
+                    return i;
+                }
+            }
+        }else{
+            for (int i = index; i >= 0; i--){
+                if (o.equals(elements[i])){
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        Object[] elements = getArray();
+        return indexOf(o, elements, 0, elements.length) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o){
+        Object[] elements = getArray();
+        return indexOf(o, elements, 0, elements.length);
+    }
+
+    @Override
+    public int lastIndexOf(Object o){
+        Object[] elements = getArray();
+        return lastIndexOf(o, elements, elements.length - 1);
+    }
+
+    @Override
+    public Object[] toArray(){
+        Object[] elements = getArray();
+        return Arrays.copyOf(elements, elements.length);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T @NotNull [] a){
+        Object[] elements = getArray();
+        int len = elements.length;
+        if (a.length < len){
+            return (T[]) Arrays.copyOf(elements, len, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, len);
+        if (a.length > len){
+            a[len] = null;
+        }
+        return a;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E get(Object[] a, int index){
+        return (E) a[index];
+    }
+
+    /**
+     * 获取指定索引处的元素，不加锁
+     * @param index 指定的索引
+     * @return 指定索引位置元素
+     */
+    @Override
+    public E get(int index){
+        return get(getArray(), index);
+    }
+
+    /**
+     * 对快照中的每个元素执行给定的操作
+     * @param action 每个元素要执行的动作
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action){
+        Objects.requireNonNull(action);
+        for (Object e : getArray()){
+            action.accept((E) e);
+        }
+    }
+
+    //写操作，均在锁内复制数组
+
+    /**
+     * 在指定索引位置更新元素，并返回旧的元素
+     * @param index 指定索引
+     * @param element 新的元素
+     * @return 旧的元素
+     */
+    @Override
+    public E set(int index, E element){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            E oldValue = get(elements, index);
+
+            if (oldValue != element){
+                Object[] newElements = Arrays.copyOf(elements, elements.length);
+                newElements[index] = element;
+                setArray(newElements);
+            }else{
+                //值没有变化也要写一次volatile，保证happens-before语义
+                setArray(elements);
+            }
+            return oldValue;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(E e){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            Object[] newElements = Arrays.copyOf(elements, len + 1);
+            newElements[len] = e;
+            setArray(newElements);
+            modCount++;
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void add(int index, E element){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            if (index > len || index < 0){
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + len);
+            }
+            Object[] newElements = new Object[len + 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(elements, index, newElements, index + 1, len - index);
+            newElements[index] = element;
+            setArray(newElements);
+            modCount++;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E remove(int index){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            E oldValue = get(elements, index);
+            int numMoved = len - index - 1;
+            Object[] newElements = new Object[len - 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(elements, index + 1, newElements, index, numMoved);
+            setArray(newElements);
+            modCount++;
+            return oldValue;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除指定元素第一次出现的位置
+     * 先在快照中无锁查找，找到后再加锁确认
+     * @param o 指定元素
+     * @return true则为删除成功
+     */
+    @Override
+    public boolean remove(Object o){
+        Object[] snapshot = getArray();
+        int index = indexOf(o, snapshot, 0, snapshot.length);
+        return (index >= 0) && remove(o, snapshot, index);
+    }
+
+    private boolean remove(Object o, Object[] snapshot, int index){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] current = getArray();
+            int len = current.length;
+            if (snapshot != current){
+                //快照已过期，在当前数组中重新查找
+                index = indexOf(o, current, 0, len);
+                if (index < 0){
+                    return false;
+                }
+            }
+            Object[] newElements = new Object[len - 1];
+            System.arraycopy(current, 0, newElements, 0, index);
+            System.arraycopy(current, index + 1, newElements, index, len - index - 1);
+            setArray(newElements);
+            modCount++;
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除指定索引区间中的元素
+     * @param fromIndex 开始的索引
+     * @param toIndex 结束的索引
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+
+            if (fromIndex < 0 || toIndex > len || toIndex < fromIndex){
+                throw new IndexOutOfBoundsException();
+            }
+            int newLen = len - (toIndex - fromIndex);
+            Object[] newElements = new Object[newLen];
+            System.arraycopy(elements, 0, newElements, 0, fromIndex);
+            System.arraycopy(elements, toIndex, newElements, fromIndex, len - toIndex);
+            setArray(newElements);
+            modCount++;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            setArray(new Object[0]);
+            modCount++;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 将所指定的集合中的元素添加到list的末尾中，只复制一次数组
+     * @param c 指定要添加的集合
+     * @return 返回true则表示添加成功
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c){
+        Object[] cs = (c.getClass() == CopyOnWriteMyArrayList.class) ?
+                ((CopyOnWriteMyArrayList<?>) c).getArray() : c.toArray();
+        if (cs.length == 0){
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            Object[] newElements = Arrays.copyOf(elements, len + cs.length);
+            System.arraycopy(cs, 0, newElements, len, cs.length);
+            setArray(newElements);
+            modCount++;
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 在指定索引位置将指定集合中的元素加入到list中，只复制一次数组
+     * @param index 指定的索引
+     * @param c 指定的集合
+     * @return 若为true则添加成功
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c){
+        Object[] cs = c.toArray();
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            if (index > len || index < 0){
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + len);
+            }
+            if (cs.length == 0){
+                return false;
+            }
+            Object[] newElements = new Object[len + cs.length];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(cs, 0, newElements, index, cs.length);
+            System.arraycopy(elements, index, newElements, index + cs.length, len - index);
+            setArray(newElements);
+            modCount++;
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c){
+        Objects.requireNonNull(c);
+        final Collection<?> lookup = lookupFor(c, size());
+        return bulkRemove(lookup::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c){
+        Objects.requireNonNull(c);
+        final Collection<?> lookup = lookupFor(c, size());
+        return bulkRemove(e -> !lookup.contains(e));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter){
+        Objects.requireNonNull(filter);
+        return bulkRemove(filter);
+    }
+
+    /**
+     * 删除所有满足条件的元素，在锁内只生成一次新数组
+     * 若filter抛出异常，则列表保持不变
+     * @param filter 删除元素的条件
+     * @return true则表示有元素被删除
+     */
+    private boolean bulkRemove(Predicate<? super E> filter){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return bulkRemove(filter, 0, getArray().length) > 0;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 删除指定区间中所有满足条件的元素，只生成一次新数组，调用者必须持有锁
+     * 若filter抛出异常，则列表保持不变
+     * @param filter 删除元素的条件
+     * @param from 开始的索引(包含)
+     * @param to 结束的索引(不包含)
+     * @return 删除的元素个数
+     */
+    @SuppressWarnings("unchecked")
+    private int bulkRemove(Predicate<? super E> filter, int from, int to){
+        Object[] elements = getArray();
+        int len = elements.length;
+        if (from == to){
+            return 0;
+        }
+        Object[] temp = new Object[to - from];
+        int w = 0;
+        for (int i = from; i < to; i++){
+            Object e = elements[i];
+            if (!filter.test((E) e)){
+                temp[w++] = e;
+            }
+        }
+        int removed = (to - from) - w;
+        if (removed == 0){
+            return 0;
+        }
+        Object[] newElements = new Object[len - removed];
+        System.arraycopy(elements, 0, newElements, 0, from);
+        System.arraycopy(temp, 0, newElements, from, w);
+        System.arraycopy(elements, to, newElements, from + w, len - to);
+        setArray(newElements);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * 替换所有元素，在锁内只复制一次数组
+     * @param operator 应用于每个元素的运算符
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator){
+        Objects.requireNonNull(operator);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            Object[] newElements = Arrays.copyOf(elements, elements.length);
+            for (int i = 0; i < newElements.length; i++){
+                newElements[i] = operator.apply((E) newElements[i]);
+            }
+            setArray(newElements);
+            modCount++;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 排序，在锁内对数组的副本排序后整体替换
+     * @param c 用于比较列表元素的比较器
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            Object[] newElements = Arrays.copyOf(elements, elements.length);
+            Arrays.sort((E[]) newElements, c);
+            setArray(newElements);
+            modCount++;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 获取指定区间的视图，视图的所有操作都在列表的锁内进行
+     * 视图记住创建或者最后一次通过视图修改时的数组，列表被其他途径修改后再访问视图会抛出并发修改异常
+     * @param fromIndex 开始的索引(包含)
+     * @param toIndex 结束的索引(不包含)
+     * @return 区间视图
+     */
+    @Override
+    public List<E> subList(int fromIndex, int toIndex){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            Object[] elements = getArray();
+            int len = elements.length;
+            if (fromIndex < 0 || toIndex > len || fromIndex > toIndex){
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + len);
+            }
+            return new COWSubList<>(this, null, fromIndex, toIndex);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * CopyOnWriteMyArrayList的区间视图
+     * 与继承自MyAbstractList的SubList不同，这里的检查和写入都在列表的锁内完成，
+     * 用数组引用而不是modCount判断列表是否被其他途径修改；读操作同样加锁，以便与检查保持一致
+     * 通过视图的修改会同步到创建它的各级视图上
+     */
+    private static class COWSubList<E> extends MyAbstractList<E> implements RandomAccess{
+        /**
+         * 原列表
+         */
+        private final CopyOnWriteMyArrayList<E> l;
+        /**
+         * 创建此视图的上一级视图，直接由列表创建时为null
+         */
+        private final COWSubList<E> parent;
+        /**
+         * 视图在原列表中的起始位置
+         */
+        private final int offset;
+        /**
+         * 视图中元素的个数
+         */
+        private int size;
+        /**
+         * 视图认为原列表当前使用的数组
+         */
+        private Object[] expectedArray;
+
+        COWSubList(CopyOnWriteMyArrayList<E> list, COWSubList<E> parent, int fromIndex, int toIndex){
+            //调用者持有锁
+            l = list;
+            this.parent = parent;
+            expectedArray = l.getArray();
+            offset = fromIndex;
+            size = toIndex - fromIndex;
+        }
+
+        /**
+         * 调用者必须持有锁
+         */
+        private void checkForComodification(){
+            if (l.getArray() != expectedArray){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * 通过此视图修改列表后，更新此视图以及仍然有效的上一级视图的数组和元素个数，调用者必须持有锁
+         * @param oldArray 修改前列表的数组
+         * @param sizeChange 元素个数的变化
+         */
+        private void updateForModification(Object[] oldArray, int sizeChange){
+            Object[] newArray = l.getArray();
+            for (COWSubList<E> s = this; s != null && s.expectedArray == oldArray; s = s.parent){
+                s.expectedArray = newArray;
+                s.size += sizeChange;
+            }
+        }
+
+        /**
+         * 调用者必须持有锁
+         * @param index 视图中的索引
+         */
+        private void rangeCheck(int index){
+            if (index < 0 || index >= size){
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
+
+        @Override
+        public E set(int index, E element){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                rangeCheck(index);
+                checkForComodification();
+                E x = l.set(index + offset, element);
+                updateForModification(expectedArray, 0);
+                return x;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public E get(int index){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                rangeCheck(index);
+                checkForComodification();
+                return l.get(index + offset);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public int size(){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                return size;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void add(int index, E element){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                if (index < 0 || index > size){
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                l.add(index + offset, element);
+                updateForModification(expectedArray, 1);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean addAll(int index, Collection<? extends E> c){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                if (index < 0 || index > size){
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                Object[] oldArray = expectedArray;
+                boolean modified = l.addAll(index + offset, c);
+                updateForModification(oldArray, l.getArray().length - oldArray.length);
+                return modified;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> c){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                return addAll(size, c);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void clear(){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                l.removeRange(offset, offset + size);
+                updateForModification(expectedArray, -size);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        protected void removeRange(int fromIndex, int toIndex){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                if (fromIndex < 0 || toIndex > size || toIndex < fromIndex){
+                    throw new IndexOutOfBoundsException();
+                }
+                l.removeRange(fromIndex + offset, toIndex + offset);
+                updateForModification(expectedArray, fromIndex - toIndex);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public E remove(int index){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                rangeCheck(index);
+                checkForComodification();
+                E result = l.remove(index + offset);
+                updateForModification(expectedArray, -1);
+                return result;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean remove(Object o){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                int index = CopyOnWriteMyArrayList.indexOf(o, expectedArray, offset, offset + size);
+                if (index < 0){
+                    return false;
+                }
+                l.remove(index);
+                updateForModification(expectedArray, -1);
+                return true;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Iterator<E> iterator(){
+            return listIterator(0);
+        }
+
+        @Override
+        public ListIterator<E> listIterator(int index){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                if (index < 0 || index > size){
+                    throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+                }
+                return new COWSubListIterator<>(expectedArray, index + offset, offset, size);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public List<E> subList(int fromIndex, int toIndex){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                if (fromIndex < 0 || toIndex > size || fromIndex > toIndex){
+                    throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+                }
+                return new COWSubList<>(l, this, fromIndex + offset, toIndex + offset);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action){
+            Objects.requireNonNull(action);
+            Object[] a;
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                a = expectedArray;
+            }finally {
+                lock.unlock();
+            }
+            //在快照上遍历，不持有锁调用action
+            for (int i = offset, end = offset + size; i < end; i++){
+                action.accept((E) a[i]);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void replaceAll(UnaryOperator<E> operator){
+            Objects.requireNonNull(operator);
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                Object[] newElements = Arrays.copyOf(expectedArray, expectedArray.length);
+                for (int i = offset, end = offset + size; i < end; i++){
+                    newElements[i] = operator.apply((E) newElements[i]);
+                }
+                Object[] oldArray = expectedArray;
+                l.setArray(newElements);
+                l.modCount++;
+                updateForModification(oldArray, 0);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void sort(Comparator<? super E> c){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                Object[] newElements = Arrays.copyOf(expectedArray, expectedArray.length);
+                Arrays.sort((E[]) newElements, offset, offset + size, c);
+                Object[] oldArray = expectedArray;
+                l.setArray(newElements);
+                l.modCount++;
+                updateForModification(oldArray, 0);
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c){
+            Objects.requireNonNull(c);
+            final Collection<?> lookup = lookupFor(c, size());
+            return bulkRemove(lookup::contains);
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c){
+            Objects.requireNonNull(c);
+            final Collection<?> lookup = lookupFor(c, size());
+            return bulkRemove(e -> !lookup.contains(e));
+        }
+
+        @Override
+        public boolean removeIf(Predicate<? super E> filter){
+            Objects.requireNonNull(filter);
+            return bulkRemove(filter);
+        }
+
+        private boolean bulkRemove(Predicate<? super E> filter){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                int removed = l.bulkRemove(filter, offset, offset + size);
+                updateForModification(expectedArray, -removed);
+                return removed > 0;
+            }finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public Spliterator<E> spliterator(){
+            final ReentrantLock lock = l.lock;
+            lock.lock();
+            try {
+                checkForComodification();
+                return Spliterators.spliterator(expectedArray, offset, offset + size,
+                        Spliterator.IMMUTABLE | Spliterator.ORDERED);
+            }finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 区间视图的迭代器，在创建时的数组快照上遍历，不支持修改操作
+     */
+    private static class COWSubListIterator<E> implements ListIterator<E>{
+        private final COWIterator<E> it;
+        private final int offset;
+        private final int size;
+
+        COWSubListIterator(Object[] snapshot, int index, int offset, int size){
+            this.offset = offset;
+            this.size = size;
+            it = new COWIterator<>(snapshot, index);
+        }
+
+        @Override
+        public boolean hasNext(){
+            return nextIndex() < size;
+        }
+
+        @Override
+        public E next(){
+            if (!hasNext()){
+                throw new NoSuchElementException();
+            }
+            return it.next();
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return previousIndex() >= 0;
+        }
+
+        @Override
+        public E previous(){
+            if (!hasPrevious()){
+                throw new NoSuchElementException();
+            }
+            return it.previous();
+        }
+
+        @Override
+        public int nextIndex(){
+            return it.nextIndex() - offset;
+        }
+
+        @Override
+        public int previousIndex(){
+            return it.previousIndex() - offset;
+        }
+
+        @Override
+        public void remove(){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(E e){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(E e){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action){
+            Objects.requireNonNull(action);
+            while (hasNext()){
+                action.accept(it.next());
+            }
+        }
+    }
+
+    //迭代器
+
+    @Override
+    public Iterator<E> iterator(){
+        return new COWIterator<>(getArray(), 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(){
+        return new COWIterator<>(getArray(), 0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index){
+        Object[] elements = getArray();
+        int len = elements.length;
+        if (index < 0 || index > len){
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return new COWIterator<>(elements, index);
+    }
+
+    /**
+     * 基于快照的并行遍历迭代器，不会抛出并发修改异常
+     * @return 并行遍历迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator(){
+        return Spliterators.spliterator(getArray(), Spliterator.IMMUTABLE | Spliterator.ORDERED);
+    }
+
+    /**
+     * 基于数组快照的迭代器
+     * 创建后列表的修改对其不可见，不支持remove、set、add
+     */
+    static final class COWIterator<E> implements ListIterator<E>{
+        /**
+         * 数组的快照
+         */
+        private final Object[] snapshot;
+        /**
+         * 下一个元素的索引位置
+         */
+        private int cursor;
+
+        COWIterator(Object[] elements, int initialCursor){
+            cursor = initialCursor;
+            snapshot = elements;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return cursor > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            if (!hasNext()){
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot[cursor++];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous(){
+            if (!hasPrevious()){
+                throw new NoSuchElementException();
+            }
+            return (E) snapshot[--cursor];
+        }
+
+        @Override
+        public int nextIndex(){
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex(){
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove(){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(E e){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(E e){
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action){
+            Objects.requireNonNull(action);
+            final int size = snapshot.length;
+            for (int i = cursor; i < size; i++){
+                action.accept((E) snapshot[i]);
+            }
+            cursor = size;
+        }
+    }
+
+    /**
+     * 将实例的状态保存到流
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        s.defaultWriteObject();
+
+        Object[] elements = getArray();
+        s.writeInt(elements.length);
+        for (Object element : elements){
+            s.writeObject(element);
+        }
+    }
+
+    /**
+     * 从流中读取实例，反序列化
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        lock = new ReentrantLock();
+        int len = s.readInt();
+        Object[] elements = new Object[len];
+        for (int i = 0; i < len; i++){
+            elements[i] = s.readObject();
+        }
+        setArray(elements);
+    }
+}
@@ -0,0 +1,159 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 元素的二进制编解码器，供ListChannelSerializer按批读写列表
+ * 编码后的长度可以不固定，但必须能通过encodedSize事先算出
+ * encode/decode使用ByteBuffer的相对位置方法，各自从position开始写入或读取
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 18:10
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * 元素编码后占用的字节数
+     * @param e 元素
+     * @return 字节数
+     */
+    int encodedSize(E e);
+
+    /**
+     * 把元素编码到out中，out中至少还有encodedSize(e)个字节的空间
+     * @param e 元素
+     * @param out 目标buffer
+     */
+    void encode(E e, ByteBuffer out);
+
+    /**
+     * 从in的当前位置解码出一个元素，in的limit是当前批的末尾
+     * @param in 源buffer
+     * @return 元素
+     * @throws IOException 数据格式错误
+     */
+    E decode(ByteBuffer in) throws IOException;
+
+    /**
+     * int的编解码器，不允许null
+     */
+    ElementCodec<Integer> INT = new ElementCodec<Integer>() {
+        @Override
+        public int encodedSize(Integer e){
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer e, ByteBuffer out){
+            out.putInt(e);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer in){
+            return in.getInt();
+        }
+    };
+
+    /**
+     * long的编解码器，不允许null
+     */
+    ElementCodec<Long> LONG = new ElementCodec<Long>() {
+        @Override
+        public int encodedSize(Long e){
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long e, ByteBuffer out){
+            out.putLong(e);
+        }
+
+        @Override
+        public Long decode(ByteBuffer in){
+            return in.getLong();
+        }
+    };
+
+    /**
+     * double的编解码器，不允许null
+     */
+    ElementCodec<Double> DOUBLE = new ElementCodec<Double>() {
+        @Override
+        public int encodedSize(Double e){
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(Double e, ByteBuffer out){
+            out.putDouble(e);
+        }
+
+        @Override
+        public Double decode(ByteBuffer in){
+            return in.getDouble();
+        }
+    };
+
+    /**
+     * 字符串的编解码器，格式为int类型的UTF-8字节数加上UTF-8字节，null的字节数记为-1
+     */
+    ElementCodec<String> STRING = new ElementCodec<String>() {
+        @Override
+        public int encodedSize(String e){
+            return Integer.BYTES + (e == null ? 0 : utf8Length(e));
+        }
+
+        @Override
+        public void encode(String e, ByteBuffer out){
+            if (e == null){
+                out.putInt(-1);
+                return;
+            }
+            byte[] bytes = e.getBytes(StandardCharsets.UTF_8);
+            out.putInt(bytes.length);
+            out.put(bytes);
+        }
+
+        @Override
+        public String decode(ByteBuffer in) throws StreamCorruptedException{
+            int len = in.getInt();
+            if (len == -1){
+                return null;
+            }
+            //先按批中剩余的字节数校验长度，损坏的长度不会分配巨大的数组
+            if (len < 0 || len > in.remaining()){
+                throw new StreamCorruptedException("Illegal string length: " + len);
+            }
+            byte[] bytes = new byte[len];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * 计算UTF-8编码后的字节数，与String.getBytes(UTF_8)的结果一致(孤立的代理字符编码为'?')
+         * @param s 字符串
+         * @return 字节数
+         */
+        private int utf8Length(String s){
+            int n = 0;
+            for (int i = 0, len = s.length(); i < len; i++){
+                char c = s.charAt(i);
+                if (c < 0x80){
+                    n += 1;
+                }else if (c < 0x800){
+                    n += 2;
+                }else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))){
+                    n += 4;
+                    i++;
+                }else if (Character.isSurrogate(c)){
+                    n += 1;
+                }else{
+                    n += 3;
+                }
+            }
+            return n;
+        }
+    };
+}
@@ -0,0 +1,248 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * MyArrayList的哈希索引，记录每个值出现的次数、第一次和最后一次出现的位置
+ * 1.次数在每次修改时同步维护，contains始终为O(1)；
+ * 2.位置只在不移动其他元素的修改(尾部追加、尾部删除、set)中同步维护，此时indexOf/lastIndexOf为O(1)；
+ *   中间插入删除、排序等会移动元素的修改把位置标记为失效，之后的查询不重建索引，
+ *   先用次数排除不存在的值，再像ArrayList一样顺序查找，不分配内存；
+ * 3.批量修改把整个索引标记为失效，下一次查询时重建，重建后位置重新有效。
+ * 依赖元素的hashCode与equals一致，元素在列表中被修改会使索引失效
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 19:50
+ */
+final class ElementIndex {
+
+    /**
+     * 某个值在列表中的统计
+     */
+    static final class Entry {
+        /**
+         * 出现的次数
+         */
+        int count;
+        /**
+         * 第一次出现的位置
+         */
+        int first = -1;
+        /**
+         * 最后一次出现的位置
+         */
+        int last = -1;
+    }
+
+    private final HashMap<Object, Entry> map = new HashMap<>();
+
+    /**
+     * 次数是否有效，为false时整个索引需要重建
+     */
+    private boolean countsValid;
+
+    /**
+     * 第一次和最后一次出现的位置是否有效
+     */
+    private boolean positionsValid;
+
+    /**
+     * 新建的索引是失效的，第一次查询时才扫描列表
+     */
+    ElementIndex(){
+    }
+
+    //查询
+
+    /**
+     * 值出现的次数
+     * @param o 值
+     * @param a 列表的数组
+     * @param size 列表的元素个数
+     * @return 次数
+     */
+    int count(Object o, Object[] a, int size){
+        if (!countsValid){
+            rebuild(a, size);
+        }
+        Entry e = map.get(o);
+        return e == null ? 0 : e.count;
+    }
+
+    /**
+     * 值第一次出现的位置，位置失效时顺序查找
+     * @param o 值
+     * @param a 列表的数组
+     * @param size 列表的元素个数
+     * @return 位置，不存在时为-1
+     */
+    int first(Object o, Object[] a, int size){
+        if (!countsValid){
+            rebuild(a, size);
+        }
+        Entry e = map.get(o);
+        if (e == null){
+            return -1;
+        }
+        if (positionsValid){
+            return e.first;
+        }
+        for (int i = 0; i < size; i++){
+            if (Objects.equals(o, a[i])){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 值最后一次出现的位置，位置失效时从后往前顺序查找
+     * @param o 值
+     * @param a 列表的数组
+     * @param size 列表的元素个数
+     * @return 位置，不存在时为-1
+     */
+    int last(Object o, Object[] a, int size){
+        if (!countsValid){
+            rebuild(a, size);
+        }
+        Entry e = map.get(o);
+        if (e == null){
+            return -1;
+        }
+        if (positionsValid){
+            return e.last;
+        }
+        for (int i = size - 1; i >= 0; i--){
+            if (Objects.equals(o, a[i])){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 扫描列表重建次数和位置
+     * @param a 列表的数组
+     * @param size 列表的元素个数
+     */
+    private void rebuild(Object[] a, int size){
+        map.clear();
+        for (int i = 0; i < size; i++){
+            Entry e = entry(a[i]);
+            if (e.count++ == 0){
+                e.first = i;
+            }
+            e.last = i;
+        }
+        countsValid = true;
+        positionsValid = true;
+    }
+
+    private Entry entry(Object o){
+        Entry e = map.get(o);
+        if (e == null){
+            e = new Entry();
+            map.put(o, e);
+        }
+        return e;
+    }
+
+    //修改
+
+    /**
+     * 整个索引失效
+     */
+    void invalidateAll(){
+        countsValid = false;
+        positionsValid = false;
+    }
+
+    /**
+     * 只有位置失效，次数不变，例如排序
+     */
+    void invalidatePositions(){
+        positionsValid = false;
+    }
+
+    /**
+     * 列表被清空
+     */
+    void cleared(){
+        map.clear();
+        countsValid = true;
+        positionsValid = true;
+    }
+
+    /**
+     * 在pos处插入了元素
+     * @param o 插入的元素
+     * @param pos 插入的位置
+     * @param tail 是否插入在末尾，插入在末尾时其他元素的位置不变
+     */
+    void inserted(Object o, int pos, boolean tail){
+        if (!countsValid){
+            return;
+        }
+        Entry e = entry(o);
+        if (e.count++ == 0){
+            e.first = pos;
+            e.last = pos;
+        }else if (tail){
+            e.last = pos;
+        }
+        if (!tail){
+            positionsValid = false;
+        }
+    }
+
+    /**
+     * 删除了pos处的元素
+     * @param o 被删除的元素
+     * @param pos 被删除的位置
+     * @param tail 是否是最后一个元素，是最后一个元素时其他元素的位置不变
+     */
+    void removed(Object o, int pos, boolean tail){
+        if (!countsValid){
+            return;
+        }
+        Entry e = map.get(o);
+        if (e == null){
+            //列表与索引不一致，例如元素的hashCode发生了变化
+            invalidateAll();
+            return;
+        }
+        if (--e.count == 0){
+            map.remove(o);
+        }else if (e.first == pos || e.last == pos){
+            positionsValid = false;
+        }
+        if (!tail){
+            positionsValid = false;
+        }
+    }
+
+    /**
+     * pos处的元素由oldValue替换为newValue
+     * @param oldValue 旧元素
+     * @param newValue 新元素
+     * @param pos 位置
+     */
+    void replaced(Object oldValue, Object newValue, int pos){
+        if (!countsValid || Objects.equals(oldValue, newValue)){
+            return;
+        }
+        removed(oldValue, pos, true);
+        if (!countsValid){
+            return;
+        }
+        Entry e = entry(newValue);
+        if (e.count++ == 0){
+            e.first = pos;
+            e.last = pos;
+        }else{
+            e.first = Math.min(e.first, pos);
+            e.last = Math.max(e.last, pos);
+        }
+    }
+}
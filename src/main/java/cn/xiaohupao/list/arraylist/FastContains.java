@@ -0,0 +1,15 @@
+package cn.xiaohupao.list.arraylist;
+
+/**
+ * 能以接近常数的代价回答contains的集合，removeAll/retainAll据此决定是否直接使用参数集合
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 01:30
+ */
+interface FastContains {
+
+    /**
+     * contains当前是否足够快，不必先复制到临时的HashSet
+     * @return true则直接调用contains
+     */
+    boolean hasFastContains();
+}
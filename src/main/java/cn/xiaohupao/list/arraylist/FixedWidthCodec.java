@@ -0,0 +1,94 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 定长元素的编解码器，每个元素编码后固定占用width()个字节
+ * 读写均使用ByteBuffer的绝对位置方法，不会改变buffer的position
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 17:05
+ */
+public interface FixedWidthCodec<E> {
+
+    /**
+     * 每个元素编码后占用的字节数
+     * @return 字节数，必须大于0
+     */
+    int width();
+
+    /**
+     * 把元素写到buf中offset开始的width()个字节
+     * @param buf 目标buffer
+     * @param offset 起始的字节偏移
+     * @param e 元素
+     */
+    void write(ByteBuffer buf, int offset, E e);
+
+    /**
+     * 从buf中offset开始的width()个字节读出元素
+     * @param buf 源buffer
+     * @param offset 起始的字节偏移
+     * @return 元素
+     */
+    E read(ByteBuffer buf, int offset);
+
+    /**
+     * int的编解码器，不允许null
+     */
+    FixedWidthCodec<Integer> INT = new FixedWidthCodec<Integer>() {
+        @Override
+        public int width(){
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buf, int offset, Integer e){
+            buf.putInt(offset, e);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buf, int offset){
+            return buf.getInt(offset);
+        }
+    };
+
+    /**
+     * long的编解码器，不允许null
+     */
+    FixedWidthCodec<Long> LONG = new FixedWidthCodec<Long>() {
+        @Override
+        public int width(){
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buf, int offset, Long e){
+            buf.putLong(offset, e);
+        }
+
+        @Override
+        public Long read(ByteBuffer buf, int offset){
+            return buf.getLong(offset);
+        }
+    };
+
+    /**
+     * double的编解码器，不允许null
+     */
+    FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<Double>() {
+        @Override
+        public int width(){
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buf, int offset, Double e){
+            buf.putDouble(offset, e);
+        }
+
+        @Override
+        public Double read(ByteBuffer buf, int offset){
+            return buf.getDouble(offset);
+        }
+    };
+}
@@ -0,0 +1,76 @@
+package cn.xiaohupao.list.arraylist;
+
+/**
+ * MyArrayList的容量策略，决定扩容时的新容量，以及删除元素之后是否自动缩容
+ * 实现必须是无状态的，同一个策略可以被多个列表共享
+ * 返回值只是期望的容量：扩容结果小于所需最小容量或者溢出时由列表修正为所需最小容量，超过数组上限时截断
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:20
+ */
+public interface GrowthPolicy {
+
+    /**
+     * 计算扩容后的容量
+     * @param oldCapacity 当前的容量
+     * @param minCapacity 所需最小的容量，大于oldCapacity
+     * @return 新的容量
+     */
+    int grow(int oldCapacity, int minCapacity);
+
+    /**
+     * 删除元素之后计算缩容后的容量，返回值不小于capacity时不缩容
+     * 默认不自动缩容，只能通过trimToSize手动缩容
+     * @param size 删除之后的元素个数
+     * @param capacity 当前的容量
+     * @return 新的容量，不小于size
+     */
+    default int shrink(int size, int capacity){
+        return capacity;
+    }
+
+    /**
+     * 默认策略：1.5倍扩容，不自动缩容，与ArrayList相同
+     */
+    GrowthPolicy DEFAULT = new GrowthPolicy() {
+        @Override
+        public int grow(int oldCapacity, int minCapacity){
+            return oldCapacity + (oldCapacity >> 1);
+        }
+    };
+
+    /**
+     * 2倍扩容，不自动缩容
+     * 适合持续追加的列表，扩容次数和复制的元素更少，代价是平均多出更多空闲的位置
+     */
+    GrowthPolicy DOUBLING = new GrowthPolicy() {
+        @Override
+        public int grow(int oldCapacity, int minCapacity){
+            return oldCapacity << 1;
+        }
+    };
+
+    /**
+     * 1.25倍扩容，元素个数不足容量的1/4时自动缩容到元素个数的1.5倍
+     * 适合对内存敏感、大小起伏的列表，代价是扩容更频繁
+     * 缩容后到下一次扩容、下一次缩容都需要与元素个数成正比的修改次数，均摊下来仍为O(1)
+     */
+    GrowthPolicy MEMORY_TIGHT = new GrowthPolicy() {
+        /**
+         * 容量不超过该值时不再缩容，避免小列表反复分配
+         */
+        private static final int MIN_SHRINK_CAPACITY = 16;
+
+        @Override
+        public int grow(int oldCapacity, int minCapacity){
+            return oldCapacity + (oldCapacity >> 2);
+        }
+
+        @Override
+        public int shrink(int size, int capacity){
+            if (capacity <= MIN_SHRINK_CAPACITY || size >= (capacity >>> 2)){
+                return capacity;
+            }
+            return size + (size >> 1);
+        }
+    };
+}
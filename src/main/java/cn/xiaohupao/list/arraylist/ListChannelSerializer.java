@@ -0,0 +1,398 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 通过NIO通道按批读写列表的序列化工具，元素的编码由ElementCodec决定
+ * 格式(小端序)：
+ * 1.文件头12字节：魔数、版本、元素个数；
+ * 2.之后是若干批：每批以元素个数和字节数两个int开头，后面是该批元素编码后的字节。
+ * 文件头和批开头中的个数都来自流，不能直接作为分配的大小：MyArrayList最多按PRESIZE_LIMIT预分配，之后随元素的读入扩容；
+ * 批的字节数超过剩余的数据时直接报错，缓冲区按实际读到的数据倍增，截断或损坏的流不会导致巨大的分配；
+ * 也可以通过iterator/stream按需逐批解码，不必先把整个列表读入内存
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 18:20
+ */
+public final class ListChannelSerializer {
+
+    /**
+     * 魔数"MLSB"
+     */
+    static final int MAGIC = 0x4D4C5342;
+
+    /**
+     * 格式的版本
+     */
+    static final int VERSION = 1;
+
+    /**
+     * 文件头的字节数
+     */
+    static final int HEADER_BYTES = 12;
+
+    /**
+     * 每批开头的字节数
+     */
+    static final int BATCH_HEADER_BYTES = 8;
+
+    /**
+     * 每批的目标字节数，单个元素超过该大小时单独成为一批
+     */
+    static final int BATCH_BYTES = 1 << 16;
+
+    /**
+     * 读取MyArrayList时按文件头预分配的最大容量
+     */
+    static final int PRESIZE_LIMIT = 1 << 16;
+
+    private ListChannelSerializer(){
+    }
+
+    /**
+     * 把集合中的元素按批写入通道
+     * @param ch 目标通道
+     * @param codec 元素的编解码器
+     * @param c 集合
+     * @throws IOException 写入失败
+     */
+    public static <E> void write(@NotNull WritableByteChannel ch, @NotNull ElementCodec<? super E> codec,
+                                 @NotNull Collection<? extends E> c) throws IOException{
+        final int size = c.size();
+        ByteBuffer buf = ByteBuffer.allocateDirect(BATCH_HEADER_BYTES + BATCH_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC).putInt(VERSION).putInt(size);
+        buf.flip();
+        writeFully(ch, buf);
+        buf.clear().position(BATCH_HEADER_BYTES);
+
+        int count = 0, written = 0;
+        for (E e : c){
+            int need = codec.encodedSize(e);
+            if (need > buf.remaining() && count > 0){
+                flushBatch(ch, buf, count);
+                count = 0;
+            }
+            if (need > buf.remaining()){
+                //单个元素超过一批的大小，单独写成一批
+                ByteBuffer big = ByteBuffer.allocate(BATCH_HEADER_BYTES + need).order(ByteOrder.LITTLE_ENDIAN);
+                big.position(BATCH_HEADER_BYTES);
+                codec.encode(e, big);
+                flushBatch(ch, big, 1);
+            }else{
+                codec.encode(e, buf);
+                count++;
+            }
+            written++;
+        }
+        if (count > 0){
+            flushBatch(ch, buf, count);
+        }
+        if (written != size){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 填写批的开头，写出整批，并把buf重置到下一批的起始位置
+     * @param ch 目标通道
+     * @param buf 位于position之前的是本批的内容
+     * @param count 本批的元素个数
+     * @throws IOException 写入失败
+     */
+    private static void flushBatch(WritableByteChannel ch, ByteBuffer buf, int count) throws IOException{
+        buf.putInt(0, count);
+        buf.putInt(4, buf.position() - BATCH_HEADER_BYTES);
+        buf.flip();
+        writeFully(ch, buf);
+        buf.clear().position(BATCH_HEADER_BYTES);
+    }
+
+    private static void writeFully(WritableByteChannel ch, ByteBuffer buf) throws IOException{
+        while (buf.hasRemaining()){
+            ch.write(buf);
+        }
+    }
+
+    /**
+     * 从通道读取一个MyArrayList
+     * 容量按文件头中的元素个数预分配，但不超过PRESIZE_LIMIT，更多的元素读入时再扩容
+     * @param ch 源通道
+     * @param codec 元素的编解码器
+     * @return 列表
+     * @throws IOException 读取失败或者格式错误
+     */
+    public static <E> MyArrayList<E> readArrayList(@NotNull ReadableByteChannel ch,
+                                                   @NotNull ElementCodec<? extends E> codec) throws IOException{
+        BatchReader<E> reader = new BatchReader<>(ch, codec);
+        MyArrayList<E> list = new MyArrayList<>(Math.min(reader.size(), PRESIZE_LIMIT));
+        while (reader.hasNext()){
+            list.add(reader.next());
+        }
+        return list;
+    }
+
+    /**
+     * 从通道读取一个MyLinkedList
+     * @param ch 源通道
+     * @param codec 元素的编解码器
+     * @return 列表
+     * @throws IOException 读取失败或者格式错误
+     */
+    public static <E> MyLinkedList<E> readLinkedList(@NotNull ReadableByteChannel ch,
+                                                     @NotNull ElementCodec<? extends E> codec) throws IOException{
+        BatchReader<E> reader = new BatchReader<>(ch, codec);
+        MyLinkedList<E> list = new MyLinkedList<>();
+        while (reader.hasNext()){
+            list.linkLast(reader.next());
+        }
+        return list;
+    }
+
+    /**
+     * 返回一个按需解码的迭代器，构造时只读取文件头，之后每次用完一批才读取下一批
+     * @param ch 源通道，由迭代器的close关闭
+     * @param codec 元素的编解码器
+     * @return 迭代器
+     * @throws IOException 读取文件头失败或者格式错误
+     */
+    public static <E> ElementIterator<E> iterator(@NotNull ReadableByteChannel ch,
+                                                  @NotNull ElementCodec<? extends E> codec) throws IOException{
+        return new ElementIterator<>(new BatchReader<>(ch, codec), ch);
+    }
+
+    /**
+     * 返回一个从输入流按需解码的迭代器
+     * @param in 输入流，由迭代器的close关闭
+     * @param codec 元素的编解码器
+     * @return 迭代器
+     * @throws IOException 读取文件头失败或者格式错误
+     */
+    public static <E> ElementIterator<E> iterator(@NotNull InputStream in,
+                                                  @NotNull ElementCodec<? extends E> codec) throws IOException{
+        return iterator(Channels.newChannel(in), codec);
+    }
+
+    /**
+     * 返回一个按需解码的顺序流，大小取自文件头
+     * 流被关闭时关闭通道，应在try-with-resources中使用；提前结束的流不会读取剩余的批
+     * @param ch 源通道
+     * @param codec 元素的编解码器
+     * @return 流
+     * @throws IOException 读取文件头失败或者格式错误
+     */
+    public static <E> Stream<E> stream(@NotNull ReadableByteChannel ch,
+                                       @NotNull ElementCodec<? extends E> codec) throws IOException{
+        ElementIterator<E> it = iterator(ch, codec);
+        Spliterator<E> spliterator = Spliterators.spliterator(it, it.size(), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false).onClose(it::close);
+    }
+
+    /**
+     * 返回一个从输入流按需解码的顺序流
+     * @param in 输入流
+     * @param codec 元素的编解码器
+     * @return 流
+     * @throws IOException 读取文件头失败或者格式错误
+     */
+    public static <E> Stream<E> stream(@NotNull InputStream in,
+                                       @NotNull ElementCodec<? extends E> codec) throws IOException{
+        return stream(Channels.newChannel(in), codec);
+    }
+
+    /**
+     * 按需解码的迭代器，读取过程中的IOException包装为UncheckedIOException抛出
+     * @param <E> 元素的类型
+     */
+    public static final class ElementIterator<E> implements Iterator<E>, Closeable{
+        private final BatchReader<E> reader;
+        private final ReadableByteChannel ch;
+
+        ElementIterator(BatchReader<E> reader, ReadableByteChannel ch){
+            this.reader = reader;
+            this.ch = ch;
+        }
+
+        /**
+         * 文件头中的元素总数
+         * @return 元素总数
+         */
+        public int size(){
+            return reader.size();
+        }
+
+        @Override
+        public boolean hasNext(){
+            return reader.hasNext();
+        }
+
+        @Override
+        public E next(){
+            try {
+                return reader.next();
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * 关闭底层的通道，剩余的元素不再读取
+         */
+        @Override
+        public void close(){
+            try {
+                ch.close();
+            }catch (IOException e){
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 按批从通道读取并逐个解码元素
+     * 构造时读取文件头，之后每当当前批解码完，才从通道读取下一批
+     * @param <E> 元素的类型
+     */
+    static final class BatchReader<E>{
+        private final ReadableByteChannel ch;
+        private final ElementCodec<? extends E> codec;
+        /**
+         * 文件头中的元素个数
+         */
+        private final int size;
+        /**
+         * 已经解码的元素个数
+         */
+        private int decoded;
+        /**
+         * 当前批中还未解码的元素个数
+         */
+        private int remainingInBatch;
+        /**
+         * 当前批的内容，position之后是未解码的字节
+         */
+        private ByteBuffer buf;
+
+        BatchReader(ReadableByteChannel ch, ElementCodec<? extends E> codec) throws IOException{
+            this.ch = ch;
+            this.codec = codec;
+            this.buf = ByteBuffer.allocateDirect(BATCH_HEADER_BYTES + BATCH_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer header = readFully(HEADER_BYTES);
+            if (header.getInt() != MAGIC){
+                throw new StreamCorruptedException("Bad magic");
+            }
+            int version = header.getInt();
+            if (version != VERSION){
+                throw new StreamCorruptedException("Unsupported version: " + version);
+            }
+            int s = header.getInt();
+            if (s < 0){
+                throw new StreamCorruptedException("Illegal size: " + s);
+            }
+            this.size = s;
+            buf.clear().limit(0);
+        }
+
+        /**
+         * 文件头中的元素个数
+         * @return 元素个数
+         */
+        int size(){
+            return size;
+        }
+
+        boolean hasNext(){
+            return decoded < size;
+        }
+
+        /**
+         * 解码下一个元素，当前批用完时读取下一批
+         * @return 元素
+         * @throws IOException 读取失败或者格式错误
+         */
+        E next() throws IOException{
+            if (decoded >= size){
+                throw new NoSuchElementException();
+            }
+            if (remainingInBatch == 0){
+                readBatch();
+            }
+            E e;
+            try {
+                e = codec.decode(buf);
+            }catch (BufferUnderflowException ex){
+                //编解码器读过了当前批的末尾
+                throw new StreamCorruptedException("Batch too short");
+            }
+            remainingInBatch--;
+            decoded++;
+            if (remainingInBatch == 0 && buf.hasRemaining()){
+                throw new StreamCorruptedException("Batch length mismatch");
+            }
+            return e;
+        }
+
+        private void readBatch() throws IOException{
+            ByteBuffer h = readFully(BATCH_HEADER_BYTES);
+            int count = h.getInt();
+            int bytes = h.getInt();
+            //写入时只有单个元素的批才会超过BATCH_BYTES
+            if (count <= 0 || count > size - decoded || bytes < 0 || (bytes > BATCH_BYTES && count != 1)){
+                throw new StreamCorruptedException("Illegal batch: " + count + " elements, " + bytes + " bytes");
+            }
+            if (ch instanceof SeekableByteChannel){
+                SeekableByteChannel sc = (SeekableByteChannel) ch;
+                if (bytes > sc.size() - sc.position()){
+                    throw new EOFException("Batch of " + bytes + " bytes exceeds the remaining data");
+                }
+            }
+            readFully(bytes);
+            remainingInBatch = count;
+        }
+
+        /**
+         * 从通道读取恰好n个字节到buf中
+         * buf容量不够时按倍增扩大，每次扩大前已经读满了原来的容量，流提前结束时不会分配超过已读数据两倍的内存
+         * @param n 字节数
+         * @return 读满n个字节的buf
+         * @throws IOException 读取失败或者提前遇到流的末尾
+         */
+        private ByteBuffer readFully(int n) throws IOException{
+            ByteBuffer b = buf;
+            b.clear().limit(Math.min(n, b.capacity()));
+            for (;;){
+                while (b.hasRemaining()){
+                    if (ch.read(b) < 0){
+                        throw new EOFException();
+                    }
+                }
+                if (b.position() == n){
+                    break;
+                }
+                int newCapacity = (int) Math.min(n, (long) b.capacity() << 1);
+                ByteBuffer bigger = ByteBuffer.allocateDirect(newCapacity).order(ByteOrder.LITTLE_ENDIAN);
+                b.flip();
+                bigger.put(b);
+                b = bigger;
+            }
+            buf = b;
+            b.flip();
+            return b;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MyArrayList的扩容和元素搬移统计，用于确定列表合适的初始容量和容量策略
+ * 1.总开关ENABLED在类加载时由系统属性cn.xiaohupao.list.metrics决定，关闭时JIT把统计代码整个消除，没有任何开销；
+ * 2.开关打开后，只有通过MyArrayList.setMetrics关联了统计对象的列表才会记录；
+ * 3.一个统计对象可以只给一个列表使用，也可以通过forTag按标签在多个列表、多个线程之间共享。
+ * 计数使用LongAdder，snapshot得到的是某一时刻的近似值；
+ * 空闲位置数是快照时关联的列表的容量减去元素个数，统计对象只弱引用这些列表，不会阻止它们被回收
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:10
+ */
+public final class ListMetrics {
+
+    /**
+     * 打开统计的系统属性，例如-Dcn.xiaohupao.list.metrics=true
+     */
+    public static final String PROPERTY = "cn.xiaohupao.list.metrics";
+
+    /**
+     * 统计的总开关
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    /**
+     * 按标签共享的统计对象
+     */
+    private static final ConcurrentHashMap<String, ListMetrics> TAGGED = new ConcurrentHashMap<>();
+
+    private final String tag;
+
+    /**
+     * grow的次数
+     */
+    private final LongAdder grows = new LongAdder();
+
+    /**
+     * grow中Arrays.copyOf复制的位置数，即扩容前数组的长度
+     */
+    private final LongAdder grownSlots = new LongAdder();
+
+    /**
+     * 关联了本统计对象的列表，元素是弱引用本身，按引用对象的同一性比较
+     */
+    private final Set<Reference<?>> attached = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已被回收的列表的弱引用，在关联和快照时从attached中清除
+     */
+    private final ReferenceQueue<Object> cleared = new ReferenceQueue<>();
+
+    /**
+     * 出现过的最大容量，包括构造和ensureCapacity预先分配的容量
+     */
+    private final LongAccumulator peakCapacity = new LongAccumulator(Math::max, 0);
+
+    /**
+     * add(int, E)、addAll(int, Collection)、remove、removeRange中System.arraycopy移动的元素个数
+     */
+    private final LongAdder shifted = new LongAdder();
+
+    /**
+     * batchRemove、removeIf中真正删除了元素的次数
+     */
+    private final LongAdder compactions = new LongAdder();
+
+    /**
+     * 压缩删除的元素个数
+     */
+    private final LongAdder compactionRemoved = new LongAdder();
+
+    /**
+     * 压缩后保留的元素个数
+     */
+    private final LongAdder compactionKept = new LongAdder();
+
+    /**
+     * 创建一个统计对象
+     * @param tag 标签，出现在快照中
+     */
+    public ListMetrics(@NotNull String tag){
+        this.tag = Objects.requireNonNull(tag);
+    }
+
+    /**
+     * 返回标签对应的共享统计对象，不存在则创建
+     * @param tag 标签
+     * @return 统计对象
+     */
+    public static ListMetrics forTag(@NotNull String tag){
+        return TAGGED.computeIfAbsent(tag, ListMetrics::new);
+    }
+
+    /**
+     * 所有标签当前的快照，按标签排序
+     * @return 标签到快照的不可修改的映射
+     */
+    public static Map<String, Snapshot> snapshotAll(){
+        Map<String, Snapshot> m = new TreeMap<>();
+        for (ListMetrics metrics : TAGGED.values()){
+            m.put(metrics.tag, metrics.snapshot());
+        }
+        return Collections.unmodifiableMap(m);
+    }
+
+    public String getTag(){
+        return tag;
+    }
+
+    //记录，只由MyArrayList在ENABLED为true时调用
+
+    /**
+     * 登记一个列表，并记录它当前的容量
+     * @param list 列表
+     * @return 登记的凭证，取消关联时传给detach
+     */
+    Reference<?> attach(MyArrayList<?> list){
+        expungeCleared();
+        Reference<?> ref = new WeakReference<Object>(list, cleared);
+        attached.add(ref);
+        peakCapacity.accumulate(list.capacity());
+        return ref;
+    }
+
+    void detach(Reference<?> ref){
+        attached.remove(ref);
+    }
+
+    private void expungeCleared(){
+        Reference<?> ref;
+        while ((ref = cleared.poll()) != null){
+            attached.remove(ref);
+        }
+    }
+
+    void grew(int oldCapacity, int newCapacity){
+        grows.increment();
+        grownSlots.add(oldCapacity);
+        peakCapacity.accumulate(newCapacity);
+    }
+
+    void shifted(int n){
+        if (n > 0){
+            shifted.add(n);
+        }
+    }
+
+    void compacted(int removed, int kept){
+        compactions.increment();
+        compactionRemoved.add(removed);
+        compactionKept.add(kept);
+    }
+
+    /**
+     * 当前计数的快照，空闲位置数和容量从仍然存活的关联列表上读取
+     * 列表属于其他线程时读到的容量和元素个数可能不是最新的
+     * @return 快照
+     */
+    public Snapshot snapshot(){
+        expungeCleared();
+        long slack = 0;
+        for (Reference<?> ref : attached){
+            MyArrayList<?> list = (MyArrayList<?>) ref.get();
+            if (list != null){
+                int capacity = list.capacity();
+                slack += Math.max(capacity - list.size(), 0);
+                peakCapacity.accumulate(capacity);
+            }
+        }
+        return new Snapshot(tag, grows.sum(), grownSlots.sum(), slack, peakCapacity.get(),
+                shifted.sum(), compactions.sum(), compactionRemoved.sum(), compactionKept.sum());
+    }
+
+    /**
+     * 清零所有计数，已关联的列表保持关联
+     */
+    public void reset(){
+        grows.reset();
+        grownSlots.reset();
+        peakCapacity.reset();
+        shifted.reset();
+        compactions.reset();
+        compactionRemoved.reset();
+        compactionKept.reset();
+    }
+
+    /**
+     * 某一时刻统计的不可变快照
+     */
+    public static final class Snapshot {
+        private final String tag;
+        private final long grows;
+        private final long grownSlots;
+        private final long slack;
+        private final long peakCapacity;
+        private final long shifted;
+        private final long compactions;
+        private final long compactionRemoved;
+        private final long compactionKept;
+
+        Snapshot(String tag, long grows, long grownSlots, long slack, long peakCapacity,
+                 long shifted, long compactions, long compactionRemoved, long compactionKept){
+            this.tag = tag;
+            this.grows = grows;
+            this.grownSlots = grownSlots;
+            this.slack = slack;
+            this.peakCapacity = peakCapacity;
+            this.shifted = shifted;
+            this.compactions = compactions;
+            this.compactionRemoved = compactionRemoved;
+            this.compactionKept = compactionKept;
+        }
+
+        public String getTag(){
+            return tag;
+        }
+
+        /**
+         * @return grow的次数
+         */
+        public long getGrows(){
+            return grows;
+        }
+
+        /**
+         * @return grow复制的位置数，乘以引用的大小即为复制的字节数
+         */
+        public long getGrownSlots(){
+            return grownSlots;
+        }
+
+        /**
+         * @return 快照时关联的列表已分配但没有存放元素的位置数之和
+         */
+        public long getSlack(){
+            return slack;
+        }
+
+        /**
+         * @return 关联的列表出现过的最大容量
+         */
+        public long getPeakCapacity(){
+            return peakCapacity;
+        }
+
+        /**
+         * @return 插入和删除时移动的元素个数
+         */
+        public long getShifted(){
+            return shifted;
+        }
+
+        /**
+         * @return batchRemove、removeIf真正删除了元素的次数
+         */
+        public long getCompactions(){
+            return compactions;
+        }
+
+        /**
+         * @return 压缩删除的元素个数
+         */
+        public long getCompactionRemoved(){
+            return compactionRemoved;
+        }
+
+        /**
+         * @return 压缩后保留的元素个数
+         */
+        public long getCompactionKept(){
+            return compactionKept;
+        }
+
+        @Override
+        public String toString(){
+            return tag + "{grows=" + grows + ", grownSlots=" + grownSlots + ", slack=" + slack
+                    + ", peakCapacity=" + peakCapacity + ", shifted=" + shifted
+                    + ", compactions=" + compactions + ", compactionRemoved=" + compactionRemoved
+                    + ", compactionKept=" + compactionKept + "}";
+        }
+    }
+}
@@ -0,0 +1,506 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Predicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 以long[]存储元素的ArrayList
+ * 扩容、ensureCapacity、trimToSize由MyAbstractPrimitiveList实现，语义与MyArrayList保持一致，
+ * getLong/addLong/removeIfLong/sort()等方法直接操作long数组，不会产生装箱对象
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 11:48
+ */
+public class LongArrayList extends MyAbstractPrimitiveList<Long> implements List<Long>, RandomAccess, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960223L;
+
+    /**
+     * 用于空列表的共享数组
+     */
+    private static final long[] EMPTY_ELEMENTDATA = {};
+
+    /**
+     * 用于无参构造的共享空数组
+     */
+    private static final long[] DEFAULTCAPACITY_EMPTY_ELEMENTDATA = {};
+
+    /**
+     * 实际存储元素的数组
+     */
+    transient long[] elementData;
+
+    /**
+     * 空参构造
+     */
+    public LongArrayList(){
+        this.elementData = DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
+    }
+
+    /**
+     * 通过指定容量的构造方法
+     * @param initialCapacity 指定容量的大小
+     */
+    public LongArrayList(@Range(from = 0, to = Integer.MAX_VALUE) int initialCapacity){
+        if (initialCapacity > 0){
+            this.elementData = new long[initialCapacity];
+        }else if(initialCapacity == 0){
+            this.elementData = EMPTY_ELEMENTDATA;
+        }else {
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+    }
+
+    /**
+     * 通过给定的long数组创建列表，数组会被复制
+     * @param a 初始的元素
+     */
+    public LongArrayList(long @NotNull [] a){
+        if ((size = a.length) != 0){
+            elementData = Arrays.copyOf(a, size);
+        }else{
+            elementData = EMPTY_ELEMENTDATA;
+        }
+    }
+
+    /**
+     * 通过指定的集合创建列表
+     * @param c 要将元素放入该list的集合
+     */
+    public LongArrayList(@NotNull Collection<? extends Long> c){
+        this(0);
+        addAll(c);
+    }
+
+    @Override
+    Object array(){
+        return elementData;
+    }
+
+    @Override
+    int capacity(){
+        return elementData.length;
+    }
+
+    @Override
+    boolean isDefaultCapacityEmpty(){
+        return elementData == DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
+    }
+
+    @Override
+    void resize(int newCapacity){
+        elementData = (newCapacity == 0)
+                ? EMPTY_ELEMENTDATA
+                : Arrays.copyOf(elementData, newCapacity);
+    }
+
+    @Override
+    void sortElements(){
+        Arrays.sort(elementData, 0, size);
+    }
+
+    //基本类型操作
+
+    /**
+     * 获取指定索引处的元素
+     * @param index 指定的索引
+     * @return 指定索引位置的元素
+     */
+    public long getLong(int index){
+        rangeCheck(index);
+
+        return elementData[index];
+    }
+
+    /**
+     * 在指定索引位置更新元素，并返回旧的元素
+     * @param index 指定索引
+     * @param element 新的元素
+     * @return 旧的元素
+     */
+    public long setLong(int index, long element){
+        rangeCheck(index);
+
+        long oldValue = elementData[index];
+        elementData[index] = element;
+        return oldValue;
+    }
+
+    /**
+     * 在最后插入一个元素
+     * @param e 插入的元素
+     * @return true则表示插入成功
+     */
+    public boolean addLong(long e){
+        ensureCapacityInternal(size + 1);
+        elementData[size++] = e;
+        return true;
+    }
+
+    /**
+     * 在指定索引位置上插入元素
+     * @param index 指定索引
+     * @param element 待插入元素
+     */
+    public void addLong(int index, long element){
+        rangeCheckForAdd(index);
+
+        openGap(index, 1);
+        elementData[index] = element;
+        size++;
+    }
+
+    /**
+     * 删除指定索引位置上的元素
+     * @param index 指定索引
+     * @return 删除的元素
+     */
+    public long removeLong(int index){
+        rangeCheck(index);
+
+        long oldValue = elementData[index];
+        removeRange(index, index + 1);
+        return oldValue;
+    }
+
+    /**
+     * 找到指定元素的第一次出现的索引位置
+     * @param e 指定元素
+     * @return 指定元素第一次出现的索引位置，不存在则返回-1
+     */
+    public int indexOfLong(long e){
+        for (int i = 0; i < size; i++){
+            if (elementData[i] == e){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 找到指定元素最后一次出现的索引位置
+     * @param e 指定元素
+     * @return 指定元素最后一次出现的索引位置，不存在则返回-1
+     */
+    public int lastIndexOfLong(long e){
+        for (int i = size-1; i >= 0; i--){
+            if (elementData[i] == e){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 判断list是否包含指定元素
+     * @param e 指定元素
+     * @return true表示包含
+     */
+    public boolean containsLong(long e){
+        return indexOfLong(e) >= 0;
+    }
+
+    /**
+     * 移除集合中满足给定条件的所有元素
+     * 原地压缩，不分配额外的内存；若filter抛出异常，已判断的元素按结果压缩，其余元素保持不变
+     * @param filter 移除元素的条件
+     * @return 若为true则移除成功
+     */
+    public boolean removeIfLong(LongPredicate filter){
+        Objects.requireNonNull(filter);
+        final long[] elementData = this.elementData;
+        final int size = this.size;
+        final int expectedModCount = modCount;
+        int r = 0, w = 0;
+        try {
+            for (; modCount == expectedModCount && r < size; r++){
+                long e = elementData[r];
+                if (!filter.test(e)){
+                    elementData[w++] = e;
+                }
+            }
+        }finally {
+            if (r != size){
+                System.arraycopy(elementData, r, elementData, w, size - r);
+                w += size - r;
+            }
+            this.size = w;
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        if (w != size){
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 对每个元素应用给定的运算符并替换
+     * @param operator 应用于每个元素的运算符
+     */
+    public void replaceAllLong(LongUnaryOperator operator){
+        Objects.requireNonNull(operator);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        for (int i=0; modCount == expectedModCount && i < size; i++){
+            elementData[i] = operator.applyAsLong(elementData[i]);
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    /**
+     * 对每个元素执行给定的操作
+     * @param action 每个元素要执行的动作
+     */
+    public void forEachLong(LongConsumer action){
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final long[] elementData = this.elementData;
+        final int size = this.size;
+        for (int i = 0; modCount == expectedModCount && i < size; i++){
+            action.accept(elementData[i]);
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 返回包含所有元素的long数组
+     * @return long数组
+     */
+    public long[] toLongArray(){
+        return Arrays.copyOf(elementData, size);
+    }
+
+    /**
+     * 获取一个不装箱的串行流
+     * @return LongStream
+     */
+    public LongStream longStream(){
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * 获取一个不装箱的并行流
+     * @return LongStream
+     */
+    public LongStream parallelLongStream(){
+        return StreamSupport.longStream(spliterator(), true);
+    }
+
+    //List接口的装箱操作，均委托给基本类型操作
+
+    @Override
+    public Long get(int index){
+        return getLong(index);
+    }
+
+    @Override
+    public Long set(int index, Long element){
+        return setLong(index, element);
+    }
+
+    @Override
+    public boolean add(Long e){
+        return addLong(e);
+    }
+
+    @Override
+    public void add(int index, Long element){
+        addLong(index, element);
+    }
+
+    @Override
+    public Long remove(int index){
+        return removeLong(index);
+    }
+
+    @Override
+    public boolean remove(Object o){
+        if (o instanceof Long){
+            int index = indexOfLong((Long) o);
+            if (index >= 0){
+                removeLong(index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int indexOf(Object o){
+        return (o instanceof Long) ? indexOfLong((Long) o) : -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o){
+        return (o instanceof Long) ? lastIndexOfLong((Long) o) : -1;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super Long> filter){
+        Objects.requireNonNull(filter);
+        return removeIfLong(filter::test);
+    }
+
+    /**
+     * 将所指定的集合中的元素添加到list的末尾中
+     * @param c 指定要添加的集合
+     * @return 返回true则表示添加成功
+     */
+    @Override
+    public boolean addAll(Collection<? extends Long> c){
+        return addAll(size, c);
+    }
+
+    /**
+     * 在指定索引位置将指定集合中的元素加入到list中
+     * @param index 指定的索引
+     * @param c 指定的集合
+     * @return 若为true则添加成功
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends Long> c){
+        rangeCheckForAdd(index);
+
+        long[] a;
+        if (c instanceof LongArrayList){
+            a = ((LongArrayList) c).toLongArray();
+        }else{
+            Object[] boxed = c.toArray();
+            a = new long[boxed.length];
+            for (int i = 0; i < boxed.length; i++){
+                a[i] = (Long) boxed[i];
+            }
+        }
+        int numNew = a.length;
+        openGap(index, numNew);
+        System.arraycopy(a, 0, elementData, index, numNew);
+        size += numNew;
+        return numNew != 0;
+    }
+
+    @Override
+    public int hashCode(){
+        int hashCode = 1;
+        for (int i = 0; i < size; i++){
+            hashCode = 31*hashCode + Long.hashCode(elementData[i]);
+        }
+        return hashCode;
+    }
+
+    /**
+     * 将实例的状态保存到流
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        for (int i = 0; i < size; i++){
+            s.writeLong(elementData[i]);
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 从流中读取实例，反序列化
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        if (size < 0){
+            throw new java.io.InvalidObjectException("Illegal size: " + size);
+        }
+        long[] a = (size == 0) ? EMPTY_ELEMENTDATA : new long[size];
+        for (int i = 0; i < size; i++){
+            a[i] = s.readLong();
+        }
+        elementData = a;
+    }
+
+    /**
+     * 不装箱的并行遍历迭代器
+     * @return 并行遍历迭代器
+     */
+    @Override
+    public Spliterator.OfLong spliterator(){
+        return new LongArrayListSpliterator(this, 0, -1, 0);
+    }
+
+    static final class LongArrayListSpliterator extends PrimitiveArraySpliterator<LongArrayList> implements Spliterator.OfLong{
+
+        LongArrayListSpliterator(LongArrayList list, int origin, int fence, int expectedModCount){
+            super(list, origin, fence, expectedModCount);
+        }
+
+        @Override
+        public LongArrayListSpliterator trySplit(){
+            int lo = splitOrigin();
+            return (lo < 0) ? null :
+                    new LongArrayListSpliterator(list, lo, index, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            if (i < hi){
+                index = i + 1;
+                action.accept(list.elementData[i]);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            long[] a = list.elementData;
+            int hi = fenceForTraversal(), i;
+            if ((i = index) >= 0 && (index = hi) <= a.length){
+                for (; i < hi; ++i){
+                    action.accept(a[i]);
+                }
+                if (list.modCount == expectedModCount){
+                    return;
+                }
+            }
+            throw new ConcurrentModificationException();
+        }
+    }
+}
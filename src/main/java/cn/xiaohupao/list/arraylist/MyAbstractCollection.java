@@ -4,8 +4,10 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @Author: xiaohupao
@@ -233,10 +235,11 @@ public abstract class MyAbstractCollection<E> implements Collection<E> {
     @Override
     public boolean removeAll(Collection<?> c) {
         Objects.requireNonNull(c);
+        final Collection<?> lookup = lookupFor(c, size());
         boolean modified = false;
         Iterator<?> it = iterator();
         while (it.hasNext()){
-            if (c.contains(it.next())){
+            if (lookup.contains(it.next())){
                 it.remove();
                 modified = true;
             }
@@ -244,6 +247,31 @@ public abstract class MyAbstractCollection<E> implements Collection<E> {
         return modified;
     }
 
+    /**
+     * 两个集合都不超过该大小时直接使用c.contains，建立哈希表的开销不划算
+     */
+    static final int HASH_LOOKUP_THRESHOLD = 16;
+
+    /**
+     * 为removeAll/retainAll选择判断元素是否在c中的集合
+     * c已经是Set或者FastContains表明contains足够快时直接使用；c较大而又只能线性查找时，
+     * 复制到一个临时的HashSet中，把O(n*m)的判断降为O(n+m)
+     * 临时的HashSet按equals/hashCode判断，对于正确实现了这两个方法的元素，结果与c.contains一致
+     * @param c 指定的集合
+     * @param size 要逐个判断的元素个数
+     * @return 用于调用contains的集合
+     */
+    static Collection<?> lookupFor(Collection<?> c, int size){
+        if (c instanceof Set
+                || (c instanceof FastContains && ((FastContains) c).hasFastContains())){
+            return c;
+        }
+        if (c.size() <= HASH_LOOKUP_THRESHOLD || size <= HASH_LOOKUP_THRESHOLD){
+            return c;
+        }
+        return new HashSet<>(c);
+    }
+
     /**
      * 保留此集合中的元素，其中出现在指定集合中的元素
      * @param c 指定的元素
@@ -252,10 +280,11 @@ public abstract class MyAbstractCollection<E> implements Collection<E> {
     @Override
     public boolean retainAll(Collection<?> c) {
         Objects.requireNonNull(c);
+        final Collection<?> lookup = lookupFor(c, size());
         boolean modified = false;
         Iterator<E> it = iterator();
         while (it.hasNext()){
-            if (!c.contains(it.next())){
+            if (!lookup.contains(it.next())){
                 it.remove();
                 modified = true;
             }
@@ -0,0 +1,318 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * IntArrayList、LongArrayList、DoubleArrayList的公共父类
+ * 负责元素个数、扩容、ensureCapacity、trimToSize、区间删除和装箱排序，语义与MyArrayList保持一致；
+ * 子类只持有具体类型的数组，并实现与元素类型相关的读写操作
+ * 数组的移动都通过System.arraycopy完成，它对任意类型的基本类型数组都适用
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 11:10
+ */
+public abstract class MyAbstractPrimitiveList<E> extends MyAbstractList<E> implements List<E>, RandomAccess, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960221L;
+
+    /**
+     * 默认初始化容量
+     */
+    static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 要分配数组的最大的大小
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * 元素的个数
+     */
+    int size;
+
+    /**
+     * 无参构造器
+     */
+    MyAbstractPrimitiveList(){}
+
+    /**
+     * 子类的存储数组
+     * @return 存储元素的数组
+     */
+    abstract Object array();
+
+    /**
+     * 当前数组的长度
+     * @return 容量
+     */
+    abstract int capacity();
+
+    /**
+     * 判断存储数组是否为无参构造使用的共享空数组
+     * @return true则表示第一次添加时按默认容量扩容
+     */
+    abstract boolean isDefaultCapacityEmpty();
+
+    /**
+     * 把存储数组复制到指定长度的新数组，长度为0时换成共享的空数组
+     * @param newCapacity 新的容量
+     */
+    abstract void resize(int newCapacity);
+
+    /**
+     * 按升序排序前size个元素
+     */
+    abstract void sortElements();
+
+    /**
+     * 将容量大小变为list中实际的元素个数大小
+     */
+    public void trimToSize(){
+        modCount++;
+        if (size < capacity()){
+            resize(size);
+        }
+    }
+
+    /**
+     * 确保容量的大小能够存储期望的最小容量值
+     * @param minCapacity 所需最小的容量
+     */
+    public void ensureCapacity(int minCapacity){
+        int minExpand = isDefaultCapacityEmpty()
+                ? DEFAULT_CAPACITY
+                : 0;
+
+        if (minCapacity > minExpand){
+            ensureExplicitCapacity(minCapacity);
+        }
+    }
+
+    void ensureCapacityInternal(int minCapacity){
+        if (isDefaultCapacityEmpty()){
+            minCapacity = Math.max(DEFAULT_CAPACITY, minCapacity);
+        }
+        ensureExplicitCapacity(minCapacity);
+    }
+
+    private void ensureExplicitCapacity(int minCapacity){
+        modCount++;
+
+        if (minCapacity - capacity() > 0){
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 扩容的真正方法，新的数组大小为原来的1.5倍
+     * @param minCapacity 所需最小的容量大小
+     */
+    private void grow(int minCapacity){
+        int oldCapacity = capacity();
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity - minCapacity < 0){
+            newCapacity = minCapacity;
+        }
+        if (newCapacity - MAX_ARRAY_SIZE > 0){
+            newCapacity = hugeCapacity(minCapacity);
+        }
+        resize(newCapacity);
+    }
+
+    private static int hugeCapacity(int minCapacity){
+        //判断是否溢出
+        if (minCapacity < 0){
+            throw new OutOfMemoryError();
+        }
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+                Integer.MAX_VALUE :
+                MAX_ARRAY_SIZE;
+    }
+
+    /**
+     * 在index处空出numNew个位置，必要时扩容，不修改size
+     * @param index 空出的起始位置
+     * @param numNew 空出的个数
+     */
+    void openGap(int index, int numNew){
+        ensureCapacityInternal(size + numNew);
+        int numMoved = size - index;
+        if (numMoved > 0){
+            System.arraycopy(array(), index, array(), index + numNew, numMoved);
+        }
+    }
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 按升序排序
+     */
+    public void sort(){
+        final int expectedModCount = modCount;
+        sortElements();
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    /**
+     * 按比较器排序，比较器为null时按升序排序，不装箱
+     * 否则先装箱成对象数组排序，再写回存储数组
+     * @param c 比较器
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c){
+        if (c == null){
+            sort();
+            return;
+        }
+        final int expectedModCount = modCount;
+        Object[] a = toArray();
+        Arrays.sort(a, (Comparator<Object>) c);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        for (int i = 0; i < a.length; i++){
+            set(i, (E) a[i]);
+        }
+        modCount++;
+    }
+
+    /**
+     * 清空list
+     */
+    @Override
+    public void clear(){
+        modCount++;
+        size = 0;
+    }
+
+    /**
+     * 删除指定索引区间中的元素
+     * @param fromIndex 开始的索引
+     * @param toIndex 结束的索引
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        modCount++;
+        int numMoved = size - toIndex;
+        System.arraycopy(array(), toIndex, array(), fromIndex, numMoved);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * 返回实例的浅克隆，存储数组按元素个数复制
+     * @return 副本
+     */
+    @Override
+    public Object clone(){
+        try {
+            MyAbstractPrimitiveList<?> v = (MyAbstractPrimitiveList<?>) super.clone();
+            v.resize(size);
+            v.modCount = 0;
+            return v;
+        }catch (CloneNotSupportedException e){
+            throw new InternalError(e);
+        }
+    }
+
+    void rangeCheckForAdd(int index){
+        if (index > size || index < 0){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    void rangeCheck(int index){
+        if (index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    /**
+     * 基本类型并行遍历迭代器的公共部分，子类实现具体类型的tryAdvance、forEachRemaining和trySplit
+     * @param <L> 遍历的列表类型
+     */
+    abstract static class PrimitiveArraySpliterator<L extends MyAbstractPrimitiveList<?>>{
+        //用于存放列表对象
+        final L list;
+        //起始位置(包含)
+        int index;
+        //结束位置(不包含),-1表示到最后的位置
+        int fence;
+        //存放list中的modCount
+        int expectedModCount;
+
+        PrimitiveArraySpliterator(L list, int origin, int fence, int expectedModCount){
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        int getFence(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = fence = list.size;
+            }
+            return hi;
+        }
+
+        /**
+         * 把剩余部分的前一半分出去，返回分出部分的起始位置，不能再分时返回-1
+         * @return 分出部分的起始位置
+         */
+        int splitOrigin(){
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            if (lo >= mid){
+                return -1;
+            }
+            index = mid;
+            return lo;
+        }
+
+        /**
+         * 开始整体遍历，返回结束位置，并把expectedModCount修正为遍历时要比较的值
+         * @return 结束位置
+         */
+        int fenceForTraversal(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = list.size;
+            }
+            return hi;
+        }
+
+        void checkForComodification(){
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        public long estimateSize(){
+            return (long) (getFence() - index);
+        }
+
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
@@ -0,0 +1,808 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 基于循环数组的双端队列，同时实现了List
+ * 1.数组的长度总是2的幂，逻辑索引i对应的数组下标为(head + i) & (elements.length - 1)；
+ * 2.addFirst/addLast/pollFirst/pollLast均摊O(1)，除扩容外不产生任何对象分配；
+ * 3.get/set为O(1)；add(int, E)/remove(int)移动较短的一侧，最多移动size/2个元素；
+ * 4.容量不够时扩容为原来的2倍。
+ * 与ArrayDeque一样不允许null元素，poll/peek返回null表示队列为空
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 16:30
+ */
+public class MyArrayDeque<E> extends MyAbstractList<E> implements List<E>, Deque<E>, RandomAccess, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960229L;
+
+    /**
+     * 默认的初始容量
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 最小的容量
+     */
+    private static final int MIN_INITIAL_CAPACITY = 8;
+
+    /**
+     * 最大的容量，2的幂中不超过数组长度上限的最大值
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * 存储元素的循环数组，长度总是2的幂，空闲的位置总是null
+     */
+    transient Object[] elements;
+
+    /**
+     * 第一个元素所在的数组下标
+     */
+    transient int head;
+
+    /**
+     * 元素的个数
+     */
+    private int size;
+
+    /**
+     * 无参构造，初始容量为16
+     */
+    public MyArrayDeque(){
+        elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * 指定初始容量的构造器，实际容量为不小于numElements的2的幂
+     * @param numElements 预计的元素个数
+     */
+    public MyArrayDeque(int numElements){
+        if (numElements < 0){
+            throw new IllegalArgumentException("Illegal Capacity: " + numElements);
+        }
+        elements = new Object[capacityFor(numElements)];
+    }
+
+    /**
+     * 通过指定的集合构造
+     * @param c 集合
+     */
+    public MyArrayDeque(@NotNull Collection<? extends E> c){
+        this(c.size());
+        for (E e : c){
+            addLast(e);
+        }
+    }
+
+    /**
+     * 计算能容纳numElements个元素的最小的2的幂
+     * @param numElements 元素个数
+     * @return 容量
+     */
+    private static int capacityFor(int numElements){
+        if (numElements <= MIN_INITIAL_CAPACITY){
+            return MIN_INITIAL_CAPACITY;
+        }
+        if (numElements > MAX_CAPACITY){
+            throw new IllegalStateException("Deque too big");
+        }
+        return Integer.highestOneBit(numElements - 1) << 1;
+    }
+
+    /**
+     * 逻辑索引对应的数组下标
+     * @param index 逻辑索引
+     * @return 数组下标
+     */
+    private int slot(int index){
+        return (head + index) & (elements.length - 1);
+    }
+
+    /**
+     * 保证至少还能放入一个元素
+     */
+    private void ensureSpareSlot(){
+        if (size == elements.length){
+            doubleCapacity();
+        }
+    }
+
+    /**
+     * 容量翻倍，并把元素按顺序搬到新数组的开头
+     */
+    private void doubleCapacity(){
+        int n = elements.length;
+        if (n >= MAX_CAPACITY){
+            throw new IllegalStateException("Deque too big");
+        }
+        Object[] a = new Object[n << 1];
+        //head右侧的部分
+        int r = n - head;
+        System.arraycopy(elements, head, a, 0, r);
+        //回绕到数组开头的部分
+        System.arraycopy(elements, 0, a, r, head);
+        elements = a;
+        head = 0;
+    }
+
+    /**
+     * 按顺序把元素复制到数组a中
+     * @param a 目标数组，长度不小于size
+     */
+    private <T> T[] copyElements(T[] a){
+        int n = elements.length;
+        int first = Math.min(size, n - head);
+        System.arraycopy(elements, head, a, 0, first);
+        System.arraycopy(elements, 0, a, first, size - first);
+        return a;
+    }
+
+    //双端队列操作
+
+    /**
+     * 在头部插入元素
+     * @param e 插入的元素
+     */
+    @Override
+    public void addFirst(E e){
+        Objects.requireNonNull(e);
+        ensureSpareSlot();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = e;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * 在尾部插入元素
+     * @param e 插入的元素
+     */
+    @Override
+    public void addLast(E e){
+        Objects.requireNonNull(e);
+        ensureSpareSlot();
+        elements[slot(size)] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(E e){
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst(){
+        E x = pollFirst();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E removeLast(){
+        E x = pollLast();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    /**
+     * 检索并删除第一个元素
+     * @return 第一个元素，为空则返回null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollFirst(){
+        if (size == 0){
+            return null;
+        }
+        int h = head;
+        E result = (E) elements[h];
+        elements[h] = null;
+        head = (h + 1) & (elements.length - 1);
+        size--;
+        modCount++;
+        return result;
+    }
+
+    /**
+     * 检索并删除最后一个元素
+     * @return 最后一个元素，为空则返回null
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollLast(){
+        if (size == 0){
+            return null;
+        }
+        int t = slot(size - 1);
+        E result = (E) elements[t];
+        elements[t] = null;
+        size--;
+        modCount++;
+        return result;
+    }
+
+    @Override
+    public E getFirst(){
+        E x = peekFirst();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E getLast(){
+        E x = peekLast();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst(){
+        return size == 0 ? null : (E) elements[head];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast(){
+        return size == 0 ? null : (E) elements[slot(size - 1)];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o){
+        int index = indexOf(o);
+        if (index < 0){
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o){
+        int index = lastIndexOf(o);
+        if (index < 0){
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    //队列与栈操作
+
+    @Override
+    public boolean add(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e){
+        return offerLast(e);
+    }
+
+    @Override
+    public E remove(){
+        return removeFirst();
+    }
+
+    @Override
+    public E poll(){
+        return pollFirst();
+    }
+
+    @Override
+    public E element(){
+        return getFirst();
+    }
+
+    @Override
+    public E peek(){
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e){
+        addFirst(e);
+    }
+
+    @Override
+    public E pop(){
+        return removeFirst();
+    }
+
+    //List操作
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 获取指定位置的元素
+     * @param index 索引
+     * @return 元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index){
+        rangeCheck(index);
+        return (E) elements[slot(index)];
+    }
+
+    /**
+     * 替换指定位置的元素，不属于结构性修改
+     * @param index 索引
+     * @param element 新元素
+     * @return 旧元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element){
+        Objects.requireNonNull(element);
+        rangeCheck(index);
+        int i = slot(index);
+        E oldValue = (E) elements[i];
+        elements[i] = element;
+        return oldValue;
+    }
+
+    /**
+     * 在指定位置插入元素，移动index前后较短的一侧
+     * @param index 索引
+     * @param element 插入的元素
+     */
+    @Override
+    public void add(int index, E element){
+        rangeCheckForAdd(index);
+        Objects.requireNonNull(element);
+        if (index == size){
+            addLast(element);
+            return;
+        }
+        if (index == 0){
+            addFirst(element);
+            return;
+        }
+        ensureSpareSlot();
+        int mask = elements.length - 1;
+        if (index < (size >> 1)){
+            //前半部分整体左移一位
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++){
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+        }else{
+            //后半部分整体右移一位
+            for (int i = size; i > index; i--){
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+        }
+        elements[(head + index) & mask] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * 删除指定位置的元素，移动index前后较短的一侧
+     * @param index 索引
+     * @return 被删除的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index){
+        rangeCheck(index);
+        int mask = elements.length - 1;
+        E oldValue = (E) elements[(head + index) & mask];
+        if (index < (size >> 1)){
+            //前半部分整体右移一位
+            for (int i = index; i > 0; i--){
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            }
+            elements[head] = null;
+            head = (head + 1) & mask;
+        }else{
+            //后半部分整体左移一位
+            for (int i = index; i < size - 1; i++){
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            }
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    /**
+     * 删除[fromIndex, toIndex)内的元素，移动两侧中较短的一侧
+     * @param fromIndex 起始位置(包含)
+     * @param toIndex 结束位置(不包含)
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        int count = toIndex - fromIndex;
+        if (count <= 0){
+            return;
+        }
+        int mask = elements.length - 1;
+        if (fromIndex < size - toIndex){
+            //前面的元素右移count位
+            for (int i = fromIndex - 1; i >= 0; i--){
+                elements[(head + i + count) & mask] = elements[(head + i) & mask];
+            }
+            for (int i = 0; i < count; i++){
+                elements[(head + i) & mask] = null;
+            }
+            head = (head + count) & mask;
+        }else{
+            //后面的元素左移count位
+            for (int i = toIndex; i < size; i++){
+                elements[(head + i - count) & mask] = elements[(head + i) & mask];
+            }
+            for (int i = size - count; i < size; i++){
+                elements[(head + i) & mask] = null;
+            }
+        }
+        size -= count;
+        modCount++;
+    }
+
+    /**
+     * 在尾部添加指定集合中的所有元素，最多扩容一次
+     * @param c 指定的集合
+     * @return true则表示list发生了变化
+     */
+    @Override
+    public boolean addAll(@NotNull Collection<? extends E> c){
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        if (numNew == 0){
+            return false;
+        }
+        for (Object o : a){
+            Objects.requireNonNull(o);
+        }
+        if (size + numNew > elements.length){
+            if (numNew > MAX_CAPACITY - size){
+                throw new IllegalStateException("Deque too big");
+            }
+            Object[] b = new Object[capacityFor(size + numNew)];
+            copyElements(b);
+            elements = b;
+            head = 0;
+        }
+        int mask = elements.length - 1;
+        for (int i = 0; i < numNew; i++){
+            elements[(head + size + i) & mask] = a[i];
+        }
+        size += numNew;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 清空，保留当前的容量
+     */
+    @Override
+    public void clear(){
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++){
+            elements[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(Object o){
+        if (o != null){
+            int mask = elements.length - 1;
+            for (int i = 0; i < size; i++){
+                if (o.equals(elements[(head + i) & mask])){
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o){
+        if (o != null){
+            int mask = elements.length - 1;
+            for (int i = size - 1; i >= 0; i--){
+                if (o.equals(elements[(head + i) & mask])){
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public boolean remove(Object o){
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public Object[] toArray(){
+        return copyElements(new Object[size]);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T @NotNull [] a){
+        if (a.length < size){
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        copyElements(a);
+        if (a.length > size){
+            a[size] = null;
+        }
+        return a;
+    }
+
+    private void rangeCheck(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void rangeCheckForAdd(int index){
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    //迭代器
+
+    /**
+     * 从尾到头的迭代器
+     * @return 迭代器
+     */
+    @NotNull
+    @Override
+    public Iterator<E> descendingIterator(){
+        return new DescendingItr();
+    }
+
+    private class DescendingItr implements Iterator<E>{
+        /**
+         * 下一个要返回元素的逻辑索引
+         */
+        int cursor = size - 1;
+        /**
+         * 上一次返回元素的逻辑索引，-1表示没有
+         */
+        int lastRet = -1;
+        int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext(){
+            return cursor >= 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            checkForComodification();
+            int i = cursor;
+            if (i < 0){
+                throw new NoSuchElementException();
+            }
+            if (i >= size){
+                throw new ConcurrentModificationException();
+            }
+            cursor = i - 1;
+            return (E) elements[slot(lastRet = i)];
+        }
+
+        @Override
+        public void remove(){
+            if (lastRet < 0){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            MyArrayDeque.this.remove(lastRet);
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        final void checkForComodification(){
+            if (modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator(){
+        return new DequeSpliterator<>(this, 0, -1, 0);
+    }
+
+    /**
+     * 按逻辑索引分割的并行遍历迭代器，与MyArrayList.ArrayListSpliterator相同
+     * @param <E> 元素的类型
+     */
+    static final class DequeSpliterator<E> implements Spliterator<E>{
+        //用于存放deque对象
+        private final MyArrayDeque<E> deque;
+        //起始位置(包含)
+        private int index;
+        //结束位置(不包含),-1表示到最后的位置
+        private int fence;
+        //存放deque中的modCount
+        private int expectedModCount;
+
+        DequeSpliterator(MyArrayDeque<E> deque, int origin, int fence, int expectedModCount){
+            this.deque = deque;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = deque.modCount;
+                hi = fence = deque.size;
+            }
+            return hi;
+        }
+
+        @Override
+        public DequeSpliterator<E> trySplit(){
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                    new DequeSpliterator<E>(deque, lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            if (i < hi){
+                index = i + 1;
+                E e = (E) deque.elements[deque.slot(i)];
+                action.accept(e);
+                if (deque.modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            index = hi;
+            Object[] a = deque.elements;
+            int h = deque.head, mask = a.length - 1;
+            for (; i < hi; i++){
+                action.accept((E) a[(h + i) & mask]);
+            }
+            if (deque.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize(){
+            return (long) (getFence() - index);
+        }
+
+        @Override
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL;
+        }
+    }
+
+    /**
+     * 克隆，复制一份循环数组
+     * @return 克隆的对象
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone(){
+        try {
+            MyArrayDeque<E> result = (MyArrayDeque<E>) super.clone();
+            result.elements = Arrays.copyOf(elements, elements.length);
+            result.modCount = 0;
+            return result;
+        }catch (CloneNotSupportedException e){
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * 序列化，按顺序写出size个元素
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; i++){
+            s.writeObject(elements[(head + i) & mask]);
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 反序列化，校验元素个数和非null约束
+     * 容量随元素的读入翻倍增长，而不是按流中的个数预先分配
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        int n = size;
+        if (n < 0 || n > MAX_CAPACITY){
+            throw new java.io.InvalidObjectException("Illegal size: " + n);
+        }
+        elements = new Object[MIN_INITIAL_CAPACITY];
+        head = 0;
+        size = 0;
+        for (int i = 0; i < n; i++){
+            Object e = s.readObject();
+            if (e == null){
+                throw new java.io.InvalidObjectException("Null element at " + i);
+            }
+            addLast((E) e);
+        }
+    }
+}
@@ -6,6 +6,9 @@ import org.jetbrains.annotations.Range;
 import sun.misc.SharedSecrets;
 
 import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -18,7 +21,7 @@ import java.util.function.UnaryOperator;
  * 实现Serializable,Cloneable,RandomAccess接口
  * 这三个接口都是标记接口
  */
-public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, RandomAccess, Cloneable, Serializable {
+public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, RandomAccess, Cloneable, Serializable, FastContains {
 
     /**
      * 序列化ID
@@ -52,6 +55,29 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     private int size;
 
+    /**
+     * 可选的哈希索引，为null时不启用，contains/indexOf/lastIndexOf退化为线性扫描
+     * 不参与序列化，反序列化后的列表不启用索引
+     */
+    private transient ElementIndex elementIndex;
+
+    /**
+     * 容量策略，决定扩容的倍数以及删除元素后是否自动缩容
+     * 不参与序列化，反序列化后的列表使用默认策略
+     */
+    private transient GrowthPolicy growthPolicy = GrowthPolicy.DEFAULT;
+
+    /**
+     * 可选的扩容和搬移统计，只有ListMetrics.ENABLED为true且不为null时才记录
+     * 不参与序列化，克隆出的列表与原列表共用同一个统计对象
+     */
+    private transient ListMetrics metrics;
+
+    /**
+     * 在metrics中登记的凭证，用于更换或取消关联
+     */
+    private transient Reference<?> metricsRegistration;
+
     /**
      * 空参构造
      */
@@ -59,6 +85,25 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         this.elementData = DEFAULTCAPACITY_EMPTY_ELEMENTDATA;
     }
 
+    /**
+     * 使用指定容量策略的空参构造
+     * @param growthPolicy 容量策略
+     */
+    public MyArrayList(@NotNull GrowthPolicy growthPolicy){
+        this();
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    /**
+     * 通过指定容量和容量策略的构造方法
+     * @param initialCapacity 指定容量的大小
+     * @param growthPolicy 容量策略
+     */
+    public MyArrayList(@Range(from = 0, to = Integer.MAX_VALUE) int initialCapacity, @NotNull GrowthPolicy growthPolicy){
+        this(initialCapacity);
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
     /**
      * 通过指定容量的构造方法
      * @param initialCapacity 指定容量的大小
@@ -103,6 +148,79 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         }
     }
 
+    /**
+     * 当前数组的长度，供ListMetrics计算空闲位置
+     * @return 容量
+     */
+    int capacity(){
+        return elementData.length;
+    }
+
+    /**
+     * 当前的容量策略
+     * @return 容量策略
+     */
+    public GrowthPolicy getGrowthPolicy(){
+        return growthPolicy;
+    }
+
+    /**
+     * 关联统计对象，传入null则取消关联
+     * 只有在系统属性打开了ListMetrics.ENABLED时才会真正记录，否则关联不起作用
+     * @param metrics 统计对象，可以通过ListMetrics.forTag在多个列表之间共享
+     */
+    public void setMetrics(ListMetrics metrics){
+        if (ListMetrics.ENABLED && this.metrics != metrics){
+            if (this.metrics != null){
+                this.metrics.detach(metricsRegistration);
+            }
+            metricsRegistration = (metrics != null) ? metrics.attach(this) : null;
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * 当前关联的统计对象
+     * @return 统计对象，未关联时为null
+     */
+    public ListMetrics getMetrics(){
+        return metrics;
+    }
+
+    /**
+     * 启用或者关闭哈希索引
+     * 启用后contains和不存在的值的indexOf/lastIndexOf为O(1)；只在尾部增删和set时indexOf/lastIndexOf也为O(1)，
+     * 中间插入删除、排序之后退化为顺序查找，与未启用时相同；代价是每次修改多一次哈希表操作和额外的内存
+     * 适合查询远多于修改的列表，元素需要正确实现hashCode和equals
+     * @param indexed true则启用
+     */
+    public void setIndexed(boolean indexed){
+        if (indexed){
+            if (elementIndex == null){
+                elementIndex = new ElementIndex();
+            }
+        }else{
+            elementIndex = null;
+        }
+    }
+
+    /**
+     * 是否启用了哈希索引
+     * @return true则已启用
+     */
+    public boolean isIndexed(){
+        return elementIndex != null;
+    }
+
+    /**
+     * 启用了哈希索引时contains为O(1)
+     * @return true则表示已启用索引
+     */
+    @Override
+    public boolean hasFastContains(){
+        return isIndexed();
+    }
+
     /**
      * 确保容量的大小能够存储期望的最小容量值
      * @param minCapacity 所需最小的容量
@@ -154,17 +272,34 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     private void grow(int minCapacity){
         int oldCapacity = elementData.length;
-        //扩容中新的数组大小为原来的1.5倍
-        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        //扩容中新的数组大小由容量策略决定，默认为原来的1.5倍
+        int newCapacity = growthPolicy.grow(oldCapacity, minCapacity);
         if (newCapacity - minCapacity < 0){
             newCapacity = minCapacity;
         }
         if (newCapacity - MAX_ARRAY_SIZE > 0){
             newCapacity = hugeCapacity(minCapacity);
         }
+        if (ListMetrics.ENABLED && metrics != null){
+            metrics.grew(oldCapacity, newCapacity);
+        }
         elementData = Arrays.copyOf(elementData, newCapacity);
     }
 
+    /**
+     * 删除元素之后按容量策略自动缩容，调用方已经修改过modCount
+     */
+    private void shrinkIfNeeded(){
+        int capacity = elementData.length;
+        int newCapacity = growthPolicy.shrink(size, capacity);
+        if (newCapacity < capacity){
+            //缩容到0时回到空参构造的状态，之后第一次添加直接分配默认容量
+            elementData = (newCapacity <= 0)
+                    ? DEFAULTCAPACITY_EMPTY_ELEMENTDATA
+                    : Arrays.copyOf(elementData, Math.max(newCapacity, size));
+        }
+    }
+
     private static int hugeCapacity(int minCapacity){
         //判断是否溢出
         if (minCapacity < 0){
@@ -200,6 +335,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     @Override
     public boolean contains(Object o){
+        if (elementIndex != null){
+            return elementIndex.count(o, elementData, size) > 0;
+        }
         return indexOf(o) >= 0;
     }
 
@@ -210,6 +348,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     @Override
     public int indexOf(Object o){
+        if (elementIndex != null){
+            return elementIndex.first(o, elementData, size);
+        }
         if (o == null){
             for (int i = 0; i < size; i++){
                 if (elementData[i] == null){
@@ -233,6 +374,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     @Override
     public int lastIndexOf(Object o){
+        if (elementIndex != null){
+            return elementIndex.last(o, elementData, size);
+        }
         if (o == null){
             for (int i = size-1; i >= 0; i--){
                 if (elementData[i] == null){
@@ -259,6 +403,12 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
             MyArrayList<?> v = (MyArrayList<?>) super.clone();
             v.elementData = Arrays.copyOf(elementData, size);
             v.modCount = 0;
+            //副本使用自己的索引，在第一次查询时建立
+            v.elementIndex = (elementIndex != null) ? new ElementIndex() : null;
+            //副本在同一个统计对象中单独登记
+            if (ListMetrics.ENABLED && metrics != null){
+                v.metricsRegistration = metrics.attach(v);
+            }
             return v;
         }catch (CloneNotSupportedException e){
             throw new InternalError(e);
@@ -329,6 +479,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
 
         E oldValue = elementData(index);
         elementData[index] = element;
+        if (elementIndex != null){
+            elementIndex.replaced(oldValue, element, index);
+        }
         return oldValue;
     }
 
@@ -341,6 +494,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
     public boolean add(E e){
         ensureCapacityInternal(size + 1);
         elementData[size++] = e;
+        if (elementIndex != null){
+            elementIndex.inserted(e, size - 1, true);
+        }
         return true;
     }
 
@@ -355,8 +511,14 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
 
         ensureCapacityInternal(size + 1);
         System.arraycopy(elementData, index, elementData, index + 1, size - index);
+        if (ListMetrics.ENABLED && metrics != null){
+            metrics.shifted(size - index);
+        }
         elementData[index] = element;
         size++;
+        if (elementIndex != null){
+            elementIndex.inserted(element, index, index == size - 1);
+        }
     }
 
     /**
@@ -374,8 +536,15 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         int numMoved = size - index - 1;
         if (numMoved > 0){
             System.arraycopy(elementData, index + 1, elementData, index, numMoved);
+            if (ListMetrics.ENABLED && metrics != null){
+                metrics.shifted(numMoved);
+            }
         }
         elementData[--size] = null;
+        if (elementIndex != null){
+            elementIndex.removed(oldValue, index, numMoved == 0);
+        }
+        shrinkIfNeeded();
         return oldValue;
     }
 
@@ -386,6 +555,14 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     @Override
     public boolean remove(Object o){
+        if (elementIndex != null){
+            int index = indexOf(o);
+            if (index < 0){
+                return false;
+            }
+            fastRemove(index);
+            return true;
+        }
         if (o == null){
             for (int index = 0; index < size; index++){
                 if (elementData[index] == null){
@@ -411,11 +588,19 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     private void fastRemove(int index){
         modCount++;
+        Object oldValue = elementData[index];
         int numMoved = size - index - 1;
         if (numMoved > 0){
             System.arraycopy(elementData, index + 1, elementData, index, numMoved);
+            if (ListMetrics.ENABLED && metrics != null){
+                metrics.shifted(numMoved);
+            }
         }
         elementData[--size] = null;
+        if (elementIndex != null){
+            elementIndex.removed(oldValue, index, numMoved == 0);
+        }
+        shrinkIfNeeded();
     }
 
     /**
@@ -430,6 +615,10 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         }
 
         size = 0;
+        if (elementIndex != null){
+            elementIndex.cleared();
+        }
+        shrinkIfNeeded();
     }
 
     /**
@@ -443,6 +632,11 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         int numNew = a.length;
         ensureCapacityInternal(size + numNew);
         System.arraycopy(a, 0, elementData, size, numNew);
+        if (elementIndex != null){
+            for (int i = 0; i < numNew; i++){
+                elementIndex.inserted(a[i], size + i, true);
+            }
+        }
         size += numNew;
         return numNew != 0;
     }
@@ -464,8 +658,16 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         int numMoved = size - index;
         if (numMoved > 0){
             System.arraycopy(elementData, index, elementData, index + numNew, numMoved);
+            if (ListMetrics.ENABLED && metrics != null){
+                metrics.shifted(numMoved);
+            }
         }
         System.arraycopy(a, 0, elementData, index, numNew);
+        if (elementIndex != null){
+            for (int i = 0; i < numNew; i++){
+                elementIndex.inserted(a[i], index + i, numMoved == 0);
+            }
+        }
         size += numNew;
         return numNew != 0;
     }
@@ -479,13 +681,22 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
     protected void removeRange(int fromIndex, int toIndex){
         modCount++;
         int numMoved = size - toIndex;
+        if (elementIndex != null){
+            for (int i = fromIndex; i < toIndex; i++){
+                elementIndex.removed(elementData[i], i, numMoved == 0);
+            }
+        }
         System.arraycopy(elementData, toIndex, elementData, fromIndex, numMoved);
+        if (ListMetrics.ENABLED && metrics != null){
+            metrics.shifted(numMoved);
+        }
 
         int newSize = size - (toIndex - fromIndex);
         for (int i = newSize; i < size; i++){
             elementData[i] = null;
         }
         size = newSize;
+        shrinkIfNeeded();
     }
 
     /**
@@ -546,13 +757,18 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      * @return true为操作成功
      */
     private boolean batchRemove(Collection<?> c, boolean complement){
+        final Collection<?> lookup = lookupFor(c, size);
+        //只有临时的HashSet确定可以被多个线程同时读取，才使用并行路径
+        if (lookup != c && ParallelArrayOps.useParallel(size)){
+            return parallelBatchRemove(lookup, complement);
+        }
         final Object[] elementData = this.elementData;
         int r = 0, w = 0;
         boolean modified = false;
         //把需要移除的元素全部替换掉，不要移除的元素前移
         try {
             for (; r < size; r++){
-                if (c.contains(elementData[r]) == complement){
+                if (lookup.contains(elementData[r]) == complement){
                     elementData[w++] = elementData[r];
                 }
             }
@@ -566,13 +782,46 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
                     elementData[i] = null;
                 }
                 modCount += size - w;
+                if (ListMetrics.ENABLED && metrics != null){
+                    metrics.compacted(size - w, w);
+                }
                 size = w;
                 modified = true;
+                if (elementIndex != null){
+                    elementIndex.invalidateAll();
+                }
+                shrinkIfNeeded();
             }
         }
         return modified;
     }
 
+    /**
+     * batchRemove的并行版本，并行标记要保留的元素，再按各块的前缀和并行搬移到新数组中
+     * @param lookup 可以被多个线程同时读取的集合
+     * @param complement 用于操作保留还是移除与传入集合相同元素的开关
+     * @return true为操作成功
+     */
+    private boolean parallelBatchRemove(Collection<?> lookup, boolean complement){
+        final int size = this.size;
+        final Object[] newData = new Object[elementData.length];
+        final int w = ParallelArrayOps.filter(elementData, size, e -> lookup.contains(e) == complement, newData);
+        if (w == size){
+            return false;
+        }
+        elementData = newData;
+        modCount += size - w;
+        if (ListMetrics.ENABLED && metrics != null){
+            metrics.compacted(size - w, w);
+        }
+        this.size = w;
+        if (elementIndex != null){
+            elementIndex.invalidateAll();
+        }
+        shrinkIfNeeded();
+        return true;
+    }
+
     /**
      * 将ArrayList实例的状态保存到流
      * @param s 序列化流
@@ -601,6 +850,8 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
      */
     private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
         elementData = EMPTY_ELEMENTDATA;
+        //反序列化不会执行字段的初始化
+        growthPolicy = GrowthPolicy.DEFAULT;
 
         //读取大小，以及隐藏的内容
         s.defaultReadObject();
@@ -620,6 +871,27 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         }
     }
 
+    /**
+     * 通过通道按批写出所有元素，比writeObject逐个写对象更紧凑、更快，格式见ListChannelSerializer
+     * @param ch 目标通道
+     * @param codec 元素的编解码器
+     * @throws java.io.IOException
+     */
+    public void writeTo(WritableByteChannel ch, ElementCodec<? super E> codec) throws java.io.IOException{
+        ListChannelSerializer.write(ch, codec, this);
+    }
+
+    /**
+     * 从通道读取writeTo写出的列表，容量按文件头中的元素个数一次分配
+     * @param ch 源通道
+     * @param codec 元素的编解码器
+     * @return 读取的列表
+     * @throws java.io.IOException
+     */
+    public static <E> MyArrayList<E> readFrom(ReadableByteChannel ch, ElementCodec<? extends E> codec) throws java.io.IOException{
+        return ListChannelSerializer.readArrayList(ch, codec);
+    }
+
     @Override
     public ListIterator<E> listIterator(int index){
         if (index < 0 || index > size){
@@ -886,6 +1158,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
             checkForComodification();
             E oldValue = MyArrayList.this.elementData(offset + index);
             MyArrayList.this.elementData[offset + index] = e;
+            if (MyArrayList.this.elementIndex != null){
+                MyArrayList.this.elementIndex.replaced(oldValue, e, offset + index);
+            }
             return oldValue;
         }
 
@@ -1167,10 +1442,17 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
                 elementData[k] = null;
             }
             this.size = newSize;
+            if (ListMetrics.ENABLED && metrics != null){
+                metrics.compacted(removeCount, newSize);
+            }
+            if (elementIndex != null){
+                elementIndex.invalidateAll();
+            }
             if (modCount != expectedModCount){
                 throw new ConcurrentModificationException();
             }
             modCount++;
+            shrinkIfNeeded();
         }
         return anyToRemove;
     }
@@ -1185,6 +1467,9 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         Objects.requireNonNull(operator);
         final int expectedModCount = modCount;
         final int size = this.size;
+        if (elementIndex != null){
+            elementIndex.invalidateAll();
+        }
         for (int i=0; modCount == expectedModCount && i < size; i++){
             elementData[i] = operator.apply((E) elementData[i]);
         }
@@ -1194,6 +1479,68 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         modCount++;
     }
 
+    /**
+     * removeIf的并行版本，在fork-join线程池中分块对元素求值，再按各块的前缀和把保留的元素搬移到新数组中
+     * filter会被多个线程同时调用，必须是线程安全且没有副作用的；
+     * filter抛出异常时list保持原样，求值期间若list被修改则抛出并发修改异常；
+     * 元素较少或者线程池只有一个线程时退化为removeIf
+     * @param filter 给定的条件
+     * @return 若为true则移除成功
+     */
+    @SuppressWarnings("unchecked")
+    public boolean parallelRemoveIf(Predicate<? super E> filter){
+        Objects.requireNonNull(filter);
+        final int size = this.size;
+        if (!ParallelArrayOps.useParallel(size)){
+            return removeIf(filter);
+        }
+        final int expectedModCount = modCount;
+        final Object[] newData = new Object[elementData.length];
+        final int newSize = ParallelArrayOps.filter(elementData, size, e -> !filter.test((E) e), newData);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        if (newSize == size){
+            return false;
+        }
+        elementData = newData;
+        this.size = newSize;
+        modCount++;
+        if (ListMetrics.ENABLED && metrics != null){
+            metrics.compacted(size - newSize, newSize);
+        }
+        if (elementIndex != null){
+            elementIndex.invalidateAll();
+        }
+        shrinkIfNeeded();
+        return true;
+    }
+
+    /**
+     * replaceAll的并行版本，在fork-join线程池中分块替换元素
+     * operator会被多个线程同时调用，必须是线程安全的；
+     * 替换期间若list被修改则抛出并发修改异常，此时已经替换的元素不会恢复，与replaceAll一致；
+     * 元素较少或者线程池只有一个线程时退化为replaceAll
+     * @param operator 替换函数
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator){
+        Objects.requireNonNull(operator);
+        final int size = this.size;
+        if (!ParallelArrayOps.useParallel(size)){
+            replaceAll(operator);
+            return;
+        }
+        final int expectedModCount = modCount;
+        if (elementIndex != null){
+            elementIndex.invalidateAll();
+        }
+        ParallelArrayOps.replaceAll(elementData, size, operator);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
     /**
      * ArrayList中根据传入比较器进行排序比较
      * @param c 用于比较列表元素的比较器
@@ -1202,6 +1549,10 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
     @SuppressWarnings("unchecked")
     public void sort(Comparator<? super E> c) {
         final int expectedModCount = modCount;
+        if (elementIndex != null){
+            //排序只改变位置，即使比较器抛出异常，元素的次数也不变
+            elementIndex.invalidatePositions();
+        }
         Arrays.sort((E[]) elementData, 0, size, c);
         if (modCount != expectedModCount){
             throw new ConcurrentModificationException();
@@ -1209,5 +1560,25 @@ public class MyArrayList<E> extends MyAbstractList<E> implements List<E>, Random
         modCount++;
     }
 
+    /**
+     * 使用fork-join并行归并排序直接对elementData排序
+     * 与sort一样是稳定排序，排序期间若list被修改则抛出并发修改异常；
+     * 元素较少时(Arrays.parallelSort的分割粒度以下)退化为串行排序
+     * @param c 用于比较列表元素的比较器，为null时使用元素的自然顺序
+     */
+    @SuppressWarnings("unchecked")
+    public void parallelSort(Comparator<? super E> c) {
+        final int expectedModCount = modCount;
+        if (elementIndex != null){
+            //排序只改变位置，即使比较器抛出异常，元素的次数也不变
+            elementIndex.invalidatePositions();
+        }
+        Arrays.parallelSort((E[]) elementData, 0, size, c);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
 
 }
@@ -0,0 +1,444 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 面向少量元素的紧凑列表
+ * 1.元素不超过INLINE_CAPACITY(4)个时直接存放在e0~e3四个字段中，不分配数组；
+ *   开启压缩指针时整个列表只有一个40字节的对象，而空参构造的MyArrayList添加第一个元素后就要分配10个位置的数组；
+ * 2.第5个元素加入时把元素搬到数组中，之后与MyArrayList一样按1.5倍扩容；
+ * 3.trimToSize()在元素不超过4个时把元素搬回字段，释放数组。
+ * get/set/add都在这一个类中完成，只用elementData是否为null区分两种存储方式，调用点不会变成多态
+ * 元素个数会超过4个左右的列表仍应使用MyArrayList
+ * 不是线程安全的
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:00
+ */
+public class MyCompactList<E> extends MyAbstractList<E> implements List<E>, RandomAccess, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960232L;
+
+    /**
+     * 存放在字段中的最多元素个数
+     */
+    static final int INLINE_CAPACITY = 4;
+
+    /**
+     * 从字段搬到数组时数组的初始容量
+     */
+    private static final int FIRST_ARRAY_CAPACITY = 8;
+
+    /**
+     * 要分配数组的最大的大小
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * 字段存储时的第0~3个元素，数组存储时均为null
+     */
+    private transient Object e0, e1, e2, e3;
+
+    /**
+     * 数组存储时存放所有元素的数组，为null表示元素存放在字段中
+     */
+    private transient Object[] elementData;
+
+    /**
+     * 元素的个数
+     */
+    private int size;
+
+    /**
+     * 空参构造，不分配数组
+     */
+    public MyCompactList(){
+    }
+
+    /**
+     * 通过指定的集合创建列表
+     * @param c 要将元素放入该list的集合
+     */
+    public MyCompactList(@NotNull Collection<? extends E> c){
+        addAll(c);
+    }
+
+    //字段存储
+
+    private Object inline(int index){
+        switch (index){
+            case 0: return e0;
+            case 1: return e1;
+            case 2: return e2;
+            default: return e3;
+        }
+    }
+
+    private void setInline(int index, Object e){
+        switch (index){
+            case 0: e0 = e; break;
+            case 1: e1 = e; break;
+            case 2: e2 = e; break;
+            default: e3 = e; break;
+        }
+    }
+
+    /**
+     * 把字段中的元素搬到一个能放下minCapacity个元素的数组中
+     * @param minCapacity 所需最小的容量
+     */
+    private void inflate(int minCapacity){
+        Object[] a = new Object[Math.max(FIRST_ARRAY_CAPACITY, minCapacity)];
+        a[0] = e0;
+        a[1] = e1;
+        a[2] = e2;
+        a[3] = e3;
+        e0 = e1 = e2 = e3 = null;
+        elementData = a;
+    }
+
+    //容量
+
+    /**
+     * 保证能存放minCapacity个元素，超过字段的个数时切换到数组
+     * @param minCapacity 所需最小的容量
+     */
+    private void ensureCapacityInternal(int minCapacity){
+        modCount++;
+        Object[] a = elementData;
+        if (a == null){
+            if (minCapacity > INLINE_CAPACITY){
+                inflate(minCapacity);
+            }
+        }else if (minCapacity - a.length > 0){
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 扩容，新的数组大小为原来的1.5倍
+     * @param minCapacity 所需最小的容量大小
+     */
+    private void grow(int minCapacity){
+        int oldCapacity = elementData.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity - minCapacity < 0){
+            newCapacity = minCapacity;
+        }
+        if (newCapacity - MAX_ARRAY_SIZE > 0){
+            newCapacity = hugeCapacity(minCapacity);
+        }
+        elementData = Arrays.copyOf(elementData, newCapacity);
+    }
+
+    private static int hugeCapacity(int minCapacity){
+        //判断是否溢出
+        if (minCapacity < 0){
+            throw new OutOfMemoryError();
+        }
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+                Integer.MAX_VALUE :
+                MAX_ARRAY_SIZE;
+    }
+
+    /**
+     * 元素不超过4个时搬回字段并释放数组，否则把数组缩小到实际的元素个数
+     */
+    public void trimToSize(){
+        Object[] a = elementData;
+        if (a == null){
+            return;
+        }
+        modCount++;
+        if (size <= INLINE_CAPACITY){
+            elementData = null;
+            for (int i = 0; i < size; i++){
+                setInline(i, a[i]);
+            }
+        }else if (size < a.length){
+            elementData = Arrays.copyOf(a, size);
+        }
+    }
+
+    /**
+     * 判断元素是否存放在字段中
+     * @return true则表示没有分配数组
+     */
+    public boolean isInline(){
+        return elementData == null;
+    }
+
+    //List操作
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index){
+        rangeCheck(index);
+        Object[] a = elementData;
+        return (E) ((a != null) ? a[index] : inline(index));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element){
+        rangeCheck(index);
+        Object[] a = elementData;
+        Object oldValue;
+        if (a != null){
+            oldValue = a[index];
+            a[index] = element;
+        }else{
+            oldValue = inline(index);
+            setInline(index, element);
+        }
+        return (E) oldValue;
+    }
+
+    @Override
+    public boolean add(E e){
+        ensureCapacityInternal(size + 1);
+        Object[] a = elementData;
+        if (a != null){
+            a[size] = e;
+        }else{
+            setInline(size, e);
+        }
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element){
+        rangeCheckForAdd(index);
+        ensureCapacityInternal(size + 1);
+        Object[] a = elementData;
+        if (a != null){
+            System.arraycopy(a, index, a, index + 1, size - index);
+            a[index] = element;
+        }else{
+            for (int i = size; i > index; i--){
+                setInline(i, inline(i - 1));
+            }
+            setInline(index, element);
+        }
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index){
+        rangeCheck(index);
+        modCount++;
+        Object[] a = elementData;
+        Object oldValue;
+        int last = size - 1;
+        if (a != null){
+            oldValue = a[index];
+            System.arraycopy(a, index + 1, a, index, last - index);
+            a[last] = null;
+        }else{
+            oldValue = inline(index);
+            for (int i = index; i < last; i++){
+                setInline(i, inline(i + 1));
+            }
+            setInline(last, null);
+        }
+        size = last;
+        return (E) oldValue;
+    }
+
+    @Override
+    public int indexOf(Object o){
+        for (int i = 0; i < size; i++){
+            if (Objects.equals(o, get(i))){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o){
+        for (int i = size - 1; i >= 0; i--){
+            if (Objects.equals(o, get(i))){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * 在尾部添加集合中的所有元素，最多扩容一次
+     * @param c 集合
+     * @return true则表示list发生了变化
+     */
+    @Override
+    public boolean addAll(@NotNull Collection<? extends E> c){
+        return addAll(size, c);
+    }
+
+    /**
+     * 在指定位置插入集合中的所有元素，超过字段的个数时只切换到数组一次
+     * @param index 指定的索引
+     * @param c 集合
+     * @return true则表示list发生了变化
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(int index, @NotNull Collection<? extends E> c){
+        rangeCheckForAdd(index);
+        Object[] cs = c.toArray();
+        int numNew = cs.length;
+        if (numNew > Integer.MAX_VALUE - size){
+            throw new OutOfMemoryError();
+        }
+        ensureCapacityInternal(size + numNew);
+        Object[] a = elementData;
+        if (a != null){
+            System.arraycopy(a, index, a, index + numNew, size - index);
+            System.arraycopy(cs, 0, a, index, numNew);
+            size += numNew;
+        }else{
+            for (int i = 0; i < numNew; i++){
+                add(index + i, (E) cs[i]);
+            }
+        }
+        return numNew != 0;
+    }
+
+    /**
+     * 清空列表，已分配的数组被丢弃，之后重新使用字段存储
+     */
+    @Override
+    public void clear(){
+        modCount++;
+        e0 = e1 = e2 = e3 = null;
+        elementData = null;
+        size = 0;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        Object[] a = elementData;
+        if (a == null){
+            super.removeRange(fromIndex, toIndex);
+            return;
+        }
+        modCount++;
+        int numMoved = size - toIndex;
+        System.arraycopy(a, toIndex, a, fromIndex, numMoved);
+        int newSize = size - (toIndex - fromIndex);
+        for (int i = newSize; i < size; i++){
+            a[i] = null;
+        }
+        size = newSize;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action){
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        for (int i = 0; modCount == expectedModCount && i < size; i++){
+            action.accept(get(i));
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    private void rangeCheck(int index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void rangeCheckForAdd(int index){
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    /**
+     * 返回浅克隆，数组存储时按元素个数复制，但不小于从字段搬到数组时的初始容量FIRST_ARRAY_CAPACITY
+     * @return 副本
+     */
+    @Override
+    public Object clone(){
+        try {
+            @SuppressWarnings("unchecked")
+            MyCompactList<E> v = (MyCompactList<E>) super.clone();
+            if (elementData != null){
+                v.elementData = Arrays.copyOf(elementData, Math.max(size, FIRST_ARRAY_CAPACITY));
+            }
+            v.modCount = 0;
+            return v;
+        }catch (CloneNotSupportedException e){
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * 将实例的状态保存到流，只写出元素
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        for (int i = 0; i < size; i++){
+            s.writeObject(get(i));
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 从流中读取实例，不超过4个元素时仍存放在字段中
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        int n = size;
+        if (n < 0){
+            throw new java.io.InvalidObjectException("Illegal size: " + n);
+        }
+        //逐个添加，数组随元素的读入增长，而不是按流中的个数预先分配
+        size = 0;
+        for (int i = 0; i < n; i++){
+            add((E) s.readObject());
+        }
+    }
+}
@@ -0,0 +1,1019 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 无锁的并发双端队列
+ * 沿用MyLinkedList中prev/item/next的结点布局，结点的三个字段均为volatile，通过CAS修改；
+ * 算法与JDK中的ConcurrentLinkedDeque相同：
+ * 1.元素被删除时先将item CAS为null(逻辑删除)，再尝试把结点从链表中摘除(物理删除)；
+ * 2.head/tail允许滞后，最多落后两个结点再更新，减少CAS的次数；
+ * 3.被摘除的结点的prev/next指向自身或终止结点，遍历时遇到则从头/尾重新开始。
+ * 不允许null元素；迭代器是弱一致的，不会抛出并发修改异常；size()需要遍历整个队列
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 15:30
+ */
+public class MyConcurrentLinkedDeque<E> extends MyAbstractCollection<E> implements Deque<E>, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960227L;
+
+    /**
+     * 指向第一个结点附近的结点，可能滞后
+     * 从head出发沿prev可以在O(1)步内到达第一个结点
+     */
+    private transient volatile Node<E> head;
+
+    /**
+     * 指向最后一个结点附近的结点，可能滞后
+     * 从tail出发沿next可以在O(1)步内到达最后一个结点
+     */
+    private transient volatile Node<E> tail;
+
+    /**
+     * 从头部摘除的结点的prev指向该终止结点
+     */
+    private static final Node<Object> PREV_TERMINATOR, NEXT_TERMINATOR;
+
+    @SuppressWarnings("unchecked")
+    Node<E> prevTerminator(){
+        return (Node<E>) PREV_TERMINATOR;
+    }
+
+    @SuppressWarnings("unchecked")
+    Node<E> nextTerminator(){
+        return (Node<E>) NEXT_TERMINATOR;
+    }
+
+    /**
+     * 结点类，与MyLinkedList.Node的布局相同，字段均为volatile
+     * @param <E> 元素的类型
+     */
+    static final class Node<E>{
+        /**
+         * 上一结点
+         */
+        volatile Node<E> prev;
+        /**
+         * 存储元素，为null表示已被逻辑删除
+         */
+        volatile E item;
+        /**
+         * 下一结点
+         */
+        volatile Node<E> next;
+
+        /**
+         * 用于创建终止结点
+         */
+        Node(){
+        }
+
+        /**
+         * 结点的构造器，item的写入由之后链入结点的CAS发布
+         * @param item 存储的元素
+         */
+        Node(E item){
+            ITEM.lazySet(this, item);
+        }
+
+        boolean casItem(E cmp, E val){
+            return ITEM.compareAndSet(this, cmp, val);
+        }
+
+        void lazySetNext(Node<E> val){
+            NEXT.lazySet(this, val);
+        }
+
+        boolean casNext(Node<E> cmp, Node<E> val){
+            return NEXT.compareAndSet(this, cmp, val);
+        }
+
+        void lazySetPrev(Node<E> val){
+            PREV.lazySet(this, val);
+        }
+
+        boolean casPrev(Node<E> cmp, Node<E> val){
+            return PREV.compareAndSet(this, cmp, val);
+        }
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> PREV =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "prev");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Object> ITEM =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Object.class, "item");
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentLinkedDeque, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(MyConcurrentLinkedDeque.class, Node.class, "head");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<MyConcurrentLinkedDeque, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(MyConcurrentLinkedDeque.class, Node.class, "tail");
+
+    static {
+        PREV_TERMINATOR = new Node<>();
+        PREV_TERMINATOR.next = PREV_TERMINATOR;
+        NEXT_TERMINATOR = new Node<>();
+        NEXT_TERMINATOR.prev = NEXT_TERMINATOR;
+    }
+
+    private boolean casHead(Node<E> cmp, Node<E> val){
+        return HEAD.compareAndSet(this, cmp, val);
+    }
+
+    private boolean casTail(Node<E> cmp, Node<E> val){
+        return TAIL.compareAndSet(this, cmp, val);
+    }
+
+    /**
+     * 每隔多少个跳跃才尝试摘除结点
+     */
+    private static final int HOPS = 2;
+
+    /**
+     * 无参构造
+     */
+    public MyConcurrentLinkedDeque(){
+        head = tail = new Node<>(null);
+    }
+
+    /**
+     * 通过给定的集合构造一个队列
+     * @param c 集合
+     */
+    public MyConcurrentLinkedDeque(@NotNull Collection<? extends E> c){
+        //先在私有的结点链上复制元素
+        Node<E> h = null, t = null;
+        for (E e : c){
+            Objects.requireNonNull(e);
+            Node<E> newNode = new Node<>(e);
+            if (h == null){
+                h = t = newNode;
+            }else{
+                t.lazySetNext(newNode);
+                newNode.lazySetPrev(t);
+                t = newNode;
+            }
+        }
+        initHeadTail(h, t);
+    }
+
+    private void initHeadTail(Node<E> h, Node<E> t){
+        if (h == t){
+            if (h == null){
+                h = t = new Node<>(null);
+            }else{
+                //避免只有一个非空结点时head与tail相同
+                Node<E> newNode = new Node<>(null);
+                t.lazySetNext(newNode);
+                newNode.lazySetPrev(t);
+                t = newNode;
+            }
+        }
+        head = h;
+        tail = t;
+    }
+
+    /**
+     * 在第一个结点前插入元素
+     * @param e 插入的元素
+     */
+    private void linkFirst(E e){
+        Objects.requireNonNull(e);
+        final Node<E> newNode = new Node<>(e);
+
+        restartFromHead:
+        for (;;){
+            for (Node<E> h = head, p = h, q;;){
+                if ((q = p.prev) != null && (q = (p = q).prev) != null){
+                    //每跳两步检查一次head是否更新
+                    p = (h != (h = head)) ? h : q;
+                }else if (p.next == p){
+                    //PREV_TERMINATOR，p已被摘除
+                    continue restartFromHead;
+                }else{
+                    //p是第一个结点
+                    newNode.lazySetNext(p);
+                    if (p.casPrev(null, newNode)){
+                        //CAS成功即为元素入队的线性化点
+                        if (p != h){
+                            casHead(h, newNode);
+                        }
+                        return;
+                    }
+                    //CAS失败，重新读取prev
+                }
+            }
+        }
+    }
+
+    /**
+     * 在最后一个结点后插入元素
+     * @param e 插入的元素
+     */
+    private void linkLast(E e){
+        Objects.requireNonNull(e);
+        final Node<E> newNode = new Node<>(e);
+
+        restartFromTail:
+        for (;;){
+            for (Node<E> t = tail, p = t, q;;){
+                if ((q = p.next) != null && (q = (p = q).next) != null){
+                    //每跳两步检查一次tail是否更新
+                    p = (t != (t = tail)) ? t : q;
+                }else if (p.prev == p){
+                    //NEXT_TERMINATOR，p已被摘除
+                    continue restartFromTail;
+                }else{
+                    //p是最后一个结点
+                    newNode.lazySetPrev(p);
+                    if (p.casNext(null, newNode)){
+                        if (p != t){
+                            casTail(t, newNode);
+                        }
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 摘除item已为null的结点x
+     * @param x 已被逻辑删除的结点
+     */
+    void unlink(Node<E> x){
+        final Node<E> prev = x.prev;
+        final Node<E> next = x.next;
+        if (prev == null){
+            unlinkFirst(x, next);
+        }else if (next == null){
+            unlinkLast(x, prev);
+        }else{
+            //摘除中间结点
+            Node<E> activePred, activeSucc;
+            boolean isFirst, isLast;
+            int hops = 1;
+
+            //找到仍有效的前驱结点
+            for (Node<E> p = prev; ; ++hops){
+                if (p.item != null){
+                    activePred = p;
+                    isFirst = false;
+                    break;
+                }
+                Node<E> q = p.prev;
+                if (q == null){
+                    if (p.next == p){
+                        return;
+                    }
+                    activePred = p;
+                    isFirst = true;
+                    break;
+                }else if (p == q){
+                    return;
+                }else{
+                    p = q;
+                }
+            }
+
+            //找到仍有效的后继结点
+            for (Node<E> p = next; ; ++hops){
+                if (p.item != null){
+                    activeSucc = p;
+                    isLast = false;
+                    break;
+                }
+                Node<E> q = p.next;
+                if (q == null){
+                    if (p.prev == p){
+                        return;
+                    }
+                    activeSucc = p;
+                    isLast = true;
+                    break;
+                }else if (p == q){
+                    return;
+                }else{
+                    p = q;
+                }
+            }
+
+            //中间的已删除结点总是被挤出，靠近两端的结点积累到HOPS个再处理
+            if (hops < HOPS && (isFirst | isLast)){
+                return;
+            }
+
+            //挤出activePred与activeSucc之间已删除的结点，包括x
+            skipDeletedSuccessors(activePred);
+            skipDeletedPredecessors(activeSucc);
+
+            //条件仍然成立时，让x无法从head/tail到达，再断开x便于GC
+            if ((isFirst | isLast) &&
+                    (activePred.next == activeSucc) &&
+                    (activeSucc.prev == activePred) &&
+                    (isFirst ? activePred.prev == null : activePred.item != null) &&
+                    (isLast ? activeSucc.next == null : activeSucc.item != null)){
+
+                updateHead();
+                updateTail();
+
+                x.lazySetPrev(isFirst ? prevTerminator() : x);
+                x.lazySetNext(isLast ? nextTerminator() : x);
+            }
+        }
+    }
+
+    /**
+     * 摘除第一个结点之后连续的已删除结点
+     * @param first 第一个结点
+     * @param next first的下一个结点
+     */
+    private void unlinkFirst(Node<E> first, Node<E> next){
+        for (Node<E> o = null, p = next, q;;){
+            if (p.item != null || (q = p.next) == null){
+                if (o != null && p.prev != p && first.casNext(next, p)){
+                    skipDeletedPredecessors(p);
+                    if (first.prev == null &&
+                            (p.next == null || p.item != null) &&
+                            p.prev == first){
+
+                        updateHead();
+                        updateTail();
+
+                        o.lazySetNext(o);
+                        o.lazySetPrev(prevTerminator());
+                    }
+                }
+                return;
+            }else if (p == q){
+                return;
+            }else{
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * 摘除最后一个结点之前连续的已删除结点
+     * @param last 最后一个结点
+     * @param prev last的上一个结点
+     */
+    private void unlinkLast(Node<E> last, Node<E> prev){
+        for (Node<E> o = null, p = prev, q;;){
+            if (p.item != null || (q = p.prev) == null){
+                if (o != null && p.next != p && last.casPrev(prev, p)){
+                    skipDeletedSuccessors(p);
+                    if (last.next == null &&
+                            (p.prev == null || p.item != null) &&
+                            p.next == last){
+
+                        updateHead();
+                        updateTail();
+
+                        o.lazySetPrev(o);
+                        o.lazySetNext(nextTerminator());
+                    }
+                }
+                return;
+            }else if (p == q){
+                return;
+            }else{
+                o = p;
+                p = q;
+            }
+        }
+    }
+
+    /**
+     * 保证head指向有效结点，或者不断尝试CAS为第一个结点
+     */
+    private void updateHead(){
+        Node<E> h, p, q;
+        restartFromHead:
+        while ((h = head).item == null && (p = h.prev) != null){
+            for (;;){
+                if ((q = p.prev) == null || (q = (p = q).prev) == null){
+                    //p可能是PREV_TERMINATOR，此时CAS一定失败
+                    if (casHead(h, p)){
+                        return;
+                    }else{
+                        continue restartFromHead;
+                    }
+                }else if (h != head){
+                    continue restartFromHead;
+                }else{
+                    p = q;
+                }
+            }
+        }
+    }
+
+    /**
+     * 保证tail指向有效结点，或者不断尝试CAS为最后一个结点
+     */
+    private void updateTail(){
+        Node<E> t, p, q;
+        restartFromTail:
+        while ((t = tail).item == null && (p = t.next) != null){
+            for (;;){
+                if ((q = p.next) == null || (q = (p = q).next) == null){
+                    if (casTail(t, p)){
+                        return;
+                    }else{
+                        continue restartFromTail;
+                    }
+                }else if (t != tail){
+                    continue restartFromTail;
+                }else{
+                    p = q;
+                }
+            }
+        }
+    }
+
+    private void skipDeletedPredecessors(Node<E> x){
+        whileActive:
+        do {
+            Node<E> prev = x.prev;
+            Node<E> p = prev;
+            findActive:
+            for (;;){
+                if (p.item != null){
+                    break findActive;
+                }
+                Node<E> q = p.prev;
+                if (q == null){
+                    if (p.next == p){
+                        continue whileActive;
+                    }
+                    break findActive;
+                }else if (p == q){
+                    continue whileActive;
+                }else{
+                    p = q;
+                }
+            }
+
+            //找到有效的CAS目标
+            if (prev == p || x.casPrev(prev, p)){
+                return;
+            }
+        }while (x.item != null || x.next == null);
+    }
+
+    private void skipDeletedSuccessors(Node<E> x){
+        whileActive:
+        do {
+            Node<E> next = x.next;
+            Node<E> p = next;
+            findActive:
+            for (;;){
+                if (p.item != null){
+                    break findActive;
+                }
+                Node<E> q = p.next;
+                if (q == null){
+                    if (p.prev == p){
+                        continue whileActive;
+                    }
+                    break findActive;
+                }else if (p == q){
+                    continue whileActive;
+                }else{
+                    p = q;
+                }
+            }
+
+            if (next == p || x.casNext(next, p)){
+                return;
+            }
+        }while (x.item != null || x.prev == null);
+    }
+
+    /**
+     * 返回p的后继结点，若p已被摘除则从第一个结点重新开始
+     * @param p 结点
+     * @return 后继结点
+     */
+    final Node<E> succ(Node<E> p){
+        Node<E> q = p.next;
+        return (p == q) ? first() : q;
+    }
+
+    /**
+     * 返回p的前驱结点，若p已被摘除则从最后一个结点重新开始
+     * @param p 结点
+     * @return 前驱结点
+     */
+    final Node<E> pred(Node<E> p){
+        Node<E> q = p.prev;
+        return (p == q) ? last() : q;
+    }
+
+    /**
+     * 找到第一个结点(prev为null)，顺便更新head
+     * @return 第一个结点，可能已被逻辑删除
+     */
+    Node<E> first(){
+        restartFromHead:
+        for (;;){
+            for (Node<E> h = head, p = h, q;;){
+                if ((q = p.prev) != null && (q = (p = q).prev) != null){
+                    p = (h != (h = head)) ? h : q;
+                }else if (p == h || casHead(h, p)){
+                    return p;
+                }else{
+                    continue restartFromHead;
+                }
+            }
+        }
+    }
+
+    /**
+     * 找到最后一个结点(next为null)，顺便更新tail
+     * @return 最后一个结点，可能已被逻辑删除
+     */
+    Node<E> last(){
+        restartFromTail:
+        for (;;){
+            for (Node<E> t = tail, p = t, q;;){
+                if ((q = p.next) != null && (q = (p = q).next) != null){
+                    p = (t != (t = tail)) ? t : q;
+                }else if (p == t || casTail(t, p)){
+                    return p;
+                }else{
+                    continue restartFromTail;
+                }
+            }
+        }
+    }
+
+    private static <E> E screenNullResult(E v){
+        if (v == null){
+            throw new NoSuchElementException();
+        }
+        return v;
+    }
+
+    //双端队列操作
+
+    @Override
+    public void addFirst(E e){
+        linkFirst(e);
+    }
+
+    @Override
+    public void addLast(E e){
+        linkLast(e);
+    }
+
+    @Override
+    public boolean offerFirst(E e){
+        linkFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e){
+        linkLast(e);
+        return true;
+    }
+
+    @Override
+    public E peekFirst(){
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null){
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E peekLast(){
+        for (Node<E> p = last(); p != null; p = pred(p)){
+            E item = p.item;
+            if (item != null){
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E getFirst(){
+        return screenNullResult(peekFirst());
+    }
+
+    @Override
+    public E getLast(){
+        return screenNullResult(peekLast());
+    }
+
+    /**
+     * 检索并删除第一个元素，通过CAS将item置为null完成删除
+     * @return 第一个元素，队列为空则返回null
+     */
+    @Override
+    public E pollFirst(){
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null && p.casItem(item, null)){
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 检索并删除最后一个元素，通过CAS将item置为null完成删除
+     * @return 最后一个元素，队列为空则返回null
+     */
+    @Override
+    public E pollLast(){
+        for (Node<E> p = last(); p != null; p = pred(p)){
+            E item = p.item;
+            if (item != null && p.casItem(item, null)){
+                unlink(p);
+                return item;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public E removeFirst(){
+        return screenNullResult(pollFirst());
+    }
+
+    @Override
+    public E removeLast(){
+        return screenNullResult(pollLast());
+    }
+
+    //队列与栈操作
+
+    @Override
+    public boolean offer(E e){
+        return offerLast(e);
+    }
+
+    @Override
+    public boolean add(E e){
+        return offerLast(e);
+    }
+
+    @Override
+    public E poll(){
+        return pollFirst();
+    }
+
+    @Override
+    public E peek(){
+        return peekFirst();
+    }
+
+    @Override
+    public E remove(){
+        return removeFirst();
+    }
+
+    @Override
+    public E pop(){
+        return removeFirst();
+    }
+
+    @Override
+    public E element(){
+        return getFirst();
+    }
+
+    @Override
+    public void push(E e){
+        addFirst(e);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o){
+        Objects.requireNonNull(o);
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null && o.equals(item) && p.casItem(item, null)){
+                unlink(p);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o){
+        Objects.requireNonNull(o);
+        for (Node<E> p = last(); p != null; p = pred(p)){
+            E item = p.item;
+            if (item != null && o.equals(item) && p.casItem(item, null)){
+                unlink(p);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean remove(Object o){
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean contains(Object o){
+        if (o == null){
+            return false;
+        }
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null && o.equals(item)){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return peekFirst() == null;
+    }
+
+    /**
+     * 返回元素的个数，需要遍历整个队列，并发修改时结果可能不准确
+     * @return 元素的个数
+     */
+    @Override
+    public int size(){
+        int count = 0;
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            if (p.item != null){
+                if (++count == Integer.MAX_VALUE){
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 在尾部添加指定集合中的所有元素
+     * 先把元素串成私有的结点链，再通过一次CAS整体链入
+     * @param c 指定的集合
+     * @return true则表示添加成功
+     */
+    @Override
+    public boolean addAll(Collection<? extends E> c){
+        if (c == this){
+            throw new IllegalArgumentException();
+        }
+
+        Node<E> beginningOfTheEnd = null, last = null;
+        for (E e : c){
+            Objects.requireNonNull(e);
+            Node<E> newNode = new Node<>(e);
+            if (beginningOfTheEnd == null){
+                beginningOfTheEnd = last = newNode;
+            }else{
+                last.lazySetNext(newNode);
+                newNode.lazySetPrev(last);
+                last = newNode;
+            }
+        }
+        if (beginningOfTheEnd == null){
+            return false;
+        }
+
+        restartFromTail:
+        for (;;){
+            for (Node<E> t = tail, p = t, q;;){
+                if ((q = p.next) != null && (q = (p = q).next) != null){
+                    p = (t != (t = tail)) ? t : q;
+                }else if (p.prev == p){
+                    continue restartFromTail;
+                }else{
+                    beginningOfTheEnd.lazySetPrev(p);
+                    if (p.casNext(null, beginningOfTheEnd)){
+                        //添加了多个元素，尽量把tail更新到链的末尾
+                        if (!casTail(t, last)){
+                            t = tail;
+                            if (last.next == null){
+                                casTail(t, last);
+                            }
+                        }
+                        return true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 清空队列
+     */
+    @Override
+    public void clear(){
+        while (pollFirst() != null){
+            ;
+        }
+    }
+
+    @Override
+    public Object[] toArray(){
+        return toArrayList().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T @NotNull [] a){
+        return toArrayList().toArray(a);
+    }
+
+    private MyArrayList<E> toArrayList(){
+        MyArrayList<E> list = new MyArrayList<>();
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null){
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    //迭代器
+
+    @NotNull
+    @Override
+    public Iterator<E> iterator(){
+        return new Itr();
+    }
+
+    @NotNull
+    @Override
+    public Iterator<E> descendingIterator(){
+        return new DescendingItr();
+    }
+
+    /**
+     * 弱一致的迭代器
+     * 预先读取下一个元素，保证hasNext返回true时next一定有元素可返回
+     */
+    private abstract class AbstractItr implements Iterator<E>{
+        /**
+         * 下一次next返回的结点
+         */
+        private Node<E> nextNode;
+        /**
+         * 下一次next返回的元素，在hasNext之前读取，避免元素在两次调用之间被删除
+         */
+        private E nextItem;
+        /**
+         * 上一次next返回的结点，用于remove
+         */
+        private Node<E> lastRet;
+
+        abstract Node<E> startNode();
+
+        abstract Node<E> nextNode(Node<E> p);
+
+        AbstractItr(){
+            advance();
+        }
+
+        private void advance(){
+            lastRet = nextNode;
+
+            Node<E> p = (nextNode == null) ? startNode() : nextNode(nextNode);
+            for (;; p = nextNode(p)){
+                if (p == null){
+                    nextNode = null;
+                    nextItem = null;
+                    break;
+                }
+                E item = p.item;
+                if (item != null){
+                    nextNode = p;
+                    nextItem = item;
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext(){
+            return nextItem != null;
+        }
+
+        @Override
+        public E next(){
+            E item = nextItem;
+            if (item == null){
+                throw new NoSuchElementException();
+            }
+            advance();
+            return item;
+        }
+
+        @Override
+        public void remove(){
+            Node<E> l = lastRet;
+            if (l == null){
+                throw new IllegalStateException();
+            }
+            l.item = null;
+            unlink(l);
+            lastRet = null;
+        }
+    }
+
+    /**
+     * 从头到尾的迭代器
+     */
+    private class Itr extends AbstractItr{
+        @Override
+        Node<E> startNode(){
+            return first();
+        }
+
+        @Override
+        Node<E> nextNode(Node<E> p){
+            return succ(p);
+        }
+    }
+
+    /**
+     * 从尾到头的迭代器
+     */
+    private class DescendingItr extends AbstractItr{
+        @Override
+        Node<E> startNode(){
+            return last();
+        }
+
+        @Override
+        Node<E> nextNode(Node<E> p){
+            return pred(p);
+        }
+    }
+
+    /**
+     * 将队列中的元素依次写入流，以null结尾
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        s.defaultWriteObject();
+
+        for (Node<E> p = first(); p != null; p = succ(p)){
+            E item = p.item;
+            if (item != null){
+                s.writeObject(item);
+            }
+        }
+
+        s.writeObject(null);
+    }
+
+    /**
+     * 从流中读取元素，重新构造结点链
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        Node<E> h = null, t = null;
+        Object item;
+        while ((item = s.readObject()) != null){
+            Node<E> newNode = new Node<>((E) item);
+            if (h == null){
+                h = t = newNode;
+            }else{
+                t.lazySetNext(newNode);
+                newNode.lazySetPrev(t);
+                t = newNode;
+            }
+        }
+        initHeadTail(h, t);
+    }
+}
@@ -0,0 +1,731 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 基于MyLinkedList的有界阻塞双端队列，用于生产者/消费者之间传递数据
+ * 所有操作由一把锁保护，取元素的线程在notEmpty上等待，放元素的线程在notFull上等待
+ * drainTo在一次加锁内转移整批元素，并按腾出的空位数唤醒生产者，减少逐个元素的锁交接
+ * 不允许null元素；迭代器基于创建时的快照，不会抛出并发修改异常
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 16:05
+ */
+public class MyLinkedBlockingDeque<E> extends MyAbstractCollection<E> implements BlockingDeque<E>, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960228L;
+
+    /**
+     * 存储元素的链表，只能在持有锁时访问
+     */
+    private final MyLinkedList<E> items;
+
+    /**
+     * 容量上限
+     */
+    private final int capacity;
+
+    /**
+     * 保护所有操作的锁
+     * 反序列化时不会执行字段初始化，因此不声明为final，在readObject中重新创建
+     */
+    private transient ReentrantLock lock;
+
+    /**
+     * 等待取元素的条件
+     */
+    private transient Condition notEmpty;
+
+    /**
+     * 等待放元素的条件
+     */
+    private transient Condition notFull;
+
+    /**
+     * 无参构造，容量为Integer.MAX_VALUE
+     */
+    public MyLinkedBlockingDeque(){
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 指定容量的构造器
+     * @param capacity 容量
+     */
+    public MyLinkedBlockingDeque(int capacity){
+        if (capacity <= 0){
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new MyLinkedList<>();
+        initLock();
+    }
+
+    /**
+     * 通过指定的集合构造队列，容量为Integer.MAX_VALUE
+     * @param c 集合
+     */
+    public MyLinkedBlockingDeque(@NotNull Collection<? extends E> c){
+        this(Integer.MAX_VALUE);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            for (E e : c){
+                Objects.requireNonNull(e);
+                if (items.size() >= capacity){
+                    throw new IllegalStateException("Deque full");
+                }
+                items.linkLast(e);
+            }
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    private void initLock(){
+        lock = new ReentrantLock();
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+    }
+
+    //以下方法必须在持有锁时调用
+
+    private boolean linkFirst(E e){
+        if (items.size() >= capacity){
+            return false;
+        }
+        items.addFirst(e);
+        notEmpty.signal();
+        return true;
+    }
+
+    private boolean linkLast(E e){
+        if (items.size() >= capacity){
+            return false;
+        }
+        items.linkLast(e);
+        notEmpty.signal();
+        return true;
+    }
+
+    private E unlinkFirst(){
+        E e = items.pollFirst();
+        if (e != null){
+            notFull.signal();
+        }
+        return e;
+    }
+
+    private E unlinkLast(){
+        E e = items.pollLast();
+        if (e != null){
+            notFull.signal();
+        }
+        return e;
+    }
+
+    //BlockingDeque方法
+
+    @Override
+    public void addFirst(E e){
+        if (!offerFirst(e)){
+            throw new IllegalStateException("Deque full");
+        }
+    }
+
+    @Override
+    public void addLast(E e){
+        if (!offerLast(e)){
+            throw new IllegalStateException("Deque full");
+        }
+    }
+
+    @Override
+    public boolean offerFirst(E e){
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return linkFirst(e);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offerLast(E e){
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return linkLast(e);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putFirst(E e) throws InterruptedException{
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkFirst(e)){
+                notFull.await();
+            }
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void putLast(E e) throws InterruptedException{
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkLast(e)){
+                notFull.await();
+            }
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offerFirst(E e, long timeout, TimeUnit unit) throws InterruptedException{
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkFirst(e)){
+                if (nanos <= 0){
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offerLast(E e, long timeout, TimeUnit unit) throws InterruptedException{
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkLast(e)){
+                if (nanos <= 0){
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E removeFirst(){
+        E x = pollFirst();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E removeLast(){
+        E x = pollLast();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E pollFirst(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return unlinkFirst();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E pollLast(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return unlinkLast();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E takeFirst() throws InterruptedException{
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkFirst()) == null){
+                notEmpty.await();
+            }
+            return x;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E takeLast() throws InterruptedException{
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkLast()) == null){
+                notEmpty.await();
+            }
+            return x;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E pollFirst(long timeout, TimeUnit unit) throws InterruptedException{
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkFirst()) == null){
+                if (nanos <= 0){
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return x;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E pollLast(long timeout, TimeUnit unit) throws InterruptedException{
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkLast()) == null){
+                if (nanos <= 0){
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return x;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E getFirst(){
+        E x = peekFirst();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E getLast(){
+        E x = peekLast();
+        if (x == null){
+            throw new NoSuchElementException();
+        }
+        return x;
+    }
+
+    @Override
+    public E peekFirst(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.peekFirst();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peekLast(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.peekLast();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o){
+        if (o == null){
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.removeFirstOccurrence(o)){
+                notFull.signal();
+                return true;
+            }
+            return false;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o){
+        if (o == null){
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.removeLastOccurrence(o)){
+                notFull.signal();
+                return true;
+            }
+            return false;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    //BlockingQueue方法
+
+    @Override
+    public boolean add(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e){
+        return offerLast(e);
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException{
+        putLast(e);
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException{
+        return offerLast(e, timeout, unit);
+    }
+
+    @Override
+    public E remove(){
+        return removeFirst();
+    }
+
+    @Override
+    public E poll(){
+        return pollFirst();
+    }
+
+    @Override
+    public E take() throws InterruptedException{
+        return takeFirst();
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException{
+        return pollFirst(timeout, unit);
+    }
+
+    @Override
+    public E element(){
+        return getFirst();
+    }
+
+    @Override
+    public E peek(){
+        return peekFirst();
+    }
+
+    /**
+     * 剩余的容量，并发时只是一个估计值
+     * @return 还能放入的元素个数
+     */
+    @Override
+    public int remainingCapacity(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return capacity - items.size();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(@NotNull Collection<? super E> c){
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 在一次加锁内从头部转移至多maxElements个元素到指定集合
+     * 转移结束后按腾出的空位数唤醒等待的生产者
+     * 若c.add抛出异常，已经加入c的元素会从队列中移除，未加入的保留在队列中
+     * @param c 目标集合
+     * @param maxElements 最多转移的元素个数
+     * @return 实际转移的元素个数
+     */
+    @Override
+    public int drainTo(@NotNull Collection<? super E> c, int maxElements){
+        Objects.requireNonNull(c);
+        if (c == this){
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0){
+            return 0;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = Math.min(maxElements, items.size());
+            int i = 0;
+            try {
+                for (; i < n; i++){
+                    c.add(items.peekFirst());
+                    items.pollFirst();
+                }
+            }finally {
+                if (i == 1){
+                    notFull.signal();
+                }else if (i > 1){
+                    notFull.signalAll();
+                }
+            }
+            return n;
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    //栈方法
+
+    @Override
+    public void push(E e){
+        addFirst(e);
+    }
+
+    @Override
+    public E pop(){
+        return removeFirst();
+    }
+
+    //集合方法
+
+    @Override
+    public boolean remove(Object o){
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public int size(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.size();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Object o){
+        if (o == null){
+            return false;
+        }
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.contains(o);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 清空队列，并唤醒所有等待的生产者
+     */
+    @Override
+    public void clear(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            items.clear();
+            notFull.signalAll();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Object[] toArray(){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public <T> T[] toArray(T @NotNull [] a){
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray(a);
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString(){
+        return Arrays.toString(toArray());
+    }
+
+    //迭代器
+
+    @NotNull
+    @Override
+    public Iterator<E> iterator(){
+        return new Itr(toArray(), false);
+    }
+
+    @NotNull
+    @Override
+    public Iterator<E> descendingIterator(){
+        return new Itr(toArray(), true);
+    }
+
+    /**
+     * 基于快照的迭代器
+     * remove删除队列中与上一次返回的元素为同一对象的第一个结点
+     */
+    private class Itr implements Iterator<E>{
+        /**
+         * 创建时的元素快照
+         */
+        private final Object[] snapshot;
+        /**
+         * 是否从尾到头遍历
+         */
+        private final boolean descending;
+        /**
+         * 已经返回的元素个数
+         */
+        private int cursor;
+        /**
+         * 上一次返回的元素，为null表示不能调用remove
+         */
+        private E lastRet;
+
+        Itr(Object[] snapshot, boolean descending){
+            this.snapshot = snapshot;
+            this.descending = descending;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return cursor < snapshot.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            if (cursor >= snapshot.length){
+                throw new NoSuchElementException();
+            }
+            int i = descending ? snapshot.length - 1 - cursor : cursor;
+            cursor++;
+            return lastRet = (E) snapshot[i];
+        }
+
+        @Override
+        public void remove(){
+            E x = lastRet;
+            if (x == null){
+                throw new IllegalStateException();
+            }
+            lastRet = null;
+            final ReentrantLock lock = MyLinkedBlockingDeque.this.lock;
+            lock.lock();
+            try {
+                Iterator<E> it = descending ? items.descendingIterator() : items.iterator();
+                while (it.hasNext()){
+                    if (it.next() == x){
+                        it.remove();
+                        notFull.signal();
+                        break;
+                    }
+                }
+            }finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 在持有锁时写出容量与元素
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            s.defaultWriteObject();
+        }finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 读取容量与元素，并重新创建锁和条件
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+        initLock();
+    }
+}
@@ -3,7 +3,11 @@ package cn.xiaohupao.list.arraylist;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.Serializable;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.function.Consumer;
 
 /**
@@ -26,6 +30,37 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
      */
     transient Node<E> last;
 
+    /**
+     * 最近一次按索引访问的结点，为null时表示没有缓存
+     * node(int)可以从头结点、尾结点或者该结点中离目标最近的一个开始遍历，
+     * 使按顺序或者在相近位置上的get/set/add/remove均摊为O(1)；
+     * 在头部插入删除时调整索引，其余不知道位置的结构修改使其失效
+     * 与其他字段一样没有同步，即使只调用get也不能被多个线程同时访问
+     */
+    private transient Node<E> fingerNode;
+
+    /**
+     * fingerNode的索引
+     */
+    private transient int fingerIndex;
+
+    /**
+     * 回收的空闲结点，通过next串成单链表
+     * 只有已经从链表中摘下、item/prev/next都已清空的结点才会进入；
+     * 迭代器在访问结点之前都会检查modCount，而回收必然伴随着modCount的变化，所以迭代器不会看到回收的结点
+     */
+    private transient Node<E> pool;
+
+    /**
+     * 空闲结点的个数
+     */
+    private transient int poolSize;
+
+    /**
+     * 空闲结点的最大个数，为0时不回收结点，不参与序列化
+     */
+    private transient int poolCapacity;
+
     /**
      * 无参构造
      */
@@ -41,13 +76,72 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         addAll(c);
     }
 
+    /**
+     * 设置回收结点的最大个数
+     * 频繁在两端入队出队的队列中，删除的结点被保留下来供之后的插入使用，稳态时不再分配结点；
+     * 代价是最多poolCapacity个空结点一直占用内存。为0时关闭回收并释放已回收的结点
+     * @param capacity 最大个数
+     */
+    public void setNodePoolCapacity(int capacity){
+        if (capacity < 0){
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        }
+        poolCapacity = capacity;
+        while (poolSize > capacity){
+            Node<E> x = pool;
+            pool = x.next;
+            x.next = null;
+            poolSize--;
+        }
+    }
+
+    /**
+     * 回收结点的最大个数
+     * @return 最大个数，0表示不回收
+     */
+    public int getNodePoolCapacity(){
+        return poolCapacity;
+    }
+
+    /**
+     * 创建结点，有空闲结点时优先复用
+     * @param prev 前一个结点
+     * @param element 存储的元素
+     * @param next 下一个结点
+     * @return 结点
+     */
+    private Node<E> newNode(Node<E> prev, E element, Node<E> next){
+        Node<E> x = pool;
+        if (x == null){
+            return new Node<>(prev, element, next);
+        }
+        pool = x.next;
+        poolSize--;
+        x.prev = prev;
+        x.item = element;
+        x.next = next;
+        return x;
+    }
+
+    /**
+     * 回收一个已经摘下并清空的结点，空闲结点已满时交给GC
+     * @param x 结点
+     */
+    private void recycle(Node<E> x){
+        if (poolSize < poolCapacity){
+            x.next = pool;
+            pool = x;
+            poolSize++;
+        }
+    }
+
     /**
      * 使用对应参数作为第一个节点，头插法
      * @param e 插入的元素
      */
     private void linkFirst(E e){
         final Node<E> f = first;
-        final Node<E> newNode = new Node<>(null, e, f);
+        final Node<E> newNode = newNode(null, e, f);
         first = newNode;
         //若原链表为空，则尾节点为插入结点；否则，头插该元素
         if (f == null){
@@ -55,6 +149,7 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }else{
             f.prev = newNode;
         }
+        shiftFinger(0, 1);
         size++;
         modCount++;
     }
@@ -65,7 +160,7 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
      */
     void linkLast(E e){
         final Node<E> l = last;
-        final Node<E> newNode = new Node<>(l, e, null);
+        final Node<E> newNode = newNode(l, e, null);
         last = newNode;
         //若原链表为空，则头节点为插入结点；否则，尾插该元素
         if (l == null){
@@ -85,7 +180,7 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
     void linkBefore(E e, Node<E> succ){
         //获取指定结点的前一个结点
         final Node<E> pred = succ.prev;
-        final  Node<E> newNode = new Node<>(pred, e, succ);
+        final  Node<E> newNode = newNode(pred, e, succ);
         succ.prev = newNode;
         //若指定的结点为首结点，则头指针为新的结点
         if (pred == null){
@@ -93,6 +188,8 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }else{
             pred.next = newNode;
         }
+        //不知道插入的位置，由知道索引的调用者重新设置finger
+        fingerNode = null;
         size++;
         modCount++;
     }
@@ -114,8 +211,14 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }else{
             next.prev = null;
         }
+        if (fingerNode == f){
+            fingerNode = null;
+        }else{
+            fingerIndex--;
+        }
         size--;
         modCount++;
+        recycle(f);
         return element;
     }
 
@@ -136,8 +239,12 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }else{
             prev.next = null;
         }
+        if (fingerNode == l){
+            fingerNode = null;
+        }
         size--;
         modCount++;
+        recycle(l);
         return element;
     }
 
@@ -167,8 +274,10 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }
 
         x.item = null;
+        fingerNode = null;
         size--;
         modCount++;
+        recycle(x);
         return element;
     }
 
@@ -317,8 +426,18 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
     public boolean addAll(int index, Collection<? extends E> c){
         checkPositionIndex(index);
 
-        Object[] a = c.toArray();
-        int numNew = a.length;
+        //参数是另一个MyLinkedList时直接沿着它的结点复制，不经过中间数组；
+        //参数是自身时仍然先复制到数组，避免一边插入一边遍历
+        MyLinkedList<? extends E> src = null;
+        Object[] a = null;
+        int numNew;
+        if (c instanceof MyLinkedList && c != this){
+            src = (MyLinkedList<? extends E>) c;
+            numNew = src.size;
+        }else{
+            a = c.toArray();
+            numNew = a.length;
+        }
         if (numNew == 0){
             return false;
         }
@@ -334,18 +453,15 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }
 
         //依次插入结点
-        for (Object o : a){
-            @SuppressWarnings("unchecked") E e = (E) o;
-            Node<E> newNode = new Node<>(pred, e, null);
-            //若是在首结点处插入，则将头结点指向第一个插入的结点
-            if (pred == null){
-                first = newNode;
-            }else{
-                //否则，将前一个结点的next指向新结点
-                pred.next = newNode;
+        if (src != null){
+            for (Node<? extends E> x = src.first; x != null; x = x.next){
+                pred = linkAfter(pred, x.item);
+            }
+        }else{
+            for (Object o : a){
+                @SuppressWarnings("unchecked") E e = (E) o;
+                pred = linkAfter(pred, e);
             }
-            //将pred指向新插入的结点
-            pred = newNode;
         }
 
         //若是在尾结点处插入则，尾指针指向最后一个插入的元素
@@ -357,12 +473,248 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
             //将后一个结点的prev指向最后一个插入的结点
             succ.prev = pred;
         }
+        //finger在插入位置及之后时后移numNew
+        shiftFinger(index, numNew);
 
         size += numNew;
         modCount++;
         return true;
     }
 
+    /**
+     * addAll中在pred之后接上一个新结点，新结点的next由调用者最后统一设置
+     * @param pred 前一个结点，为null时新结点成为首结点
+     * @param e 元素
+     * @return 新结点
+     */
+    private Node<E> linkAfter(Node<E> pred, E e){
+        Node<E> newNode = newNode(pred, e, null);
+        //若是在首结点处插入，则将头结点指向第一个插入的结点
+        if (pred == null){
+            first = newNode;
+        }else{
+            //否则，将前一个结点的next指向新结点
+            pred.next = newNode;
+        }
+        return newNode;
+    }
+
+    /**
+     * 把other中的所有结点移到此链表的末尾，other变为空链表
+     * @param other 另一个链表
+     */
+    public void transferFrom(MyLinkedList<? extends E> other){
+        transferFrom(size, other);
+    }
+
+    /**
+     * 把other中的所有结点移到此链表的指定索引处，other变为空链表
+     * 直接把other的结点链接进来，不复制元素也不分配结点，除了查找index处的结点外为O(1)
+     * @param index 指定的索引
+     * @param other 另一个链表，不能是此链表本身
+     */
+    @SuppressWarnings("unchecked")
+    public void transferFrom(int index, MyLinkedList<? extends E> other){
+        checkPositionIndex(index);
+        if (other == this){
+            throw new IllegalArgumentException("Cannot transfer a list into itself");
+        }
+        final int numNew = other.size;
+        if (numNew == 0){
+            return;
+        }
+        final Node<E> head = (Node<E>) other.first;
+        final Node<E> tail = (Node<E>) other.last;
+
+        Node<E> pred, succ;
+        if (index == size){
+            succ = null;
+            pred = last;
+        }else{
+            succ = node(index);
+            pred = succ.prev;
+        }
+
+        head.prev = pred;
+        if (pred == null){
+            first = head;
+        }else{
+            pred.next = head;
+        }
+        tail.next = succ;
+        if (succ == null){
+            last = tail;
+        }else{
+            succ.prev = tail;
+        }
+        shiftFinger(index, numNew);
+        size += numNew;
+        modCount++;
+
+        other.first = null;
+        other.last = null;
+        other.fingerNode = null;
+        other.size = 0;
+        other.modCount++;
+    }
+
+    /**
+     * 按比较器对链表进行稳定排序，自底向上的归并排序
+     * 只改变结点之间的链接，不复制元素，除了32个有序段的头结点外不需要额外的空间；
+     * 结点逐个加入长度为2的幂的有序段中，像二进制计数器一样进位时归并，
+     * 参与归并的两段都是刚访问过的结点，比逐轮遍历整个链表的归并对缓存更友好；
+     * 归并只沿着next进行，全部结束后再统一修正prev
+     * 比较器抛出异常时，先把所有结点重新连成一个完整的链表(顺序可能已经改变)再抛出；
+     * 比较器修改了链表时抛出并发修改异常
+     * @param c 用于比较元素的比较器，为null时使用元素的自然顺序
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c){
+        final int expectedModCount = modCount;
+        final Comparator<? super E> cmp = (c != null) ? c : (Comparator<? super E>) NATURAL_ORDER;
+        if (size > 1){
+            fingerNode = null;
+            //runs[i]为null或者长度为2^i、以null结尾的有序段，下标越大的段中的元素越靠前
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            final Node<E>[] runs = (Node<E>[]) new Node[32];
+            Node<E> rest = first;
+            try {
+                while (rest != null){
+                    Node<E> carry = rest;
+                    rest = rest.next;
+                    carry.next = null;
+                    int i = 0;
+                    for (; runs[i] != null; i++){
+                        carry = merge(runs, i, carry, cmp, expectedModCount);
+                    }
+                    runs[i] = carry;
+                }
+                Node<E> result = null;
+                for (int i = 0; i < runs.length; i++){
+                    if (runs[i] != null){
+                        if (result == null){
+                            result = runs[i];
+                            runs[i] = null;
+                        }else{
+                            result = merge(runs, i, result, cmp, expectedModCount);
+                        }
+                    }
+                }
+                relink(result);
+            }catch (Throwable t){
+                //失败的merge已经把它的结点放回runs，剩下的是runs中的各段和还没有处理的结点
+                Node<E> head = rest;
+                for (Node<E> run : runs){
+                    head = concat(run, head);
+                }
+                relink(head);
+                modCount++;
+                throw t;
+            }
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    /**
+     * 把有序段runs[i]与紧随其后的有序段b稳定地归并，成功时清空runs[i]
+     * 比较器抛出异常时，把已归并的部分和两段的剩余部分连成一段放回runs[i]再抛出
+     * @param runs 有序段
+     * @param i 前一段的下标
+     * @param b 后一段
+     * @param cmp 比较器
+     * @param expectedModCount 期望的修改次数
+     * @return 归并后的有序段
+     */
+    private Node<E> merge(Node<E>[] runs, int i, Node<E> b, Comparator<? super E> cmp, int expectedModCount){
+        Node<E> a = runs[i], head = null, tail = null;
+        try {
+            while (a != null && b != null){
+                Node<E> e;
+                //相等时取前一段的元素，保证稳定
+                if (compare(cmp, a, b, expectedModCount) <= 0){
+                    e = a;
+                    a = a.next;
+                }else{
+                    e = b;
+                    b = b.next;
+                }
+                if (tail == null){
+                    head = e;
+                }else{
+                    tail.next = e;
+                }
+                tail = e;
+            }
+        }catch (Throwable t){
+            if (tail != null){
+                tail.next = null;
+            }
+            runs[i] = concat(head, concat(a, b));
+            throw t;
+        }
+        runs[i] = null;
+        tail.next = (a != null) ? a : b;
+        return head;
+    }
+
+    /**
+     * 把以null结尾的两段连接起来
+     * @param x 前一段，可以为null
+     * @param y 后一段，可以为null
+     * @return 连接后的头结点
+     */
+    private static <E> Node<E> concat(Node<E> x, Node<E> y){
+        if (x == null){
+            return y;
+        }
+        Node<E> t = x;
+        while (t.next != null){
+            t = t.next;
+        }
+        t.next = y;
+        return x;
+    }
+
+    /**
+     * 比较两个结点的元素，比较器修改了链表时立即抛出并发修改异常，避免在被破坏的链接上继续归并
+     * @param cmp 比较器
+     * @param p p段的结点
+     * @param q q段的结点
+     * @param expectedModCount 期望的修改次数
+     * @return 比较的结果
+     */
+    private int compare(Comparator<? super E> cmp, Node<E> p, Node<E> q, int expectedModCount){
+        int r = cmp.compare(p.item, q.item);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+        return r;
+    }
+
+    /**
+     * 元素的自然顺序
+     */
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> NATURAL_ORDER = (a, b) -> ((Comparable<Object>) a).compareTo(b);
+
+    /**
+     * 沿着next修正所有结点的prev，并重新设置头尾结点
+     * @param head 新的头结点
+     */
+    private void relink(Node<E> head){
+        Node<E> prev = null;
+        for (Node<E> x = head; x != null; x = x.next){
+            x.prev = prev;
+            prev = x;
+        }
+        first = head;
+        last = prev;
+    }
+
     /**
      * 清空链表
      */
@@ -373,10 +725,12 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
             x.item = null;
             x.next = null;
             x.prev = null;
+            recycle(x);
             x = next;
         }
 
         first = last = null;
+        fingerNode = null;
         size = 0;
         modCount++;
     }
@@ -423,7 +777,10 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
             linkLast(element);
         }else{
             //否则调用在指定结点前插元素的方法，用node(int index)获取指定索引的结点位置
-            linkBefore(element, node(index));
+            Node<E> succ = node(index);
+            linkBefore(element, succ);
+            fingerNode = succ.prev;
+            fingerIndex = index;
         }
     }
 
@@ -435,7 +792,15 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
     @Override
     public E remove(int index){
         checkElementIndex(index);
-        return unlink(node(index));
+        Node<E> x = node(index);
+        Node<E> next = x.next;
+        E element = unlink(x);
+        //被删除结点的后继移到了index处
+        if (next != null){
+            fingerNode = next;
+            fingerIndex = index;
+        }
+        return element;
     }
 
     /**
@@ -474,22 +839,46 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
 
     /**
      * 通过遍历获取指定索引位置上结点位置
+     * 从头结点、尾结点和finger中离index最近的一个开始遍历，并把finger移到找到的结点
      * @param index 指定的索引
      * @return 指定索引位置上的结点
      */
     Node<E> node(int index){
-        if (index < (size >> 1)){
-            Node<E> x = first;
+        Node<E> x;
+        final int fromLast = size - 1 - index;
+        if (fingerNode != null && Math.abs(index - fingerIndex) < Math.min(index, fromLast)){
+            //从finger开始更近
+            x = fingerNode;
+            for (int i = fingerIndex; i < index; i++){
+                x = x.next;
+            }
+            for (int i = fingerIndex; i > index; i--){
+                x = x.prev;
+            }
+        }else if (index < (size >> 1)){
+            x = first;
             for (int i = 0; i < index ; i++){
                 x = x.next;
             }
-            return x;
         }else{
-            Node<E> x = last;
+            x = last;
             for (int i = size - 1; i > index; i--){
                 x = x.prev;
             }
-            return x;
+        }
+        fingerNode = x;
+        fingerIndex = index;
+        return x;
+    }
+
+    /**
+     * 在index处插入了count个结点后，调整位于index及之后的finger的索引
+     * @param index 插入的位置
+     * @param count 插入结点的个数
+     */
+    private void shiftFinger(int index, int count){
+        if (fingerNode != null && index <= fingerIndex){
+            fingerIndex += count;
         }
     }
 
@@ -986,6 +1375,10 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         MyLinkedList<E> clone = superClone();
 
         clone.first = clone.last = null;
+        clone.fingerNode = null;
+        //空闲结点不能共享，副本保留相同的回收上限
+        clone.pool = null;
+        clone.poolSize = 0;
         clone.size = 0;
         clone.modCount = 0;
 
@@ -1072,6 +1465,27 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
         }
     }
 
+    /**
+     * 通过通道按批写出所有元素，比writeObject逐个写对象更紧凑、更快，格式见ListChannelSerializer
+     * @param ch 目标通道
+     * @param codec 元素的编解码器
+     * @throws java.io.IOException
+     */
+    public void writeTo(WritableByteChannel ch, ElementCodec<? super E> codec) throws java.io.IOException{
+        ListChannelSerializer.write(ch, codec, this);
+    }
+
+    /**
+     * 从通道读取writeTo写出的列表
+     * @param ch 源通道
+     * @param codec 元素的编解码器
+     * @return 读取的列表
+     * @throws java.io.IOException
+     */
+    public static <E> MyLinkedList<E> readFrom(ReadableByteChannel ch, ElementCodec<? extends E> codec) throws java.io.IOException{
+        return ListChannelSerializer.readLinkedList(ch, codec);
+    }
+
     /**
      * 用于返回一个并行遍历迭代器
      * @return 一个并行遍历迭代器
@@ -1086,13 +1500,13 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
      * @param <E> 元素类型
      */
     static final class LLSpliterator<E> implements Spliterator<E>{
-        static final int BATCH_UNIT = 1 << 10; //批处理数组大小增量
+        static final int BATCH_UNIT = 1 << 10; //批处理数组大小的下限
         static final int MAX_BATCH = 1 << 25; //最大批处理s数组的大小
         final MyLinkedList<E> list; //除非遍历，否则为null
         Node<E> current; //当前结点;初始化之前为null
         int est; //大小估计;初始化为-1
         int expectedModCount;//期望修改次数初始化为0
-        int batch; //分割的批次大小
+        int batch; //分割的批次大小，第一次分割时根据并行度计算
 
         /**
          * 构造器
@@ -1134,8 +1548,30 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
             return (long) getEst();
         }
 
+        /**
+         * 根据当前线程池的并行度计算批次大小
+         * 每个工作线程大约分到4个批次，便于工作窃取时的负载均衡；
+         * 批次本身是数组，可以继续被对半分割
+         * @param s 链表中剩余的元素个数
+         * @return 批次的大小
+         */
+        static int batchSize(int s){
+            int parallelism = ForkJoinTask.inForkJoinPool()
+                    ? ForkJoinTask.getPool().getParallelism()
+                    : ForkJoinPool.getCommonPoolParallelism();
+            int n = s / (Math.max(parallelism, 1) << 2);
+            if (n < BATCH_UNIT){
+                n = BATCH_UNIT;
+            }
+            if (n > MAX_BATCH){
+                n = MAX_BATCH;
+            }
+            return n;
+        }
+
         /**
          * 分割链表
+         * 将前batch个结点的元素复制到数组中，返回数组的并行遍历迭代器
          * @return 返回一个新的并行遍历迭代器
          */
         @Override
@@ -1143,30 +1579,80 @@ public class MyLinkedList<E> extends MyAbstractSequentialList<E> implements List
             Node<E> p;
             int s = getEst();
             if (s > 1 && (p = current) != null){
-                int n = batch + BATCH_UNIT;
+                checkForComodification();
+                int n = batch;
+                if (n == 0){
+                    n = batch = batchSize(s);
+                }
                 if (n > s){
                     n = s;
                 }
-                if (n > MAX_BATCH){
-                    n = MAX_BATCH;
-                }
                 Object[] a = new Object[n];
                 int j = 0;
                 do {
                     a[j++] = p.item;
                 }while ((p = p.next) != null && j < n);
                 current = p;
-                batch = j;
                 est = s - j;
                 return Spliterators.spliterator(a, 0, j, Spliterator.ORDERED);
             }
             return null;
         }
+
+        /**
+         * 处理当前结点的元素，并移动到下一个结点
+         * @param action 对元素执行的操作
+         * @return 若为true，表示处理了一个元素；若为false，则没有剩余元素
+         */
         @Override
         public boolean tryAdvance(Consumer<? super E> action) {
+            Node<E> p;
+            if (action == null){
+                throw new NullPointerException();
+            }
+            if (getEst() > 0 && (p = current) != null){
+                //先检查再访问结点，current可能已经被删除并回收
+                checkForComodification();
+                --est;
+                E e = p.item;
+                current = p.next;
+                action.accept(e);
+                checkForComodification();
+                return true;
+            }
             return false;
         }
 
+        /**
+         * 沿着结点遍历剩余的所有元素
+         * @param action 对元素执行的操作
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super E> action){
+            Node<E> p;
+            int n;
+            if (action == null){
+                throw new NullPointerException();
+            }
+            if ((n = getEst()) > 0 && (p = current) != null){
+                current = null;
+                est = 0;
+                do {
+                    //每一步都先检查，action删除的结点可能已经被回收复用
+                    checkForComodification();
+                    E e = p.item;
+                    p = p.next;
+                    action.accept(e);
+                }while (p != null && --n > 0);
+            }
+            checkForComodification();
+        }
+
+        final void checkForComodification(){
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
 
         @Override
         public int characteristics() {
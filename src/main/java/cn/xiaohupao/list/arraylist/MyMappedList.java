@@ -0,0 +1,583 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 存储在内存映射文件中的定长记录列表
+ * 文件格式：64字节的文件头(魔数、版本、记录宽度、元素个数)，之后是按索引顺序排列的定长记录
+ * 1.打开已有的文件只读取文件头，为O(1)；记录所在的区域在第一次访问时才映射，页面由操作系统按需载入；
+ * 2.文件划分为固定大小的区域，每个区域的记录数为2的幂，记录不会跨越区域；
+ *   区域先映射一小段，访问超出映射的记录时按倍增的长度重新映射，文件随映射变长，最多比实际数据长一倍；
+ * 3.close时把文件截断到实际的长度；映射不显式解除，旧的映射由GC回收，不会访问已经解除映射的内存；
+ * 4.每次结构性修改都会更新文件头中的元素个数，调用force()后数据与元素个数才保证落盘。
+ * 文件中的数值按小端序存储；记录必须是定长的；不是线程安全的
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 17:40
+ */
+public class MyMappedList<E> extends MyAbstractList<E> implements RandomAccess, Closeable {
+
+    /**
+     * 文件头的魔数"MLST"
+     */
+    private static final int MAGIC = 0x4D4C5354;
+
+    /**
+     * 文件格式的版本
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * 文件头占用的字节数
+     */
+    private static final int HEADER_BYTES = 64;
+
+    //文件头中各字段的偏移
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int WIDTH_OFFSET = 8;
+    private static final int SIZE_OFFSET = 16;
+
+    /**
+     * 每个映射区域最多占用的字节数
+     */
+    private static final int REGION_BYTES = 1 << 26;
+
+    /**
+     * 区域第一次映射的最小字节数
+     */
+    private static final int MIN_MAP_BYTES = 1 << 16;
+
+    /**
+     * 移动记录时使用的中转缓冲区大小
+     */
+    private static final int MOVE_BUFFER_BYTES = 1 << 13;
+
+    /**
+     * 元素的编解码器
+     */
+    private final FixedWidthCodec<E> codec;
+
+    /**
+     * 每条记录的字节数
+     */
+    private final int width;
+
+    /**
+     * 每个区域的记录数为2的regionShift次幂
+     */
+    private final int regionShift;
+
+    /**
+     * 记录索引在区域内的掩码
+     */
+    private final int regionMask;
+
+    /**
+     * 文件通道，为null表示已关闭
+     */
+    private FileChannel channel;
+
+    /**
+     * 文件头的映射
+     */
+    private MappedByteBuffer header;
+
+    /**
+     * 各区域当前的映射，只覆盖区域开头的一部分，元素为null表示尚未映射
+     */
+    private MappedByteBuffer[] regions;
+
+    /**
+     * 移动记录时使用的中转缓冲区，第一次使用时分配
+     */
+    private byte[] moveBuffer;
+
+    /**
+     * add(int, E)中先编码新元素的缓冲区，第一次使用时分配
+     */
+    private ByteBuffer recordBuffer;
+
+    /**
+     * 元素的个数
+     */
+    private int size;
+
+    /**
+     * 打开或创建一个文件作为列表的存储
+     * 文件已存在时校验文件头中的记录宽度，并从文件头读取元素个数
+     * @param file 文件路径
+     * @param codec 元素的编解码器
+     * @throws IOException 打开文件失败或者文件头不匹配
+     */
+    public MyMappedList(@NotNull Path file, @NotNull FixedWidthCodec<E> codec) throws IOException{
+        int w = codec.width();
+        if (w <= 0 || w > REGION_BYTES){
+            throw new IllegalArgumentException("Illegal width: " + w);
+        }
+        this.codec = codec;
+        this.width = w;
+        this.regionShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(REGION_BYTES / w));
+        this.regionMask = (1 << regionShift) - 1;
+        this.regions = new MappedByteBuffer[0];
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean fresh = ch.size() == 0;
+            if (!fresh && ch.size() < HEADER_BYTES){
+                throw new IOException("Truncated header: " + file);
+            }
+            MappedByteBuffer h = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+            h.order(ByteOrder.LITTLE_ENDIAN);
+            if (fresh){
+                h.putInt(MAGIC_OFFSET, MAGIC);
+                h.putInt(VERSION_OFFSET, VERSION);
+                h.putInt(WIDTH_OFFSET, w);
+                h.putLong(SIZE_OFFSET, 0L);
+            }else{
+                if (h.getInt(MAGIC_OFFSET) != MAGIC){
+                    throw new IOException("Not a list file: " + file);
+                }
+                if (h.getInt(VERSION_OFFSET) != VERSION){
+                    throw new IOException("Unsupported version: " + h.getInt(VERSION_OFFSET));
+                }
+                if (h.getInt(WIDTH_OFFSET) != w){
+                    throw new IOException("Record width mismatch: file " + h.getInt(WIDTH_OFFSET) + ", codec " + w);
+                }
+                long s = h.getLong(SIZE_OFFSET);
+                if (s < 0 || s > Integer.MAX_VALUE || HEADER_BYTES + s * w > ch.size()){
+                    throw new IOException("Corrupted size: " + s);
+                }
+                size = (int) s;
+            }
+            this.header = h;
+            this.channel = ch;
+        }catch (IOException | RuntimeException e){
+            ch.close();
+            throw e;
+        }
+    }
+
+    //映射
+
+    /**
+     * 获取覆盖第index条记录的区域映射
+     * @param index 记录的索引
+     * @return 记录所在区域的映射
+     */
+    private MappedByteBuffer regionFor(int index){
+        int k = index >>> regionShift;
+        int end = ((index & regionMask) + 1) * width;
+        MappedByteBuffer[] rs = regions;
+        MappedByteBuffer r;
+        if (k < rs.length && (r = rs[k]) != null && r.capacity() >= end){
+            return r;
+        }
+        return map(k, end);
+    }
+
+    /**
+     * 映射第k个区域的前面至少minBytes个字节，长度为原映射的两倍，不超过整个区域
+     * 映射超出文件末尾时文件会自动变长；原来的映射不再使用，由GC解除
+     * @param k 区域的编号
+     * @param minBytes 至少映射的字节数
+     * @return 区域的新映射
+     */
+    private MappedByteBuffer map(int k, int minBytes){
+        ensureOpen();
+        MappedByteBuffer[] rs = regions;
+        if (k >= rs.length){
+            regions = rs = Arrays.copyOf(rs, Math.max(k + 1, rs.length + (rs.length >> 1)));
+        }
+        long regionBytes = (long) width << regionShift;
+        MappedByteBuffer old = rs[k];
+        long len = (old == null) ? MIN_MAP_BYTES : (long) old.capacity() << 1;
+        len = Math.min(Math.max(len, minBytes), regionBytes);
+        MappedByteBuffer r;
+        try {
+            r = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + k * regionBytes, len);
+        }catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        r.order(ByteOrder.LITTLE_ENDIAN);
+        rs[k] = r;
+        return r;
+    }
+
+    /**
+     * 映射覆盖前count条记录的所有区域，之后的只读访问不会再修改区域目录
+     * @param count 记录数
+     */
+    private void mapAll(int count){
+        if (count > 0){
+            for (int k = (count - 1) >>> regionShift; k >= 0; k--){
+                regionFor(Math.min(count - 1, (k << regionShift) | regionMask));
+            }
+        }
+    }
+
+    private E readRecord(int index){
+        return codec.read(regionFor(index), (index & regionMask) * width);
+    }
+
+    private void writeRecord(int index, E e){
+        codec.write(regionFor(index), (index & regionMask) * width, e);
+    }
+
+    /**
+     * 修改元素个数，同时写入文件头
+     * @param newSize 新的元素个数
+     */
+    private void setSize(int newSize){
+        size = newSize;
+        header.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+     * 把从src开始的count条记录移动到dst开始的位置，源与目标可以重叠
+     * 按区域的边界分批经中转缓冲区复制，dst小于src时从前往后，否则从后往前
+     * @param src 源的起始索引
+     * @param dst 目标的起始索引
+     * @param count 记录数
+     */
+    private void moveRecords(int src, int dst, int count){
+        if (count <= 0 || src == dst){
+            return;
+        }
+        byte[] tmp = moveBuffer;
+        if (tmp == null){
+            tmp = moveBuffer = new byte[Math.max(width, MOVE_BUFFER_BYTES / width * width)];
+        }
+        int batch = tmp.length / width;
+        int perRegion = regionMask + 1;
+        boolean forward = dst < src;
+        while (count > 0){
+            int n = Math.min(count, batch);
+            int s, d;
+            if (forward){
+                s = src;
+                d = dst;
+                n = Math.min(n, perRegion - (s & regionMask));
+                n = Math.min(n, perRegion - (d & regionMask));
+            }else{
+                //本批复制[src + count - n, src + count)
+                int sEnd = src + count, dEnd = dst + count;
+                n = Math.min(n, ((sEnd - 1) & regionMask) + 1);
+                n = Math.min(n, ((dEnd - 1) & regionMask) + 1);
+                s = sEnd - n;
+                d = dEnd - n;
+            }
+            ByteBuffer from = regionFor(s + n - 1).duplicate();
+            from.position((s & regionMask) * width);
+            from.get(tmp, 0, n * width);
+            ByteBuffer to = regionFor(d + n - 1).duplicate();
+            to.position((d & regionMask) * width);
+            to.put(tmp, 0, n * width);
+            if (forward){
+                src += n;
+                dst += n;
+            }
+            count -= n;
+        }
+    }
+
+    //持久化
+
+    /**
+     * 把所有已映射区域和文件头中的修改写到磁盘，先写记录再写文件头
+     */
+    public void force(){
+        ensureOpen();
+        for (MappedByteBuffer r : regions){
+            if (r != null){
+                r.force();
+            }
+        }
+        header.force();
+    }
+
+    /**
+     * 落盘、丢弃所有映射，并把文件截断到实际的长度，重复调用没有影响
+     * 映射由GC解除；在不允许截断仍被映射的文件的平台上截断会失败，此时保留较长的文件，
+     * 文件头中的元素个数仍然正确，下次打开时多出的部分会被忽略
+     * @throws IOException 关闭文件失败
+     */
+    @Override
+    public void close() throws IOException{
+        FileChannel ch = channel;
+        if (ch == null){
+            return;
+        }
+        try {
+            force();
+        }finally {
+            channel = null;
+            regions = new MappedByteBuffer[0];
+            header = null;
+            moveBuffer = null;
+            recordBuffer = null;
+            modCount++;
+            try {
+                ch.truncate(HEADER_BYTES + (long) size * width);
+            }catch (IOException ignored){
+                //文件仍被映射，保留多出的部分
+            }finally {
+                ch.close();
+            }
+        }
+    }
+
+    private void ensureOpen(){
+        if (channel == null){
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    //List操作
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    public E get(int index){
+        rangeCheck(index);
+        return readRecord(index);
+    }
+
+    @Override
+    public E set(int index, E element){
+        rangeCheck(index);
+        E oldValue = readRecord(index);
+        writeRecord(index, element);
+        return oldValue;
+    }
+
+    /**
+     * 在映射的末尾追加元素
+     * @param e 元素
+     * @return true
+     */
+    @Override
+    public boolean add(E e){
+        ensureOpen();
+        if (size == Integer.MAX_VALUE){
+            throw new OutOfMemoryError();
+        }
+        modCount++;
+        writeRecord(size, e);
+        setSize(size + 1);
+        return true;
+    }
+
+    /**
+     * 在指定位置插入元素
+     * 先把元素编码到缓冲区，编解码器抛出异常时记录还没有移动，文件中的列表保持不变
+     * @param index 索引
+     * @param element 插入的元素
+     */
+    @Override
+    public void add(int index, E element){
+        rangeCheckForAdd(index);
+        if (size == Integer.MAX_VALUE){
+            throw new OutOfMemoryError();
+        }
+        ByteBuffer record = recordBuffer;
+        if (record == null){
+            record = recordBuffer = ByteBuffer.allocate(width).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        codec.write(record, 0, element);
+        modCount++;
+        moveRecords(index, index + 1, size - index);
+        ByteBuffer to = regionFor(index).duplicate();
+        to.position((index & regionMask) * width);
+        to.put(record.array(), 0, width);
+        setSize(size + 1);
+    }
+
+    @Override
+    public E remove(int index){
+        rangeCheck(index);
+        modCount++;
+        E oldValue = readRecord(index);
+        moveRecords(index + 1, index, size - index - 1);
+        setSize(size - 1);
+        return oldValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(@NotNull Collection<? extends E> c){
+        ensureOpen();
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        if (numNew > Integer.MAX_VALUE - size){
+            throw new OutOfMemoryError();
+        }
+        modCount++;
+        for (int i = 0; i < numNew; i++){
+            writeRecord(size + i, (E) a[i]);
+        }
+        setSize(size + numNew);
+        return numNew != 0;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        ensureOpen();
+        modCount++;
+        moveRecords(toIndex, fromIndex, size - toIndex);
+        setSize(size - (toIndex - fromIndex));
+    }
+
+    /**
+     * 清空，文件在close时才被截断
+     */
+    @Override
+    public void clear(){
+        ensureOpen();
+        modCount++;
+        setSize(0);
+    }
+
+    private void rangeCheck(int index){
+        ensureOpen();
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void rangeCheckForAdd(int index){
+        ensureOpen();
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action){
+        Objects.requireNonNull(action);
+        ensureOpen();
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        for (int i = 0; modCount == expectedModCount && i < size; i++){
+            action.accept(readRecord(i));
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 创建并行遍历迭代器前先映射所有区域，各个分割只做只读访问
+     * @return 并行遍历迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator(){
+        ensureOpen();
+        mapAll(size);
+        return new MappedSpliterator<>(this, 0, -1, 0);
+    }
+
+    /**
+     * 按索引分割的并行遍历迭代器，与MyArrayList.ArrayListSpliterator相同
+     * @param <E> 元素的类型
+     */
+    static final class MappedSpliterator<E> implements Spliterator<E>{
+        //用于存放list对象
+        private final MyMappedList<E> list;
+        //起始位置(包含)
+        private int index;
+        //结束位置(不包含),-1表示到最后的位置
+        private int fence;
+        //存放list中的modCount
+        private int expectedModCount;
+
+        MappedSpliterator(MyMappedList<E> list, int origin, int fence, int expectedModCount){
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = fence = list.size;
+            }
+            return hi;
+        }
+
+        @Override
+        public MappedSpliterator<E> trySplit(){
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                    new MappedSpliterator<E>(list, lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            if (i < hi){
+                index = i + 1;
+                action.accept(list.readRecord(i));
+                if (list.modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            index = hi;
+            for (; i < hi; i++){
+                action.accept(list.readRecord(i));
+            }
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize(){
+            return (long) (getFence() - index);
+        }
+
+        @Override
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
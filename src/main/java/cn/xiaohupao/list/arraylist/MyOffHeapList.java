@@ -0,0 +1,590 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 元素存储在堆外的定长记录列表
+ * 1.元素通过FixedWidthCodec编码后存放在直接内存(direct ByteBuffer)的段中，堆上只有段的目录，GC无需扫描元素；
+ * 2.只有一个段时与MyArrayList的elementData一样按1.5倍扩容并整体复制，
+ *   容量超过一个段后只追加新段，已有的数据不再复制；
+ * 3.get每次都会解码出一个新对象，set会把元素编码后覆盖原来的记录；
+ * 4.close()立即释放所有段的直接内存，不等待GC；扩容替换掉的段也立即释放。
+ *   所有的读写都通过segments字段找到段，段在释放前已经从segments中移除或者segments已被置为null，
+ *   因此关闭前创建的迭代器、视图和并行遍历迭代器在关闭后抛出IllegalStateException，不会读到已释放的内存；
+ *   关闭后的列表不能再使用。
+ * 不是线程安全的
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 17:10
+ */
+public class MyOffHeapList<E> extends MyAbstractList<E> implements RandomAccess, Closeable {
+
+    /**
+     * 默认的初始容量
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 每个段最多占用的字节数
+     */
+    private static final int SEGMENT_BYTES = 1 << 24;
+
+    /**
+     * 要分配的最大的容量
+     */
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * 移动记录时使用的中转缓冲区大小
+     */
+    private static final int MOVE_BUFFER_BYTES = 1 << 13;
+
+    /**
+     * 空的段目录
+     */
+    private static final ByteBuffer[] EMPTY_SEGMENTS = {};
+
+    /**
+     * 元素的编解码器
+     */
+    private final FixedWidthCodec<E> codec;
+
+    /**
+     * 每条记录的字节数
+     */
+    private final int width;
+
+    /**
+     * 每个段的记录数为2的segmentShift次幂
+     */
+    private final int segmentShift;
+
+    /**
+     * 记录索引在段内的掩码
+     */
+    private final int segmentMask;
+
+    /**
+     * 段的目录，除只有一个段的情况外每个段都是满的，为null表示已关闭
+     */
+    private ByteBuffer[] segments;
+
+    /**
+     * moveRecords使用的中转缓冲区，第一次移动时分配
+     */
+    private byte[] moveBuffer;
+
+    /**
+     * add(int, E)中先编码新元素的缓冲区，第一次使用时分配
+     */
+    private ByteBuffer recordBuffer;
+
+    /**
+     * 已分配的记录数
+     */
+    private int capacity;
+
+    /**
+     * 元素的个数
+     */
+    private int size;
+
+    /**
+     * 使用默认初始容量的构造器，第一次添加元素时才分配内存
+     * @param codec 元素的编解码器
+     */
+    public MyOffHeapList(@NotNull FixedWidthCodec<E> codec){
+        this(codec, 0);
+    }
+
+    /**
+     * 指定初始容量的构造器
+     * @param codec 元素的编解码器
+     * @param initialCapacity 初始容量
+     */
+    public MyOffHeapList(@NotNull FixedWidthCodec<E> codec, int initialCapacity){
+        if (initialCapacity < 0){
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        }
+        int w = codec.width();
+        if (w <= 0 || w > SEGMENT_BYTES){
+            throw new IllegalArgumentException("Illegal width: " + w);
+        }
+        this.codec = codec;
+        this.width = w;
+        this.segmentShift = Integer.numberOfTrailingZeros(Integer.highestOneBit(SEGMENT_BYTES / w));
+        this.segmentMask = (1 << segmentShift) - 1;
+        this.segments = EMPTY_SEGMENTS;
+        if (initialCapacity > 0){
+            allocate(initialCapacity);
+        }
+    }
+
+    /**
+     * 通过指定的集合构造
+     * @param codec 元素的编解码器
+     * @param c 集合
+     */
+    public MyOffHeapList(@NotNull FixedWidthCodec<E> codec, @NotNull Collection<? extends E> c){
+        this(codec, c.size());
+        addAll(c);
+    }
+
+    //容量
+
+    /**
+     * 保证能放下minCapacity个元素
+     * @param minCapacity 所需的最小容量
+     */
+    public void ensureCapacity(int minCapacity){
+        ensureOpen();
+        int minExpand = (segments.length != 0) ? 0 : DEFAULT_CAPACITY;
+        if (minCapacity > minExpand){
+            ensureExplicitCapacity(minCapacity);
+        }
+    }
+
+    private void ensureCapacityInternal(int minCapacity){
+        ensureOpen();
+        if (segments.length == 0){
+            minCapacity = Math.max(DEFAULT_CAPACITY, minCapacity);
+        }
+        ensureExplicitCapacity(minCapacity);
+    }
+
+    private void ensureExplicitCapacity(int minCapacity){
+        modCount++;
+        if (minCapacity - capacity > 0){
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 扩容，新容量的计算与MyArrayList.grow相同
+     * @param minCapacity 所需最小的容量大小
+     */
+    private void grow(int minCapacity){
+        int oldCapacity = capacity;
+        //扩容中新的容量为原来的1.5倍
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+        if (newCapacity - minCapacity < 0){
+            newCapacity = minCapacity;
+        }
+        if (newCapacity - MAX_ARRAY_SIZE > 0){
+            newCapacity = hugeCapacity(minCapacity);
+        }
+        allocate(newCapacity);
+    }
+
+    private static int hugeCapacity(int minCapacity){
+        //判断是否溢出
+        if (minCapacity < 0){
+            throw new OutOfMemoryError();
+        }
+        return (minCapacity > MAX_ARRAY_SIZE) ?
+                Integer.MAX_VALUE :
+                MAX_ARRAY_SIZE;
+    }
+
+    /**
+     * 把容量调整到至少newCapacity
+     * 不超过一个段时重新分配唯一的段并复制，否则先把第一段补满，再追加满的段
+     * @param newCapacity 新容量
+     */
+    private void allocate(int newCapacity){
+        int perSegment = segmentMask + 1;
+        ByteBuffer old = (segments.length == 0) ? null : segments[0];
+        if (newCapacity <= perSegment){
+            segments = new ByteBuffer[]{resize(old, newCapacity)};
+            capacity = newCapacity;
+            free(old);
+            return;
+        }
+        int n = (int) (((long) newCapacity + segmentMask) >>> segmentShift);
+        ByteBuffer[] newSegments = Arrays.copyOf(segments, n);
+        int from = segments.length;
+        boolean replaced = from == 1 && capacity < perSegment;
+        if (replaced){
+            newSegments[0] = resize(old, perSegment);
+        }
+        for (int i = from; i < n; i++){
+            newSegments[i] = newSegment(perSegment);
+        }
+        segments = newSegments;
+        capacity = (int) Math.min((long) n << segmentShift, Integer.MAX_VALUE);
+        if (replaced){
+            free(old);
+        }
+    }
+
+    /**
+     * 分配一个能放下records条记录的新段，并把old中已有的元素复制过去
+     * @param old 原来的段，可以为null
+     * @param records 新段的记录数
+     * @return 新段
+     */
+    private ByteBuffer resize(ByteBuffer old, int records){
+        ByteBuffer seg = newSegment(records);
+        if (old != null){
+            ByteBuffer src = old.duplicate();
+            src.position(0).limit(size * width);
+            seg.put(src);
+            seg.clear();
+        }
+        return seg;
+    }
+
+    private ByteBuffer newSegment(int records){
+        return ByteBuffer.allocateDirect(records * width).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 立即释放直接内存，而不是等待GC，调用方保证buf已经不在segments中
+     * @param buf 直接内存的buffer，可以为null
+     */
+    private static void free(ByteBuffer buf){
+        if (buf == null){
+            return;
+        }
+        sun.misc.Cleaner cleaner = ((sun.nio.ch.DirectBuffer) buf).cleaner();
+        if (cleaner != null){
+            cleaner.clean();
+        }
+    }
+
+    /**
+     * 释放所有的段，重复调用没有影响
+     * 之后对列表的访问会抛出IllegalStateException
+     */
+    @Override
+    public void close(){
+        ByteBuffer[] segs = segments;
+        if (segs == null){
+            return;
+        }
+        segments = null;
+        capacity = 0;
+        size = 0;
+        moveBuffer = null;
+        recordBuffer = null;
+        modCount++;
+        for (ByteBuffer seg : segs){
+            free(seg);
+        }
+    }
+
+    private void ensureOpen(){
+        if (segments == null){
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    /**
+     * 已分配的记录数
+     * @return 容量
+     */
+    public int capacity(){
+        return capacity;
+    }
+
+    //记录的读写
+
+    private E readRecord(int index){
+        return codec.read(segments[index >>> segmentShift], (index & segmentMask) * width);
+    }
+
+    private void writeRecord(int index, E e){
+        codec.write(segments[index >>> segmentShift], (index & segmentMask) * width, e);
+    }
+
+    /**
+     * 把从src开始的count条记录移动到dst开始的位置，源与目标可以重叠
+     * 按段的边界分批经中转缓冲区复制，dst小于src时从前往后，否则从后往前
+     * @param src 源的起始索引
+     * @param dst 目标的起始索引
+     * @param count 记录数
+     */
+    private void moveRecords(int src, int dst, int count){
+        if (count <= 0 || src == dst){
+            return;
+        }
+        byte[] tmp = moveBuffer;
+        if (tmp == null){
+            tmp = moveBuffer = new byte[Math.max(width, MOVE_BUFFER_BYTES / width * width)];
+        }
+        int batch = tmp.length / width;
+        int perSegment = segmentMask + 1;
+        boolean forward = dst < src;
+        while (count > 0){
+            int n = Math.min(count, batch);
+            int s, d;
+            if (forward){
+                s = src;
+                d = dst;
+                n = Math.min(n, perSegment - (s & segmentMask));
+                n = Math.min(n, perSegment - (d & segmentMask));
+            }else{
+                //本批复制[src + count - n, src + count)
+                int sEnd = src + count, dEnd = dst + count;
+                n = Math.min(n, ((sEnd - 1) & segmentMask) + 1);
+                n = Math.min(n, ((dEnd - 1) & segmentMask) + 1);
+                s = sEnd - n;
+                d = dEnd - n;
+            }
+            ByteBuffer from = segments[s >>> segmentShift].duplicate();
+            from.position((s & segmentMask) * width);
+            from.get(tmp, 0, n * width);
+            ByteBuffer to = segments[d >>> segmentShift].duplicate();
+            to.position((d & segmentMask) * width);
+            to.put(tmp, 0, n * width);
+            if (forward){
+                src += n;
+                dst += n;
+            }
+            count -= n;
+        }
+    }
+
+    //List操作
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    /**
+     * 解码指定位置的元素
+     * @param index 索引
+     * @return 元素
+     */
+    @Override
+    public E get(int index){
+        rangeCheck(index);
+        return readRecord(index);
+    }
+
+    /**
+     * 用新元素覆盖指定位置的记录
+     * @param index 索引
+     * @param element 新元素
+     * @return 旧元素
+     */
+    @Override
+    public E set(int index, E element){
+        rangeCheck(index);
+        E oldValue = readRecord(index);
+        writeRecord(index, element);
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(E e){
+        ensureCapacityInternal(size + 1);
+        writeRecord(size, e);
+        size++;
+        return true;
+    }
+
+    /**
+     * 在指定位置插入元素
+     * 先把元素编码到缓冲区，编解码器抛出异常时记录还没有移动，列表保持不变
+     * @param index 索引
+     * @param element 插入的元素
+     */
+    @Override
+    public void add(int index, E element){
+        rangeCheckForAdd(index);
+        ensureCapacityInternal(size + 1);
+        ByteBuffer record = recordBuffer;
+        if (record == null){
+            record = recordBuffer = ByteBuffer.allocate(width).order(ByteOrder.nativeOrder());
+        }
+        codec.write(record, 0, element);
+        moveRecords(index, index + 1, size - index);
+        ByteBuffer to = segments[index >>> segmentShift].duplicate();
+        to.position((index & segmentMask) * width);
+        to.put(record.array(), 0, width);
+        size++;
+    }
+
+    @Override
+    public E remove(int index){
+        rangeCheck(index);
+        modCount++;
+        E oldValue = readRecord(index);
+        moveRecords(index + 1, index, size - index - 1);
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * 在尾部添加集合中的所有元素，最多扩容一次
+     * @param c 集合
+     * @return true则表示list发生了变化
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean addAll(@NotNull Collection<? extends E> c){
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        ensureCapacityInternal(size + numNew);
+        for (int i = 0; i < numNew; i++){
+            writeRecord(size + i, (E) a[i]);
+        }
+        size += numNew;
+        return numNew != 0;
+    }
+
+    /**
+     * 删除[fromIndex, toIndex)内的记录，后面的记录整体前移
+     * @param fromIndex 起始位置(包含)
+     * @param toIndex 结束位置(不包含)
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        ensureOpen();
+        modCount++;
+        moveRecords(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+    }
+
+    /**
+     * 清空，保留已分配的段
+     */
+    @Override
+    public void clear(){
+        ensureOpen();
+        modCount++;
+        size = 0;
+    }
+
+    private void rangeCheck(int index){
+        ensureOpen();
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void rangeCheckForAdd(int index){
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action){
+        Objects.requireNonNull(action);
+        ensureOpen();
+        final int expectedModCount = modCount;
+        final int size = this.size;
+        for (int i = 0; modCount == expectedModCount && i < size; i++){
+            action.accept(readRecord(i));
+        }
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator(){
+        ensureOpen();
+        return new OffHeapSpliterator<>(this, 0, -1, 0);
+    }
+
+    /**
+     * 按索引分割的并行遍历迭代器，与MyArrayList.ArrayListSpliterator相同
+     * 各个分割只读取不同的记录，解码使用绝对位置，因此可以在多个线程中同时遍历
+     * @param <E> 元素的类型
+     */
+    static final class OffHeapSpliterator<E> implements Spliterator<E>{
+        //用于存放list对象
+        private final MyOffHeapList<E> list;
+        //起始位置(包含)
+        private int index;
+        //结束位置(不包含),-1表示到最后的位置
+        private int fence;
+        //存放list中的modCount
+        private int expectedModCount;
+
+        OffHeapSpliterator(MyOffHeapList<E> list, int origin, int fence, int expectedModCount){
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = fence = list.size;
+            }
+            return hi;
+        }
+
+        @Override
+        public OffHeapSpliterator<E> trySplit(){
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                    new OffHeapSpliterator<E>(list, lo, index = mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            list.ensureOpen();
+            int hi = getFence(), i = index;
+            if (i < hi){
+                index = i + 1;
+                action.accept(list.readRecord(i));
+                if (list.modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            list.ensureOpen();
+            int hi = getFence(), i = index;
+            index = hi;
+            for (; i < hi; i++){
+                action.accept(list.readRecord(i));
+            }
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize(){
+            return (long) (getFence() - index);
+        }
+
+        @Override
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
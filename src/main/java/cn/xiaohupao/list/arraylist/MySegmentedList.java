@@ -0,0 +1,686 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 分段存储的数组列表，扩容时不会复制已有的元素
+ * 1.元素存放在固定大小的段中，由段目录索引，下标i位于第i >>> SEGMENT_SHIFT段的第i & SEGMENT_MASK个位置，get/set为O(1)；
+ * 2.只有一个段时与MyArrayList的elementData一样按1.5倍扩容，该段满了之后追加新段，只复制段目录中的指针；
+ * 3.元素个数和下标都是long，可以超过Integer.MAX_VALUE - 8，超出int范围的部分只能通过get(long)/set(long, E)等方法访问，
+ *   此时size()返回Integer.MAX_VALUE；
+ * 4.并行遍历迭代器按段的边界分割，每个分割只访问整段的数组。
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 19:00
+ */
+public class MySegmentedList<E> extends MyAbstractList<E> implements RandomAccess, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960230L;
+
+    /**
+     * 每段元素个数为2的SEGMENT_SHIFT次幂
+     */
+    static final int SEGMENT_SHIFT = 14;
+
+    /**
+     * 每段的元素个数
+     */
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+
+    /**
+     * 下标在段内的掩码
+     */
+    static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * 默认的初始容量
+     */
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /**
+     * 空的段目录
+     */
+    private static final Object[][] EMPTY_SEGMENTS = {};
+
+    /**
+     * 段目录，前segmentCount个位置有效，只有一个段时该段可以不满，否则每段都是满的
+     */
+    transient Object[][] segments;
+
+    /**
+     * 已分配的段数
+     */
+    transient int segmentCount;
+
+    /**
+     * 元素的个数
+     */
+    private long size;
+
+    /**
+     * 无参构造，第一次添加元素时才分配
+     */
+    public MySegmentedList(){
+        segments = EMPTY_SEGMENTS;
+    }
+
+    /**
+     * 通过指定的集合构造
+     * @param c 集合
+     */
+    public MySegmentedList(@NotNull Collection<? extends E> c){
+        this();
+        addAll(c);
+    }
+
+    //容量
+
+    /**
+     * 已分配的容量
+     * @return 容量
+     */
+    private long capacity(){
+        int n = segmentCount;
+        return n == 0 ? 0 : ((long) (n - 1) << SEGMENT_SHIFT) + segments[n - 1].length;
+    }
+
+    private void ensureCapacityInternal(long minCapacity){
+        modCount++;
+        if (minCapacity - capacity() > 0){
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * 扩容，容量不超过一段时第一段按1.5倍扩容，否则先补满第一段再追加新段
+     * @param minCapacity 所需最小的容量大小
+     */
+    private void grow(long minCapacity){
+        if (minCapacity <= SEGMENT_SIZE){
+            Object[] first = segmentCount == 0 ? null : segments[0];
+            int oldCapacity = first == null ? 0 : first.length;
+            int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+            newCapacity = (int) Math.min(Math.max(newCapacity, minCapacity), SEGMENT_SIZE);
+            Object[] seg = first == null ? new Object[newCapacity] : Arrays.copyOf(first, newCapacity);
+            if (segmentCount == 0){
+                segments = new Object[][]{seg};
+                segmentCount = 1;
+            }else{
+                segments[0] = seg;
+            }
+            return;
+        }
+        long needed = (minCapacity + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        if (needed > Integer.MAX_VALUE - 8){
+            throw new OutOfMemoryError();
+        }
+        int n = (int) needed;
+        if (n > segments.length){
+            //段目录按1.5倍扩容，只复制指针
+            int newLength = segments.length + (segments.length >> 1);
+            segments = Arrays.copyOf(segments, Math.max(newLength, n));
+        }
+        if (segmentCount > 0 && segments[0].length < SEGMENT_SIZE){
+            segments[0] = Arrays.copyOf(segments[0], SEGMENT_SIZE);
+        }
+        for (int i = segmentCount; i < n; i++){
+            segments[i] = new Object[SEGMENT_SIZE];
+        }
+        segmentCount = n;
+    }
+
+    /**
+     * 删除元素后释放末尾多余的段，保留一个空闲段避免在边界处反复分配
+     */
+    private void shrinkTail(){
+        int needed = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        int keep = needed + 1;
+        for (int i = keep; i < segmentCount; i++){
+            segments[i] = null;
+        }
+        if (segmentCount > keep){
+            segmentCount = keep;
+        }
+    }
+
+    //元素访问
+
+    @SuppressWarnings("unchecked")
+    E elementAt(long index){
+        return (E) segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK];
+    }
+
+    /**
+     * 把从src开始的count个元素移动到dst开始的位置，源与目标可以重叠
+     * 按段的边界分批使用System.arraycopy，dst小于src时从前往后，否则从后往前
+     * @param src 源的起始下标
+     * @param dst 目标的起始下标
+     * @param count 元素个数
+     */
+    private void moveElements(long src, long dst, long count){
+        if (count <= 0 || src == dst){
+            return;
+        }
+        boolean forward = dst < src;
+        while (count > 0){
+            int n = (int) Math.min(count, SEGMENT_SIZE);
+            long s, d;
+            if (forward){
+                s = src;
+                d = dst;
+                n = Math.min(n, SEGMENT_SIZE - ((int) s & SEGMENT_MASK));
+                n = Math.min(n, SEGMENT_SIZE - ((int) d & SEGMENT_MASK));
+            }else{
+                //本批复制[src + count - n, src + count)
+                long sEnd = src + count, dEnd = dst + count;
+                n = Math.min(n, ((int) (sEnd - 1) & SEGMENT_MASK) + 1);
+                n = Math.min(n, ((int) (dEnd - 1) & SEGMENT_MASK) + 1);
+                s = sEnd - n;
+                d = dEnd - n;
+            }
+            System.arraycopy(segments[(int) (s >>> SEGMENT_SHIFT)], (int) s & SEGMENT_MASK,
+                    segments[(int) (d >>> SEGMENT_SHIFT)], (int) d & SEGMENT_MASK, n);
+            if (forward){
+                src += n;
+                dst += n;
+            }
+            count -= n;
+        }
+    }
+
+    /**
+     * 把[from, to)内的位置置为null，便于GC
+     * @param from 起始下标(包含)
+     * @param to 结束下标(不包含)
+     */
+    private void clearElements(long from, long to){
+        while (from < to){
+            int off = (int) from & SEGMENT_MASK;
+            int n = (int) Math.min(to - from, SEGMENT_SIZE - off);
+            Arrays.fill(segments[(int) (from >>> SEGMENT_SHIFT)], off, off + n, null);
+            from += n;
+        }
+    }
+
+    //long下标的操作
+
+    /**
+     * 元素的个数
+     * @return 元素的个数，可以超过Integer.MAX_VALUE
+     */
+    public long longSize(){
+        return size;
+    }
+
+    /**
+     * 获取指定位置的元素
+     * @param index 下标
+     * @return 元素
+     */
+    public E get(long index){
+        rangeCheck(index);
+        return elementAt(index);
+    }
+
+    /**
+     * 替换指定位置的元素
+     * @param index 下标
+     * @param element 新元素
+     * @return 旧元素
+     */
+    public E set(long index, E element){
+        rangeCheck(index);
+        E oldValue = elementAt(index);
+        segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK] = element;
+        return oldValue;
+    }
+
+    /**
+     * 在指定位置插入元素，之后的元素整体后移
+     * @param index 下标
+     * @param element 元素
+     */
+    public void add(long index, E element){
+        rangeCheckForAdd(index);
+        ensureCapacityInternal(size + 1);
+        moveElements(index, index + 1, size - index);
+        segments[(int) (index >>> SEGMENT_SHIFT)][(int) index & SEGMENT_MASK] = element;
+        size++;
+    }
+
+    /**
+     * 删除指定位置的元素，之后的元素整体前移
+     * @param index 下标
+     * @return 被删除的元素
+     */
+    public E remove(long index){
+        rangeCheck(index);
+        modCount++;
+        E oldValue = elementAt(index);
+        moveElements(index + 1, index, size - index - 1);
+        clearElements(size - 1, size);
+        size--;
+        shrinkTail();
+        return oldValue;
+    }
+
+    /**
+     * 删除[fromIndex, toIndex)内的元素
+     * @param fromIndex 起始下标(包含)
+     * @param toIndex 结束下标(不包含)
+     */
+    public void removeRange(long fromIndex, long toIndex){
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex){
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+        }
+        modCount++;
+        moveElements(toIndex, fromIndex, size - toIndex);
+        long newSize = size - (toIndex - fromIndex);
+        clearElements(newSize, size);
+        size = newSize;
+        shrinkTail();
+    }
+
+    private void rangeCheck(long index){
+        if (index < 0 || index >= size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void rangeCheckForAdd(long index){
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private String outOfBoundsMsg(long index){
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    //List操作
+
+    /**
+     * 元素的个数，超过Integer.MAX_VALUE时返回Integer.MAX_VALUE
+     * @return 元素的个数
+     */
+    @Override
+    public int size(){
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return size == 0;
+    }
+
+    @Override
+    public E get(int index){
+        return get((long) index);
+    }
+
+    @Override
+    public E set(int index, E element){
+        return set((long) index, element);
+    }
+
+    /**
+     * 在末尾添加元素，末段满了时追加新段
+     * @param e 元素
+     * @return true
+     */
+    @Override
+    public boolean add(E e){
+        long s = size;
+        ensureCapacityInternal(s + 1);
+        segments[(int) (s >>> SEGMENT_SHIFT)][(int) s & SEGMENT_MASK] = e;
+        size = s + 1;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element){
+        add((long) index, element);
+    }
+
+    @Override
+    public E remove(int index){
+        return remove((long) index);
+    }
+
+    /**
+     * 在末尾添加集合中的所有元素，最多扩容一次，按段批量复制
+     * @param c 集合
+     * @return true则表示list发生了变化
+     */
+    @Override
+    public boolean addAll(@NotNull Collection<? extends E> c){
+        Object[] a = c.toArray();
+        int numNew = a.length;
+        ensureCapacityInternal(size + numNew);
+        long s = size;
+        int copied = 0;
+        while (copied < numNew){
+            int off = (int) s & SEGMENT_MASK;
+            int n = Math.min(numNew - copied, SEGMENT_SIZE - off);
+            System.arraycopy(a, copied, segments[(int) (s >>> SEGMENT_SHIFT)], off, n);
+            copied += n;
+            s += n;
+        }
+        size = s;
+        return numNew != 0;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        removeRange((long) fromIndex, (long) toIndex);
+    }
+
+    /**
+     * 清空，只保留第一段
+     */
+    @Override
+    public void clear(){
+        modCount++;
+        if (segmentCount > 0){
+            Arrays.fill(segments[0], null);
+            for (int i = 1; i < segmentCount; i++){
+                segments[i] = null;
+            }
+            segmentCount = 1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        for (int i = 0; i < segmentCount; i++){
+            Object[] seg = segments[i];
+            int end = (int) Math.min(seg.length, size - ((long) i << SEGMENT_SHIFT));
+            for (int j = 0; j < end; j++){
+                if (o == null ? seg[j] == null : o.equals(seg[j])){
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Object[] toArray(){
+        if (size > Integer.MAX_VALUE - 8){
+            throw new OutOfMemoryError("List too large for an array: " + size);
+        }
+        Object[] a = new Object[(int) size];
+        int copied = 0;
+        for (int i = 0; copied < a.length; i++){
+            int n = Math.min(a.length - copied, SEGMENT_SIZE);
+            System.arraycopy(segments[i], 0, a, copied, n);
+            copied += n;
+        }
+        return a;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T @NotNull [] a){
+        Object[] elements = toArray();
+        int n = elements.length;
+        if (a.length < n){
+            return (T[]) Arrays.copyOf(elements, n, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, n);
+        if (a.length > n){
+            a[n] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action){
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        forEachIn(0, size, action);
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 逐段遍历[from, to)内的元素
+     * @param from 起始下标(包含)
+     * @param to 结束下标(不包含)
+     * @param action 对每个元素执行的操作
+     */
+    @SuppressWarnings("unchecked")
+    void forEachIn(long from, long to, Consumer<? super E> action){
+        Object[][] segs = segments;
+        while (from < to){
+            Object[] seg = segs[(int) (from >>> SEGMENT_SHIFT)];
+            int off = (int) from & SEGMENT_MASK;
+            int end = (int) Math.min(to - from + off, SEGMENT_SIZE);
+            for (int j = off; j < end; j++){
+                action.accept((E) seg[j]);
+            }
+            from += end - off;
+        }
+    }
+
+    //迭代器
+
+    @NotNull
+    @Override
+    public Iterator<E> iterator(){
+        return new Itr();
+    }
+
+    /**
+     * 使用long下标的迭代器，可以遍历超过Integer.MAX_VALUE个元素
+     */
+    private class Itr implements Iterator<E>{
+        /**
+         * 下一个要返回元素的下标
+         */
+        long cursor;
+        /**
+         * 上一次返回元素的下标，-1表示没有
+         */
+        long lastRet = -1;
+        int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext(){
+            return cursor != size;
+        }
+
+        @Override
+        public E next(){
+            checkForComodification();
+            long i = cursor;
+            if (i >= size){
+                throw new NoSuchElementException();
+            }
+            cursor = i + 1;
+            return elementAt(lastRet = i);
+        }
+
+        @Override
+        public void remove(){
+            if (lastRet < 0){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            MySegmentedList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            expectedModCount = modCount;
+        }
+
+        final void checkForComodification(){
+            if (modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator(){
+        return new SegmentSpliterator<>(this, 0, -1, 0);
+    }
+
+    /**
+     * 按段的边界分割的并行遍历迭代器
+     * 分割点取中点所在段的起点，范围只在一个段内时才退化为取中点
+     * @param <E> 元素的类型
+     */
+    static final class SegmentSpliterator<E> implements Spliterator<E>{
+        //用于存放list对象
+        private final MySegmentedList<E> list;
+        //起始位置(包含)
+        private long index;
+        //结束位置(不包含),-1表示到最后的位置
+        private long fence;
+        //存放list中的modCount
+        private int expectedModCount;
+
+        SegmentSpliterator(MySegmentedList<E> list, long origin, long fence, int expectedModCount){
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private long getFence(){
+            long hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = fence = list.size;
+            }
+            return hi;
+        }
+
+        @Override
+        public SegmentSpliterator<E> trySplit(){
+            long hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            long split = mid & ~(long) SEGMENT_MASK;
+            if (split <= lo){
+                //中点与lo在同一段，尝试lo所在段的终点
+                split = (lo | SEGMENT_MASK) + 1;
+            }
+            if (split >= hi){
+                //整个范围在一个段内
+                split = mid;
+            }
+            return (split <= lo) ? null :
+                    new SegmentSpliterator<E>(list, lo, index = split, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            long hi = getFence(), i = index;
+            if (i < hi){
+                index = i + 1;
+                action.accept(list.elementAt(i));
+                if (list.modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            long hi = getFence(), i = index;
+            index = hi;
+            list.forEachIn(i, hi, action);
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize(){
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * 克隆，复制段目录和每一段
+     * @return 克隆的对象
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone(){
+        try {
+            MySegmentedList<E> v = (MySegmentedList<E>) super.clone();
+            v.segments = Arrays.copyOf(segments, segments.length);
+            for (int i = 0; i < segmentCount; i++){
+                v.segments[i] = segments[i].clone();
+            }
+            v.modCount = 0;
+            return v;
+        }catch (CloneNotSupportedException e){
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * 序列化，按顺序写出size个元素
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        for (long i = 0; i < size; i++){
+            s.writeObject(elementAt(i));
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 反序列化，随着元素的读入逐段扩容，流中损坏的size不会导致一次分配大量的段
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        long n = size;
+        if (n < 0){
+            throw new java.io.InvalidObjectException("Illegal size: " + n);
+        }
+        segments = EMPTY_SEGMENTS;
+        segmentCount = 0;
+        size = 0;
+        for (long i = 0; i < n; i++){
+            if (i == capacity()){
+                grow(i + 1);
+            }
+            segments[(int) (i >>> SEGMENT_SHIFT)][(int) i & SEGMENT_MASK] = s.readObject();
+            size = i + 1;
+        }
+    }
+}
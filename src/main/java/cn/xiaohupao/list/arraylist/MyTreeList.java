@@ -0,0 +1,964 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 基于平衡树的列表，由数组块组成的绳索(rope)结构
+ * 每个树结点保存一个最多CHUNK_CAPACITY个元素的数组块，并记录子树中的元素总数，
+ * 通过AVL旋转保持平衡，因此按索引的get、set、add(int, E)、remove(int)均为O(log n)
+ * 删除后不足半满的数组块与相邻的块合并，块太多时两块重新平分，避免大量删除后树中留下许多几乎为空的块；
+ * removeRange(以及subList(from, to).clear())整块摘除区间内的数组块，为O((k / CHUNK_CAPACITY + 1) log n)
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 13:05
+ */
+public class MyTreeList<E> extends MyAbstractList<E> implements List<E>, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960225L;
+
+    /**
+     * 每个数组块的最大容量
+     */
+    static final int CHUNK_CAPACITY = 64;
+
+    /**
+     * 删除后元素个数少于该值的数组块会与相邻的块合并
+     */
+    static final int MIN_CHUNK_COUNT = CHUNK_CAPACITY >>> 1;
+
+    /**
+     * 新建数组块时的初始容量，块内按2倍扩容直到CHUNK_CAPACITY
+     */
+    private static final int INITIAL_CHUNK_CAPACITY = 8;
+
+    /**
+     * 树的根结点，空列表时为null
+     */
+    transient Node root;
+
+    /**
+     * 无参构造
+     */
+    public MyTreeList(){
+    }
+
+    /**
+     * 通过给定的集合构造一个列表
+     * @param c 集合
+     */
+    public MyTreeList(Collection<? extends E> c){
+        this();
+        addAll(c);
+    }
+
+    /**
+     * 树结点，保存一个数组块
+     */
+    static final class Node {
+        /**
+         * 数组块
+         */
+        Object[] items;
+        /**
+         * 数组块中的元素个数
+         */
+        int count;
+        /**
+         * 以此结点为根的子树中的元素总数
+         */
+        int size;
+        /**
+         * 以此结点为根的子树的高度
+         */
+        int height;
+        /**
+         * 左子树，其中的元素都在本数组块之前
+         */
+        Node left;
+        /**
+         * 右子树，其中的元素都在本数组块之后
+         */
+        Node right;
+
+        Node(Object[] items, int count){
+            this.items = items;
+            this.count = count;
+            this.size = count;
+            this.height = 1;
+        }
+    }
+
+    private static int size(Node x){
+        return x == null ? 0 : x.size;
+    }
+
+    private static int height(Node x){
+        return x == null ? 0 : x.height;
+    }
+
+    /**
+     * 根据子结点重新计算结点的size和height
+     * @param x 结点
+     */
+    private static void update(Node x){
+        x.size = size(x.left) + x.count + size(x.right);
+        x.height = Math.max(height(x.left), height(x.right)) + 1;
+    }
+
+    private static Node rotateRight(Node x){
+        Node l = x.left;
+        x.left = l.right;
+        l.right = x;
+        update(x);
+        update(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node x){
+        Node r = x.right;
+        x.right = r.left;
+        r.left = x;
+        update(x);
+        update(r);
+        return r;
+    }
+
+    /**
+     * 更新结点并在左右子树高度差超过1时旋转
+     * @param x 子树的根
+     * @return 平衡后的子树的根
+     */
+    private static Node balance(Node x){
+        update(x);
+        int bf = height(x.left) - height(x.right);
+        if (bf > 1){
+            if (height(x.left.left) < height(x.left.right)){
+                x.left = rotateLeft(x.left);
+            }
+            return rotateRight(x);
+        }
+        if (bf < -1){
+            if (height(x.right.right) < height(x.right.left)){
+                x.right = rotateRight(x.right);
+            }
+            return rotateLeft(x);
+        }
+        return x;
+    }
+
+    private static Node newChunk(Object e){
+        Object[] items = new Object[INITIAL_CHUNK_CAPACITY];
+        items[0] = e;
+        return new Node(items, 1);
+    }
+
+    /**
+     * 在未满的数组块中插入元素
+     * @param x 结点
+     * @param offset 块内的位置
+     * @param e 插入的元素
+     */
+    private static void insertIntoChunk(Node x, int offset, Object e){
+        if (x.count == x.items.length){
+            x.items = Arrays.copyOf(x.items, Math.min(CHUNK_CAPACITY, x.items.length << 1));
+        }
+        System.arraycopy(x.items, offset, x.items, offset + 1, x.count - offset);
+        x.items[offset] = e;
+        x.count++;
+    }
+
+    /**
+     * 在子树中插入元素
+     * @param x 子树的根
+     * @param index 相对于子树的索引
+     * @param e 插入的元素
+     * @return 插入后子树的根
+     */
+    private static Node insert(Node x, int index, Object e){
+        if (x == null){
+            return newChunk(e);
+        }
+        int ls = size(x.left);
+        if (index < ls){
+            x.left = insert(x.left, index, e);
+        }else if (index <= ls + x.count){
+            int offset = index - ls;
+            if (x.count < CHUNK_CAPACITY){
+                insertIntoChunk(x, offset, e);
+            }else if (offset == x.count){
+                //在满块的尾部追加，直接新建一个后继块，顺序追加时每个块都是满的
+                x.right = insertLeftmost(x.right, newChunk(e));
+            }else if (offset == 0){
+                x.left = insertRightmost(x.left, newChunk(e));
+            }else{
+                //分裂：后一半移入新的块，作为中序后继插入右子树的最左侧
+                int half = x.count >>> 1;
+                int moved = x.count - half;
+                Object[] items = new Object[CHUNK_CAPACITY];
+                System.arraycopy(x.items, half, items, 0, moved);
+                Arrays.fill(x.items, half, x.count, null);
+                x.count = half;
+                Node n = new Node(items, moved);
+                if (offset <= half){
+                    insertIntoChunk(x, offset, e);
+                }else{
+                    insertIntoChunk(n, offset - half, e);
+                }
+                update(n);
+                x.right = insertLeftmost(x.right, n);
+            }
+        }else{
+            x.right = insert(x.right, index - ls - x.count, e);
+        }
+        return balance(x);
+    }
+
+    private static Node insertLeftmost(Node x, Node n){
+        if (x == null){
+            return n;
+        }
+        x.left = insertLeftmost(x.left, n);
+        return balance(x);
+    }
+
+    private static Node insertRightmost(Node x, Node n){
+        if (x == null){
+            return n;
+        }
+        x.right = insertRightmost(x.right, n);
+        return balance(x);
+    }
+
+    /**
+     * 单个元素删除的结果
+     */
+    static final class Removal {
+        /**
+         * 被删除的元素
+         */
+        Object element;
+        /**
+         * 删除后不足半满但不为空的数组块，没有则为null
+         */
+        Node underfull;
+        /**
+         * 被删除的元素在该数组块中的位置
+         */
+        int offset;
+    }
+
+    /**
+     * 在子树中删除元素
+     * @param x 子树的根
+     * @param index 相对于子树的索引
+     * @param removal 用于返回被删除的元素和不足半满的数组块
+     * @return 删除后子树的根
+     */
+    private static Node remove(Node x, int index, Removal removal){
+        int ls = size(x.left);
+        if (index < ls){
+            x.left = remove(x.left, index, removal);
+        }else if (index < ls + x.count){
+            int offset = index - ls;
+            removal.element = x.items[offset];
+            int numMoved = x.count - offset - 1;
+            if (numMoved > 0){
+                System.arraycopy(x.items, offset + 1, x.items, offset, numMoved);
+            }
+            x.items[--x.count] = null;
+            //数组块为空时删除该结点
+            if (x.count == 0){
+                return deleteNode(x);
+            }
+            if (x.count < MIN_CHUNK_COUNT){
+                removal.underfull = x;
+                removal.offset = offset;
+            }
+        }else{
+            x.right = remove(x.right, index - ls - x.count, removal);
+        }
+        return balance(x);
+    }
+
+    /**
+     * 删除数组块中从index开始的k个元素，调用方保证这些元素都在同一个块中且不会删空该块
+     * @param x 子树的根
+     * @param index 相对于子树的索引
+     * @param k 删除的个数
+     * @return 删除后子树的根
+     */
+    private static Node removeFromChunk(Node x, int index, int k){
+        int ls = size(x.left);
+        if (index < ls){
+            x.left = removeFromChunk(x.left, index, k);
+        }else if (index < ls + x.count){
+            int offset = index - ls;
+            System.arraycopy(x.items, offset + k, x.items, offset, x.count - offset - k);
+            Arrays.fill(x.items, x.count - k, x.count, null);
+            x.count -= k;
+        }else{
+            x.right = removeFromChunk(x.right, index - ls - x.count, k);
+        }
+        //树的形状没有变化，只需要更新size
+        update(x);
+        return x;
+    }
+
+    /**
+     * 把包含index的整个结点从树中摘除
+     * @param x 子树的根
+     * @param index 相对于子树的索引
+     * @param detached 用于返回被摘除的结点
+     * @return 摘除后子树的根
+     */
+    private static Node detach(Node x, int index, Node[] detached){
+        int ls = size(x.left);
+        if (index < ls){
+            x.left = detach(x.left, index, detached);
+        }else if (index < ls + x.count){
+            detached[0] = x;
+            return deleteNode(x);
+        }else{
+            x.right = detach(x.right, index - ls - x.count, detached);
+        }
+        return balance(x);
+    }
+
+    /**
+     * 插入一个结点，使它的第一个元素位于index，调用方保证index在两个数组块的边界上
+     * @param x 子树的根
+     * @param index 相对于子树的索引
+     * @param n 插入的结点
+     * @return 插入后子树的根
+     */
+    private static Node insertNode(Node x, int index, Node n){
+        if (x == null){
+            return n;
+        }
+        int ls = size(x.left);
+        if (index <= ls){
+            x.left = insertNode(x.left, index, n);
+        }else{
+            x.right = insertNode(x.right, index - ls - x.count, n);
+        }
+        return balance(x);
+    }
+
+    /**
+     * 删除结点，用其中序后继替代
+     * @param x 待删除的结点
+     * @return 删除后子树的根
+     */
+    private static Node deleteNode(Node x){
+        if (x.left == null){
+            return x.right;
+        }
+        if (x.right == null){
+            return x.left;
+        }
+        Node s = x.right;
+        while (s.left != null){
+            s = s.left;
+        }
+        s.right = removeMin(x.right);
+        s.left = x.left;
+        return balance(s);
+    }
+
+    private static Node removeMin(Node x){
+        if (x.left == null){
+            return x.right;
+        }
+        x.left = removeMin(x.left);
+        return balance(x);
+    }
+
+    /**
+     * 用于定位元素所在数组块的游标
+     */
+    static final class Cursor {
+        /**
+         * 当前的数组块
+         */
+        Node chunk;
+        /**
+         * 当前数组块第一个元素在列表中的索引
+         */
+        int start;
+
+        /**
+         * 判断索引是否在当前数组块中
+         * @param index 索引
+         * @return true则表示在当前数组块中
+         */
+        boolean covers(int index){
+            return chunk != null && index >= start && index < start + chunk.count;
+        }
+
+        /**
+         * 定位索引所在的数组块
+         * @param root 树的根
+         * @param index 索引，调用方保证在范围内
+         */
+        void seek(Node root, int index){
+            Node x = root;
+            int i = index;
+            for (;;){
+                int ls = size(x.left);
+                if (i < ls){
+                    x = x.left;
+                }else{
+                    i -= ls;
+                    if (i < x.count){
+                        chunk = x;
+                        start = index - i;
+                        return;
+                    }
+                    i -= x.count;
+                    x = x.right;
+                }
+            }
+        }
+
+        void reset(){
+            chunk = null;
+        }
+    }
+
+    /**
+     * 返回列表中元素的个数
+     * @return 元素的个数
+     */
+    @Override
+    public int size(){
+        return size(root);
+    }
+
+    /**
+     * 获取指定索引处的元素
+     * @param index 指定的索引
+     * @return 指定索引处的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index){
+        checkElementIndex(index);
+        Node x = root;
+        int i = index;
+        for (;;){
+            int ls = size(x.left);
+            if (i < ls){
+                x = x.left;
+            }else{
+                i -= ls;
+                if (i < x.count){
+                    return (E) x.items[i];
+                }
+                i -= x.count;
+                x = x.right;
+            }
+        }
+    }
+
+    /**
+     * 修改指定索引处的元素
+     * @param index 指定的索引
+     * @param element 新的元素
+     * @return 旧的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element){
+        checkElementIndex(index);
+        Node x = root;
+        int i = index;
+        for (;;){
+            int ls = size(x.left);
+            if (i < ls){
+                x = x.left;
+            }else{
+                i -= ls;
+                if (i < x.count){
+                    E oldValue = (E) x.items[i];
+                    x.items[i] = element;
+                    return oldValue;
+                }
+                i -= x.count;
+                x = x.right;
+            }
+        }
+    }
+
+    /**
+     * 在尾部添加元素
+     * @param e 添加的元素
+     * @return true则表示添加成功
+     */
+    @Override
+    public boolean add(E e){
+        root = insert(root, size(root), e);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * 在指定索引位置插入元素
+     * @param index 指定的索引位置
+     * @param element 插入的元素
+     */
+    @Override
+    public void add(int index, E element){
+        checkPositionIndex(index);
+        root = insert(root, index, element);
+        modCount++;
+    }
+
+    /**
+     * 删除指定索引位置上的元素
+     * @param index 指定的索引位置
+     * @return 删除的元素
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index){
+        checkElementIndex(index);
+        Removal removal = new Removal();
+        root = remove(root, index, removal);
+        if (removal.underfull != null){
+            mergeChunk(removal.underfull, index - removal.offset);
+        }
+        modCount++;
+        return (E) removal.element;
+    }
+
+    /**
+     * 把不足半满的数组块与后继块(没有后继时与前驱块)合并
+     * 两块的元素放得进一个块时合成一块，否则平分成两个至少半满的块
+     * 只摘除和插入结点，为O(log n)
+     * @param u 不足半满的数组块
+     * @param start u的第一个元素在列表中的索引
+     */
+    private void mergeChunk(Node u, int start){
+        int from;
+        Node[] detached = new Node[1];
+        Node a, b;
+        if (start + u.count < size()){
+            root = detach(root, start, detached);
+            a = detached[0];
+            //u摘除后后继块从start开始
+            root = detach(root, start, detached);
+            b = detached[0];
+            from = start;
+        }else if (start > 0){
+            root = detach(root, start, detached);
+            b = detached[0];
+            root = detach(root, start - 1, detached);
+            a = detached[0];
+            from = start - a.count;
+        }else{
+            //唯一的块
+            return;
+        }
+        int n = a.count + b.count;
+        Object[] all = Arrays.copyOf(a.items, Math.max(n, CHUNK_CAPACITY));
+        System.arraycopy(b.items, 0, all, a.count, b.count);
+        if (n <= CHUNK_CAPACITY){
+            root = insertNode(root, from, new Node(all, n));
+        }else{
+            int half = n >>> 1;
+            Object[] left = new Object[CHUNK_CAPACITY];
+            Object[] right = new Object[CHUNK_CAPACITY];
+            System.arraycopy(all, 0, left, 0, half);
+            System.arraycopy(all, half, right, 0, n - half);
+            root = insertNode(root, from, new Node(left, half));
+            root = insertNode(root, from + half, new Node(right, n - half));
+        }
+    }
+
+    /**
+     * 清空列表
+     */
+    @Override
+    public void clear(){
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * 删除指定索引区间中的元素
+     * @param fromIndex 开始的索引
+     * @param toIndex 结束的索引
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex){
+        if (fromIndex == 0 && toIndex == size()){
+            clear();
+            return;
+        }
+        int remaining = toIndex - fromIndex;
+        Cursor c = new Cursor();
+        Node[] detached = new Node[1];
+        while (remaining > 0){
+            c.seek(root, fromIndex);
+            int offset = fromIndex - c.start;
+            int k = Math.min(c.chunk.count - offset, remaining);
+            if (k == c.chunk.count){
+                //区间覆盖整个数组块，直接摘除结点
+                root = detach(root, fromIndex, detached);
+            }else{
+                //只有区间两端的块是部分删除
+                root = removeFromChunk(root, fromIndex, k);
+            }
+            remaining -= k;
+        }
+        //区间两侧的块可能不足半满
+        if (fromIndex > 0){
+            c.seek(root, fromIndex - 1);
+            if (c.chunk.count < MIN_CHUNK_COUNT){
+                mergeChunk(c.chunk, c.start);
+            }
+        }
+        if (fromIndex < size()){
+            c.seek(root, fromIndex);
+            if (c.chunk.count < MIN_CHUNK_COUNT){
+                mergeChunk(c.chunk, c.start);
+            }
+        }
+        modCount++;
+    }
+
+    private String outOfBoundsMsg(int index){
+        return "Index: " + index + ", Size: " + size();
+    }
+
+    private void checkElementIndex(int index){
+        if (index < 0 || index >= size()){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    private void checkPositionIndex(int index){
+        if (index < 0 || index > size()){
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+        }
+    }
+
+    //迭代器
+
+    @Override
+    public Iterator<E> iterator(){
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(){
+        return new ListItr(0);
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index){
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * 列表迭代器
+     * 缓存当前所在的数组块，块内移动为O(1)，跨块时才重新从根定位
+     */
+    private class ListItr implements ListIterator<E>{
+        //下一个元素的索引位置
+        int cursor;
+        //上一个返回元素的索引位置
+        int lastRet = -1;
+        //预期被修改的次数
+        int expectedModCount = modCount;
+        //当前所在的数组块
+        final Cursor chunk = new Cursor();
+
+        ListItr(int index){
+            cursor = index;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return cursor != size();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            checkForComodification();
+            int i = cursor;
+            if (i >= size()){
+                throw new NoSuchElementException();
+            }
+            if (!chunk.covers(i)){
+                chunk.seek(root, i);
+            }
+            cursor = i + 1;
+            return (E) chunk.chunk.items[(lastRet = i) - chunk.start];
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return cursor != 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous(){
+            checkForComodification();
+            int i = cursor - 1;
+            if (i < 0){
+                throw new NoSuchElementException();
+            }
+            if (!chunk.covers(i)){
+                chunk.seek(root, i);
+            }
+            cursor = i;
+            return (E) chunk.chunk.items[(lastRet = i) - chunk.start];
+        }
+
+        @Override
+        public int nextIndex(){
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex(){
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove(){
+            if (lastRet < 0){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+
+            MyTreeList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            //树结构已改变，需要重新定位
+            chunk.reset();
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e){
+            if (lastRet < 0){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            if (!chunk.covers(lastRet)){
+                chunk.seek(root, lastRet);
+            }
+            chunk.chunk.items[lastRet - chunk.start] = e;
+        }
+
+        @Override
+        public void add(E e){
+            checkForComodification();
+
+            int i = cursor;
+            MyTreeList.this.add(i, e);
+            cursor = i + 1;
+            lastRet = -1;
+            chunk.reset();
+            expectedModCount = modCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action){
+            Objects.requireNonNull(action);
+            final int size = size();
+            int i = cursor;
+            while (i < size && modCount == expectedModCount){
+                if (!chunk.covers(i)){
+                    chunk.seek(root, i);
+                }
+                //一次处理一整个数组块
+                final Object[] items = chunk.chunk.items;
+                int end = Math.min(chunk.start + chunk.chunk.count, size);
+                for (int j = i - chunk.start, k = end - chunk.start; j < k; j++){
+                    action.accept((E) items[j]);
+                }
+                i = end;
+            }
+            //没有遍历任何元素时保持lastRet不变，之后的remove/set仍然按原来的状态检查
+            if (i > cursor){
+                cursor = i;
+                lastRet = i - 1;
+            }
+            checkForComodification();
+        }
+
+        final void checkForComodification(){
+            if (modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * 按数组块分割的并行遍历迭代器
+     * @return 并行遍历迭代器
+     */
+    @Override
+    public Spliterator<E> spliterator(){
+        return new TreeListSpliterator<>(this, 0, -1, 0);
+    }
+
+    static final class TreeListSpliterator<E> implements Spliterator<E>{
+        //少于该数量的元素不再分割
+        static final int MIN_SPLIT = CHUNK_CAPACITY;
+        //用于存放列表对象
+        private final MyTreeList<E> list;
+        //起始位置(包含)
+        private int index;
+        //结束位置(不包含),-1表示到最后的位置
+        private int fence;
+        //存放list中的modCount
+        private int expectedModCount;
+        //当前所在的数组块
+        private final Cursor chunk = new Cursor();
+
+        TreeListSpliterator(MyTreeList<E> list, int origin, int fence, int expectedModCount){
+            this.list = list;
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence(){
+            int hi;
+            if ((hi = fence) < 0){
+                expectedModCount = list.modCount;
+                hi = fence = list.size();
+            }
+            return hi;
+        }
+
+        /**
+         * 在靠近中间的数组块边界处分割，使每个子任务都按整块遍历
+         * @return 前一半的并行遍历迭代器
+         */
+        @Override
+        public Spliterator<E> trySplit(){
+            int hi = getFence(), lo = index;
+            if (hi - lo <= MIN_SPLIT){
+                return null;
+            }
+            int mid = (lo + hi) >>> 1;
+            checkForComodification();
+            chunk.seek(list.root, mid);
+            int split = chunk.start;
+            if (split <= lo){
+                split = chunk.start + chunk.chunk.count;
+            }
+            if (split >= hi){
+                split = mid;
+            }
+            return new TreeListSpliterator<>(list, lo, index = split, expectedModCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            if (i < hi){
+                checkForComodification();
+                if (!chunk.covers(i)){
+                    chunk.seek(list.root, i);
+                }
+                index = i + 1;
+                action.accept((E) chunk.chunk.items[i - chunk.start]);
+                checkForComodification();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action){
+            if (action == null){
+                throw new NullPointerException();
+            }
+            int hi = getFence(), i = index;
+            index = hi;
+            while (i < hi){
+                checkForComodification();
+                if (!chunk.covers(i)){
+                    chunk.seek(list.root, i);
+                }
+                final Object[] items = chunk.chunk.items;
+                int end = Math.min(chunk.start + chunk.chunk.count, hi);
+                for (int j = i - chunk.start, k = end - chunk.start; j < k; j++){
+                    action.accept((E) items[j]);
+                }
+                i = end;
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification(){
+            if (list.modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize(){
+            return (long) (getFence() - index);
+        }
+
+        @Override
+        public int characteristics(){
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * 将实例的状态保存到流
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        s.writeInt(size());
+        for (E e : this){
+            s.writeObject(e);
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 从流中读取实例，反序列化
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+
+        int size = s.readInt();
+        for (int i = 0; i < size; i++){
+            add((E) s.readObject());
+        }
+    }
+}
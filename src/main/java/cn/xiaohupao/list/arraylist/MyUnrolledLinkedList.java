@@ -0,0 +1,775 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 展开链表，每个结点保存一个小数组，同时实现了Deque
+ * 1.结点中的元素连续存放在items[0, count)中，遍历时大部分访问都在同一个数组内，局部性接近数组；
+ * 2.在迭代器位置插入只移动所在结点内的元素，结点满时分裂为两个，在结点的边界上插入时直接新建结点；
+ * 3.删除后结点元素不足容量的1/4时，与相邻的结点合并(合并后不超过容量)，空结点直接移除；
+ * 4.按索引访问需要逐个结点跳过，为O(n/结点容量)。
+ * 与LinkedList一样允许null元素，此时poll/peek返回null有歧义
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 21:40
+ */
+public class MyUnrolledLinkedList<E> extends MyAbstractSequentialList<E> implements List<E>, Deque<E>, Cloneable, Serializable {
+
+    /**
+     * 序列化ID
+     */
+    private static final long serialVersionUID = 1998102519960231L;
+
+    /**
+     * 默认的结点容量
+     */
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+
+    /**
+     * 最小的结点容量
+     */
+    private static final int MIN_NODE_CAPACITY = 4;
+
+    /**
+     * 每个结点最多保存的元素个数
+     */
+    private final int nodeCapacity;
+
+    /**
+     * 元素的个数
+     */
+    transient int size;
+
+    /**
+     * 头结点，链表为空时为null
+     */
+    transient Node<E> first;
+
+    /**
+     * 尾结点，链表为空时为null
+     */
+    transient Node<E> last;
+
+    /**
+     * 无参构造，结点容量为64
+     */
+    public MyUnrolledLinkedList(){
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * 指定结点容量的构造器
+     * @param nodeCapacity 每个结点最多保存的元素个数
+     */
+    public MyUnrolledLinkedList(int nodeCapacity){
+        if (nodeCapacity < MIN_NODE_CAPACITY){
+            throw new IllegalArgumentException("Illegal node capacity: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * 通过给定的集合构造
+     * @param c 集合
+     */
+    public MyUnrolledLinkedList(@NotNull Collection<? extends E> c){
+        this();
+        addAll(c);
+    }
+
+    //结点的插入与删除
+
+    /**
+     * 在结点x的off位置插入元素，x满时先分裂
+     * @param x 结点，链表为空时为null
+     * @param off 插入的位置，0 <= off <= x.count
+     * @param e 插入的元素
+     * @param it 不为null时，把它的游标移到插入元素之后
+     */
+    private void insertAt(Node<E> x, int off, E e, ListItr it){
+        if (x == null){
+            x = first = last = new Node<>(nodeCapacity);
+        }else if (x.count == nodeCapacity){
+            Node<E> p;
+            if (off == x.count){
+                //在尾部追加，优先放入后继结点，否则新建结点
+                p = x.next;
+                if (p == null || p.count == nodeCapacity){
+                    p = linkNodeAfter(x);
+                }
+                x = p;
+                off = 0;
+            }else if (off == 0){
+                p = x.prev;
+                if (p == null || p.count == nodeCapacity){
+                    p = linkNodeBefore(x);
+                }
+                x = p;
+                off = p.count;
+            }else{
+                //从中间分裂，后一半移入新结点
+                int half = x.count >> 1;
+                p = linkNodeAfter(x);
+                int moved = x.count - half;
+                System.arraycopy(x.items, half, p.items, 0, moved);
+                Arrays.fill(x.items, half, x.count, null);
+                p.count = moved;
+                x.count = half;
+                if (off > half){
+                    x = p;
+                    off -= half;
+                }
+            }
+        }
+        Object[] items = x.items;
+        System.arraycopy(items, off, items, off + 1, x.count - off);
+        items[off] = e;
+        x.count++;
+        size++;
+        modCount++;
+        if (it != null){
+            it.node = x;
+            it.offset = off + 1;
+        }
+    }
+
+    /**
+     * 删除结点x中off位置的元素，之后按需合并或者移除结点
+     * @param x 结点
+     * @param off 删除的位置
+     * @param it 不为null时，把它的游标移到被删除元素原来的位置
+     * @return 被删除的元素
+     */
+    @SuppressWarnings("unchecked")
+    private E removeAt(Node<E> x, int off, ListItr it){
+        Object[] items = x.items;
+        E element = (E) items[off];
+        int numMoved = x.count - off - 1;
+        if (numMoved > 0){
+            System.arraycopy(items, off + 1, items, off, numMoved);
+        }
+        items[--x.count] = null;
+        size--;
+        modCount++;
+
+        Node<E> p;
+        if (x.count == 0){
+            //空结点直接移除
+            Node<E> next = x.next, prev = x.prev;
+            unlinkNode(x);
+            if (next != null){
+                x = next;
+                off = 0;
+            }else{
+                x = prev;
+                off = (prev == null) ? 0 : prev.count;
+            }
+        }else if (x.count < (nodeCapacity >> 2)){
+            if ((p = x.next) != null && x.count + p.count <= nodeCapacity){
+                //把后继合并进来
+                System.arraycopy(p.items, 0, items, x.count, p.count);
+                x.count += p.count;
+                unlinkNode(p);
+            }else if ((p = x.prev) != null && p.count + x.count <= nodeCapacity){
+                //合并进前驱
+                System.arraycopy(items, 0, p.items, p.count, x.count);
+                off += p.count;
+                p.count += x.count;
+                unlinkNode(x);
+                x = p;
+            }
+        }
+        if (it != null){
+            it.node = x;
+            it.offset = off;
+        }
+        return element;
+    }
+
+    private Node<E> linkNodeAfter(Node<E> x){
+        Node<E> p = new Node<>(nodeCapacity);
+        Node<E> next = x.next;
+        p.prev = x;
+        p.next = next;
+        x.next = p;
+        if (next == null){
+            last = p;
+        }else{
+            next.prev = p;
+        }
+        return p;
+    }
+
+    private Node<E> linkNodeBefore(Node<E> x){
+        Node<E> p = new Node<>(nodeCapacity);
+        Node<E> prev = x.prev;
+        p.next = x;
+        p.prev = prev;
+        x.prev = p;
+        if (prev == null){
+            first = p;
+        }else{
+            prev.next = p;
+        }
+        return p;
+    }
+
+    private void unlinkNode(Node<E> x){
+        Node<E> next = x.next, prev = x.prev;
+        if (prev == null){
+            first = next;
+        }else{
+            prev.next = next;
+        }
+        if (next == null){
+            last = prev;
+        }else{
+            next.prev = prev;
+        }
+        x.next = x.prev = null;
+    }
+
+    //双端队列操作
+
+    @Override
+    public void addFirst(E e){
+        insertAt(first, 0, e, null);
+    }
+
+    @Override
+    public void addLast(E e){
+        Node<E> l = last;
+        insertAt(l, (l == null) ? 0 : l.count, e, null);
+    }
+
+    @Override
+    public boolean offerFirst(E e){
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst(){
+        if (first == null){
+            throw new NoSuchElementException();
+        }
+        return removeAt(first, 0, null);
+    }
+
+    @Override
+    public E removeLast(){
+        Node<E> l = last;
+        if (l == null){
+            throw new NoSuchElementException();
+        }
+        return removeAt(l, l.count - 1, null);
+    }
+
+    @Override
+    public E pollFirst(){
+        return (first == null) ? null : removeAt(first, 0, null);
+    }
+
+    @Override
+    public E pollLast(){
+        Node<E> l = last;
+        return (l == null) ? null : removeAt(l, l.count - 1, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getFirst(){
+        if (first == null){
+            throw new NoSuchElementException();
+        }
+        return (E) first.items[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E getLast(){
+        Node<E> l = last;
+        if (l == null){
+            throw new NoSuchElementException();
+        }
+        return (E) l.items[l.count - 1];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst(){
+        return (first == null) ? null : (E) first.items[0];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast(){
+        Node<E> l = last;
+        return (l == null) ? null : (E) l.items[l.count - 1];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o){
+        return remove(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o){
+        ListItr it = new ListItr(size);
+        while (it.hasPrevious()){
+            if (Objects.equals(o, it.previous())){
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean offer(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove(){
+        return removeFirst();
+    }
+
+    @Override
+    public E poll(){
+        return pollFirst();
+    }
+
+    @Override
+    public E element(){
+        return getFirst();
+    }
+
+    @Override
+    public E peek(){
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e){
+        addFirst(e);
+    }
+
+    @Override
+    public E pop(){
+        return removeFirst();
+    }
+
+    //列表操作
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public boolean add(E e){
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o){
+        ListItr it = new ListItr(0);
+        while (it.hasNext()){
+            if (Objects.equals(o, it.next())){
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean contains(Object o){
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o){
+        int index = 0;
+        for (Node<E> x = first; x != null; x = x.next){
+            Object[] items = x.items;
+            for (int i = 0, n = x.count; i < n; i++){
+                if (Objects.equals(o, items[i])){
+                    return index + i;
+                }
+            }
+            index += x.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o){
+        int index = size;
+        for (Node<E> x = last; x != null; x = x.prev){
+            index -= x.count;
+            Object[] items = x.items;
+            for (int i = x.count - 1; i >= 0; i--){
+                if (Objects.equals(o, items[i])){
+                    return index + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void clear(){
+        for (Node<E> x = first; x != null;){
+            Node<E> next = x.next;
+            Arrays.fill(x.items, 0, x.count, null);
+            x.next = x.prev = null;
+            x = next;
+        }
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray(){
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node<E> x = first; x != null; x = x.next){
+            System.arraycopy(x.items, 0, result, i, x.count);
+            i += x.count;
+        }
+        return result;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T @NotNull [] a){
+        if (a.length < size){
+            a = (T[]) java.lang.reflect.Array.newInstance(a.getClass().getComponentType(), size);
+        }
+        int i = 0;
+        for (Node<E> x = first; x != null; x = x.next){
+            System.arraycopy(x.items, 0, a, i, x.count);
+            i += x.count;
+        }
+        if (a.length > size){
+            a[size] = null;
+        }
+        return a;
+    }
+
+    private void checkPositionIndex(int index){
+        if (index < 0 || index > size){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    //迭代器
+
+    @Override
+    public ListIterator<E> listIterator(int index){
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * 列表迭代器，游标由结点和结点内的位置表示，next/previous在结点内只移动下标
+     */
+    private class ListItr implements ListIterator<E>{
+        /**
+         * 游标所在的结点，游标在node.items[offset]之前；链表为空时为null
+         */
+        Node<E> node;
+        /**
+         * 游标在结点中的位置，0 <= offset <= node.count
+         */
+        int offset;
+        /**
+         * 下一个要返回元素的索引
+         */
+        int nextIndex;
+        /**
+         * 上一次返回的元素所在的结点，为null表示没有
+         */
+        Node<E> lastNode;
+        int lastOffset;
+        int expectedModCount = modCount;
+
+        ListItr(int index){
+            nextIndex = index;
+            Node<E> x;
+            int i;
+            if (index < (size >> 1)){
+                x = first;
+                i = index;
+                while (i >= x.count && x.next != null){
+                    i -= x.count;
+                    x = x.next;
+                }
+            }else if ((x = last) != null){
+                i = index - (size - x.count);
+                while (i < 0){
+                    x = x.prev;
+                    i += x.count;
+                }
+            }else{
+                i = 0;
+            }
+            node = x;
+            offset = i;
+        }
+
+        @Override
+        public boolean hasNext(){
+            return nextIndex < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next(){
+            checkForComodification();
+            if (!hasNext()){
+                throw new NoSuchElementException();
+            }
+            if (offset == node.count){
+                node = node.next;
+                offset = 0;
+            }
+            lastNode = node;
+            lastOffset = offset;
+            nextIndex++;
+            return (E) node.items[offset++];
+        }
+
+        @Override
+        public boolean hasPrevious(){
+            return nextIndex > 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E previous(){
+            checkForComodification();
+            if (!hasPrevious()){
+                throw new NoSuchElementException();
+            }
+            if (offset == 0){
+                node = node.prev;
+                offset = node.count;
+            }
+            lastNode = node;
+            lastOffset = --offset;
+            nextIndex--;
+            return (E) node.items[offset];
+        }
+
+        @Override
+        public int nextIndex(){
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex(){
+            return nextIndex - 1;
+        }
+
+        @Override
+        public void remove(){
+            if (lastNode == null){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            //lastNode/lastOffset在游标之前说明上一次调用的是next
+            if (lastNode != node || lastOffset != offset){
+                nextIndex--;
+            }
+            removeAt(lastNode, lastOffset, this);
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(E e){
+            if (lastNode == null){
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            lastNode.items[lastOffset] = e;
+        }
+
+        @Override
+        public void add(E e){
+            checkForComodification();
+            lastNode = null;
+            insertAt(node, offset, e, this);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action){
+            Objects.requireNonNull(action);
+            checkForComodification();
+            Node<E> x = node;
+            int i = offset;
+            while (nextIndex < size){
+                if (i == x.count){
+                    x = x.next;
+                    i = 0;
+                }
+                //一次处理当前结点中剩余的元素
+                int n = Math.min(x.count - i, size - nextIndex);
+                Object[] items = x.items;
+                for (int end = i + n; i < end; i++){
+                    action.accept((E) items[i]);
+                }
+                nextIndex += n;
+                checkForComodification();
+            }
+            if (x != node || i != offset){
+                node = x;
+                offset = i;
+                lastNode = x;
+                lastOffset = i - 1;
+            }
+        }
+
+        final void checkForComodification(){
+            if (modCount != expectedModCount){
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * 从尾到头的迭代器
+     * @return 迭代器
+     */
+    @NotNull
+    @Override
+    public Iterator<E> descendingIterator(){
+        return new DescendingItr();
+    }
+
+    private class DescendingItr implements Iterator<E>{
+        private final ListItr itr = new ListItr(size);
+
+        @Override
+        public boolean hasNext(){
+            return itr.hasPrevious();
+        }
+
+        @Override
+        public E next(){
+            return itr.previous();
+        }
+
+        @Override
+        public void remove(){
+            itr.remove();
+        }
+    }
+
+    @Override
+    public Spliterator<E> spliterator(){
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * 展开链表的结点
+     * @param <E> 元素的类型
+     */
+    private static final class Node<E>{
+        /**
+         * 元素，有效的部分为items[0, count)，其余位置为null
+         */
+        final Object[] items;
+        /**
+         * 元素的个数
+         */
+        int count;
+        Node<E> prev;
+        Node<E> next;
+
+        Node(int capacity){
+            items = new Object[capacity];
+        }
+    }
+
+    /**
+     * 克隆，按顺序重新填满结点
+     * @return 克隆的对象
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object clone(){
+        try {
+            MyUnrolledLinkedList<E> clone = (MyUnrolledLinkedList<E>) super.clone();
+            clone.first = clone.last = null;
+            clone.size = 0;
+            clone.modCount = 0;
+            for (Node<E> x = first; x != null; x = x.next){
+                for (int i = 0; i < x.count; i++){
+                    clone.addLast((E) x.items[i]);
+                }
+            }
+            return clone;
+        }catch (CloneNotSupportedException e){
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * 序列化，写出结点容量、元素个数以及按顺序的元素
+     * @param s 序列化流
+     * @throws java.io.IOException
+     */
+    private void writeObject(java.io.ObjectOutputStream s) throws java.io.IOException{
+        int expectedModCount = modCount;
+        s.defaultWriteObject();
+
+        s.writeInt(size);
+        for (Node<E> x = first; x != null; x = x.next){
+            for (int i = 0; i < x.count; i++){
+                s.writeObject(x.items[i]);
+            }
+        }
+
+        if (modCount != expectedModCount){
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * 反序列化，元素按顺序填满结点
+     * @param s 读取序列化流
+     * @throws java.io.IOException
+     * @throws ClassNotFoundException
+     */
+    @SuppressWarnings("unchecked")
+    private void readObject(java.io.ObjectInputStream s) throws java.io.IOException, ClassNotFoundException{
+        s.defaultReadObject();
+        if (nodeCapacity < MIN_NODE_CAPACITY){
+            throw new java.io.InvalidObjectException("Illegal node capacity: " + nodeCapacity);
+        }
+
+        int n = s.readInt();
+        for (int i = 0; i < n; i++){
+            addLast((E) s.readObject());
+        }
+    }
+}
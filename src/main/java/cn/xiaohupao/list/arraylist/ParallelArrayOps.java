@@ -0,0 +1,132 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * 基于数组的列表使用的并行批量操作
+ * 把数组分成若干块，在fork-join线程池中逐块处理：
+ * 1.标记阶段并行地对每个元素求值，把结果记在位图中，同时统计每块保留的元素个数；
+ * 2.对各块的个数求前缀和，得到每块在结果中的起始位置；
+ * 3.搬移阶段并行地把各块保留的元素复制到目标数组的对应位置。
+ * 标记阶段不修改源数组，谓词抛出异常时源数组保持原样；
+ * 逐元素替换没有搬移，各块直接并行地写回自己的范围
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 20:30
+ */
+final class ParallelArrayOps {
+
+    /**
+     * 元素个数达到该值才使用并行路径，更小的数组分块和线程调度的开销超过收益
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 17;
+
+    /**
+     * 每块的最小元素个数，是64的倍数，保证不同的块不会写位图中的同一个long
+     */
+    static final int MIN_CHUNK = 1 << 13;
+
+    private ParallelArrayOps(){
+    }
+
+    /**
+     * 当前线程池的并行度
+     * @return 并行度
+     */
+    static int parallelism(){
+        return ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+    }
+
+    /**
+     * 是否值得对size个元素使用并行路径
+     * @param size 元素个数
+     * @return true则使用并行路径
+     */
+    static boolean useParallel(int size){
+        return size >= PARALLEL_THRESHOLD && parallelism() > 1;
+    }
+
+    /**
+     * 计算每块的元素个数，每个工作线程大约分到4块，便于负载均衡
+     * @param size 元素个数
+     * @return 每块的元素个数，是64的倍数
+     */
+    static int chunkSize(int size){
+        int n = size / (Math.max(parallelism(), 1) << 2);
+        if (n < MIN_CHUNK){
+            n = MIN_CHUNK;
+        }
+        return (n + 63) & ~63;
+    }
+
+    /**
+     * 并行地把src[0, size)中满足keep的元素按原顺序复制到dest的开头
+     * @param src 源数组
+     * @param size 源数组中元素的个数
+     * @param keep 为true的元素被保留，可能被多个线程同时调用
+     * @param dest 目标数组，长度至少为size，可以就是src之外的任意数组
+     * @return 保留的元素个数
+     */
+    static int filter(final Object[] src, final int size, final Predicate<Object> keep, final Object[] dest){
+        final int chunk = chunkSize(size);
+        final int chunks = (size + chunk - 1) / chunk;
+        final long[] marks = new long[(size + 63) >>> 6];
+        final int[] offsets = new int[chunks + 1];
+
+        //标记：offsets[k + 1]暂存第k块保留的个数
+        IntStream.range(0, chunks).parallel().forEach(k -> {
+            int from = k * chunk, to = Math.min(from + chunk, size);
+            int kept = 0;
+            for (int i = from; i < to; i++){
+                if (keep.test(src[i])){
+                    marks[i >>> 6] |= 1L << i;
+                    kept++;
+                }
+            }
+            offsets[k + 1] = kept;
+        });
+
+        //前缀和：offsets[k]为第k块在dest中的起始位置
+        for (int k = 0; k < chunks; k++){
+            offsets[k + 1] += offsets[k];
+        }
+        if (offsets[chunks] == 0){
+            return 0;
+        }
+
+        //搬移
+        IntStream.range(0, chunks).parallel().forEach(k -> {
+            int from = k * chunk, to = Math.min(from + chunk, size);
+            int w = offsets[k];
+            for (int i = from; i < to; i++){
+                if ((marks[i >>> 6] & (1L << i)) != 0){
+                    dest[w++] = src[i];
+                }
+            }
+        });
+        return offsets[chunks];
+    }
+
+    /**
+     * 并行地把a[0, size)中的每个元素替换为operator的结果
+     * @param a 数组
+     * @param size 数组中元素的个数
+     * @param operator 替换函数，可能被多个线程同时调用
+     */
+    @SuppressWarnings("unchecked")
+    static <E> void replaceAll(final Object[] a, final int size, final UnaryOperator<E> operator){
+        final int chunk = chunkSize(size);
+        final int chunks = (size + chunk - 1) / chunk;
+        IntStream.range(0, chunks).parallel().forEach(k -> {
+            int from = k * chunk, to = Math.min(from + chunk, size);
+            for (int i = from; i < to; i++){
+                a[i] = operator.apply((E) a[i]);
+            }
+        });
+    }
+}
@@ -0,0 +1,102 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * CopyOnWriteMyArrayList和它的subList
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:55
+ */
+public class CopyOnWriteMyArrayListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 10; seed++){
+            ListDiff.run(new CopyOnWriteMyArrayList<>(), seed, 1500);
+        }
+    }
+
+    @Test
+    public void subListMatchesArrayList(){
+        for (long seed = 0; seed < 10; seed++){
+            List<Integer> parent = new CopyOnWriteMyArrayList<>();
+            for (int i = 0; i < 300; i++){
+                parent.add(i);
+            }
+            List<Integer> ref = new ArrayList<>(parent);
+            ListDiff.run(parent.subList(50, 250), seed, 500);
+            //两边的元素不受影响
+            assertEquals(ref.subList(0, 50), parent.subList(0, 50));
+            assertEquals(ref.subList(250, 300), parent.subList(parent.size() - 50, parent.size()));
+        }
+    }
+
+    @Test
+    public void nestedSubListPropagatesToParents(){
+        List<Integer> list = new CopyOnWriteMyArrayList<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7));
+        List<Integer> outer = list.subList(1, 7);
+        List<Integer> inner = outer.subList(1, 5);
+        inner.remove(0);
+        inner.add(99);
+        assertEquals(Arrays.asList(3, 4, 5, 99), inner);
+        assertEquals(Arrays.asList(1, 3, 4, 5, 99, 6), outer);
+        assertEquals(Arrays.asList(0, 1, 3, 4, 5, 99, 6, 7), list);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void subListDetectsWritesThroughTheList(){
+        List<Integer> list = new CopyOnWriteMyArrayList<>(Arrays.asList(1, 2, 3));
+        List<Integer> sub = list.subList(0, 2);
+        list.add(4);
+        sub.get(0);
+    }
+
+    @Test
+    public void iteratorIsSnapshot(){
+        List<Integer> list = new CopyOnWriteMyArrayList<>(Arrays.asList(1, 2, 3));
+        Iterator<Integer> it = list.iterator();
+        list.clear();
+        List<Integer> seen = new ArrayList<>();
+        it.forEachRemaining(seen::add);
+        assertEquals(Arrays.asList(1, 2, 3), seen);
+    }
+
+    @Test
+    public void concurrentWritersThroughSubList() throws Exception{
+        final List<Integer> list = new CopyOnWriteMyArrayList<>();
+        final int threads = 4, perThread = 500;
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++){
+            final int base = t * perThread;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++){
+                        list.add(base + i);
+                        //读者只通过快照遍历，不会抛出异常
+                        for (Integer ignored : list){
+                        }
+                    }
+                }catch (Throwable e){
+                    failure.compareAndSet(null, e);
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread w : workers){
+            w.join();
+        }
+        assertNull(failure.get());
+        assertEquals(threads * perThread, list.size());
+        assertEquals(threads * perThread, new HashSet<>(list).size());
+    }
+}
@@ -0,0 +1,114 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * ListChannelSerializer的整体读取和按需读取
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:20
+ */
+public class ListChannelSerializerTest {
+
+    private static byte[] write(Collection<String> c) throws IOException{
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ListChannelSerializer.write(Channels.newChannel(out), ElementCodec.STRING, c);
+        return out.toByteArray();
+    }
+
+    private static List<String> strings(int n){
+        List<String> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++){
+            //长短不一，跨越多个批次
+            list.add(i % 7 == 0 ? "" : "element-" + i + "-" + new String(new char[i % 50]).replace('\0', 'x'));
+        }
+        return list;
+    }
+
+    @Test
+    public void roundTrip() throws IOException{
+        for (int n : new int[]{0, 1, 1000, 100_000}){
+            List<String> expected = strings(n);
+            byte[] bytes = write(expected);
+            assertEquals(expected, ListChannelSerializer.readArrayList(
+                    Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.STRING));
+            assertEquals(expected, ListChannelSerializer.readLinkedList(
+                    Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.STRING));
+        }
+    }
+
+    @Test
+    public void iteratorDecodesOnDemand() throws IOException{
+        List<String> expected = strings(50_000);
+        byte[] bytes = write(expected);
+        try (ListChannelSerializer.ElementIterator<String> it =
+                     ListChannelSerializer.iterator(new ByteArrayInputStream(bytes), ElementCodec.STRING)){
+            assertEquals(expected.size(), it.size());
+            List<String> actual = new ArrayList<>();
+            it.forEachRemaining(actual::add);
+            assertEquals(expected, actual);
+            assertFalse(it.hasNext());
+        }
+    }
+
+    @Test
+    public void streamStopsEarly() throws IOException{
+        List<String> expected = strings(50_000);
+        byte[] bytes = write(expected);
+        try (Stream<String> s = ListChannelSerializer.stream(new ByteArrayInputStream(bytes), ElementCodec.STRING)){
+            assertEquals(expected.subList(0, 10), s.limit(10).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void truncatedInputFails() throws IOException{
+        byte[] bytes = write(strings(1000));
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 5);
+        try {
+            ListChannelSerializer.readArrayList(Channels.newChannel(new ByteArrayInputStream(truncated)), ElementCodec.STRING);
+            fail();
+        }catch (IOException expected){
+        }
+    }
+
+    @Test
+    public void hugeCountInHeaderDoesNotPresize() throws IOException{
+        byte[] bytes = write(Collections.<String>emptyList());
+        //把文件头中的元素个数改成Integer.MAX_VALUE，读取只应因数据不足而失败，而不是先分配巨大的数组
+        bytes[8] = (byte) 0xff;
+        bytes[9] = (byte) 0xff;
+        bytes[10] = (byte) 0xff;
+        bytes[11] = (byte) 0x7f;
+        try {
+            ListChannelSerializer.readArrayList(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.STRING);
+            fail();
+        }catch (IOException expected){
+        }
+    }
+
+    @Test
+    public void corruptStringLengthIsRejected() throws IOException{
+        byte[] bytes = write(Collections.singletonList("abc"));
+        //文件头12字节、批头8字节之后是字符串的长度
+        for (int len : new int[]{Integer.MAX_VALUE, 4, -2}){
+            ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(20, len);
+            try {
+                ListChannelSerializer.readArrayList(Channels.newChannel(new ByteArrayInputStream(bytes)), ElementCodec.STRING);
+                fail("length " + len);
+            }catch (StreamCorruptedException expected){
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package cn.xiaohupao.list.arraylist;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 把同样的随机操作同时作用在被测列表和java.util.ArrayList上，每一步比较结果
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:40
+ */
+final class ListDiff {
+
+    private ListDiff(){
+    }
+
+    /**
+     * 执行随机的增删改和区间删除，并比较两个列表
+     * @param list 被测列表，只存放非null的Integer
+     * @param seed 随机种子
+     * @param ops 操作次数
+     */
+    static void run(List<Integer> list, long seed, int ops){
+        Random r = new Random(seed);
+        List<Integer> ref = new ArrayList<>(list);
+        for (int op = 0; op < ops; op++){
+            int n = ref.size();
+            int k = r.nextInt(12);
+            String step = "seed " + seed + ", op " + op;
+            if (k < 3 || n == 0){
+                int v = r.nextInt();
+                assertEquals(step, ref.add(v), list.add(v));
+            }else if (k < 5){
+                int i = r.nextInt(n + 1), v = r.nextInt();
+                ref.add(i, v);
+                list.add(i, v);
+            }else if (k < 7){
+                int i = r.nextInt(n);
+                assertEquals(step, ref.remove(i), list.remove(i));
+            }else if (k < 8){
+                int i = r.nextInt(n), v = r.nextInt();
+                assertEquals(step, ref.set(i, v), list.set(i, v));
+            }else if (k < 9){
+                int i = r.nextInt(n);
+                assertEquals(step, ref.get(i), list.get(i));
+            }else if (k < 10){
+                int from = r.nextInt(n + 1), to = from + r.nextInt(Math.min(n - from, 100) + 1);
+                ref.subList(from, to).clear();
+                list.subList(from, to).clear();
+            }else if (k < 11){
+                List<Integer> batch = new ArrayList<>();
+                for (int i = r.nextInt(150); i > 0; i--){
+                    batch.add(r.nextInt());
+                }
+                int i = r.nextInt(n + 1);
+                assertEquals(step, ref.addAll(i, batch), list.addAll(i, batch));
+            }else{
+                Integer o = ref.get(r.nextInt(n));
+                assertEquals(step, ref.indexOf(o), list.indexOf(o));
+                assertEquals(step, ref.lastIndexOf(o), list.lastIndexOf(o));
+            }
+            assertEquals(step, ref.size(), list.size());
+        }
+        assertEquals(ref, list);
+        assertEquals(ref, new ArrayList<>(list));
+        assertEquals(ref.hashCode(), list.hashCode());
+    }
+}
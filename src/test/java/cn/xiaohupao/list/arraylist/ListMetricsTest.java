@@ -0,0 +1,102 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * ListMetrics，需要-Dcn.xiaohupao.list.metrics=true，pom中的surefire配置已经打开
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 01:50
+ */
+public class ListMetricsTest {
+
+    @Before
+    public void requireEnabled(){
+        assumeTrue(ListMetrics.ENABLED);
+    }
+
+    @Test
+    public void recordsGrowthShiftsAndCompactions(){
+        ListMetrics metrics = new ListMetrics("counts");
+        MyArrayList<Integer> list = new MyArrayList<>(10);
+        list.setMetrics(metrics);
+        for (int i = 0; i < 5; i++){
+            list.add(i);
+        }
+        list.add(0, -1);
+        list.remove(0);
+        assertTrue(list.removeIf(e -> e < 2));
+
+        ListMetrics.Snapshot s = metrics.snapshot();
+        assertEquals("counts", s.getTag());
+        assertEquals(0, s.getGrows());
+        assertEquals(10, s.getShifted());
+        assertEquals(1, s.getCompactions());
+        assertEquals(2, s.getCompactionRemoved());
+        assertEquals(3, s.getCompactionKept());
+        assertEquals(7, s.getSlack());
+        assertEquals(10, s.getPeakCapacity());
+
+        for (int i = 0; i < 8; i++){
+            list.add(i);
+        }
+        s = metrics.snapshot();
+        assertEquals(1, s.getGrows());
+        assertEquals(10, s.getGrownSlots());
+        assertEquals(15, s.getPeakCapacity());
+        assertEquals(4, s.getSlack());
+
+        metrics.reset();
+        s = metrics.snapshot();
+        assertEquals(0, s.getGrows());
+        assertEquals(0, s.getShifted());
+        assertEquals(0, s.getCompactions());
+        //容量从仍然关联的列表上重新读取
+        assertEquals(15, s.getPeakCapacity());
+        assertEquals(4, s.getSlack());
+    }
+
+    @Test
+    public void detachedListsAreNotCounted(){
+        ListMetrics metrics = new ListMetrics("detach");
+        MyArrayList<Integer> list = new MyArrayList<>(100);
+        list.setMetrics(metrics);
+        list.add(1);
+        assertEquals(99, metrics.snapshot().getSlack());
+        list.setMetrics(null);
+        list.add(0, 2);
+        ListMetrics.Snapshot s = metrics.snapshot();
+        assertEquals(0, s.getSlack());
+        assertEquals(0, s.getShifted());
+        assertNull(list.getMetrics());
+    }
+
+    @Test
+    public void taggedMetricsAreSharedAcrossListsAndClones(){
+        ListMetrics metrics = ListMetrics.forTag("shared-test");
+        assertSame(metrics, ListMetrics.forTag("shared-test"));
+        metrics.reset();
+        MyArrayList<Integer> a = new MyArrayList<>(4);
+        MyArrayList<Integer> b = new MyArrayList<>(8);
+        a.setMetrics(metrics);
+        b.setMetrics(metrics);
+        a.add(1);
+        b.add(1);
+        @SuppressWarnings("unchecked")
+        MyArrayList<Integer> c = (MyArrayList<Integer>) b.clone();
+        assertSame(metrics, c.getMetrics());
+        c.add(0, 2);
+
+        Map<String, ListMetrics.Snapshot> all = ListMetrics.snapshotAll();
+        ListMetrics.Snapshot s = all.get("shared-test");
+        assertNotNull(s);
+        assertEquals(1, s.getShifted());
+        assertEquals(3 + 7 + (c.capacity() - 2), s.getSlack());
+        assertEquals(8, s.getPeakCapacity());
+    }
+}
@@ -0,0 +1,75 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * removeAll/retainAll选择查找集合的逻辑
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 01:35
+ */
+public class MyAbstractCollectionTest {
+
+    private static List<Integer> range(int from, int to){
+        List<Integer> list = new ArrayList<>();
+        for (int i = from; i < to; i++){
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void lookupForKeepsCollectionsWithFastContains(){
+        int big = 10 * MyAbstractCollection.HASH_LOOKUP_THRESHOLD;
+        Set<Integer> set = new TreeSet<>(range(0, big));
+        assertSame(set, MyAbstractCollection.lookupFor(set, big));
+
+        MyArrayList<Integer> indexed = new MyArrayList<>(range(0, big));
+        indexed.setIndexed(true);
+        assertSame(indexed, MyAbstractCollection.lookupFor(indexed, big));
+
+        //未启用索引的MyArrayList和其他只能线性查找的大集合被复制到HashSet
+        MyArrayList<Integer> plain = new MyArrayList<>(range(0, big));
+        assertTrue(MyAbstractCollection.lookupFor(plain, big) instanceof HashSet);
+        List<Integer> linked = new LinkedList<>(range(0, big));
+        assertTrue(MyAbstractCollection.lookupFor(linked, big) instanceof HashSet);
+
+        //任意一边很小时不值得建立哈希表
+        List<Integer> small = range(0, 3);
+        assertSame(small, MyAbstractCollection.lookupFor(small, big));
+        assertSame(linked, MyAbstractCollection.lookupFor(linked, 3));
+    }
+
+    @Test
+    public void removeAllAndRetainAllMatchArrayList(){
+        List<Integer> values = range(0, 1000);
+        List<Integer> evens = new ArrayList<>();
+        for (int i = 0; i < 1000; i += 2){
+            evens.add(i);
+        }
+        MyArrayList<Integer> indexed = new MyArrayList<>(evens);
+        indexed.setIndexed(true);
+        for (Collection<Integer> c : Arrays.<Collection<Integer>>asList(evens, new HashSet<>(evens), indexed, range(0, 5))){
+            List<Integer> expected = new ArrayList<>(values);
+            expected.removeAll(c);
+            MyLinkedList<Integer> linked = new MyLinkedList<>(values);
+            assertTrue(linked.removeAll(c));
+            assertEquals(expected, linked);
+            MyArrayList<Integer> array = new MyArrayList<>(values);
+            assertTrue(array.removeAll(c));
+            assertEquals(expected, array);
+
+            expected = new ArrayList<>(values);
+            expected.retainAll(c);
+            linked = new MyLinkedList<>(values);
+            assertTrue(linked.retainAll(c));
+            assertEquals(expected, linked);
+            array = new MyArrayList<>(values);
+            assertTrue(array.retainAll(c));
+            assertEquals(expected, array);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyArrayDeque
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:45
+ */
+public class MyArrayDequeTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MyArrayDeque<>(), seed, 2000);
+        }
+    }
+
+    /**
+     * 让head停在容量16的数组的每一个位置上，再在每个索引处插入、删除和区间删除，覆盖跨过数组末尾的移动
+     */
+    @Test
+    public void editsAcrossTheWrapPoint(){
+        for (int headShift = 0; headShift < 16; headShift++){
+            for (int index = 0; index <= 12; index++){
+                for (int op = 0; op < 3; op++){
+                    MyArrayDeque<Integer> deque = wrapped(headShift);
+                    List<Integer> ref = new ArrayList<>(deque);
+                    if (op == 0){
+                        deque.add(index, -1);
+                        ref.add(index, -1);
+                    }else if (op == 1 && index < 12){
+                        assertEquals(ref.remove(index), deque.remove(index));
+                    }else if (op == 2){
+                        int to = Math.min(12, index + 5);
+                        deque.subList(index, to).clear();
+                        ref.subList(index, to).clear();
+                    }
+                    assertEquals("head " + headShift + ", index " + index + ", op " + op, ref, deque);
+                    assertFreeSlotsAreNull(deque);
+                    assertEquals(ref.isEmpty() ? null : ref.get(0), deque.peekFirst());
+                    assertEquals(ref.isEmpty() ? null : ref.get(ref.size() - 1), deque.peekLast());
+                }
+            }
+        }
+    }
+
+    /**
+     * 12个元素，head位于下标headShift
+     */
+    private static MyArrayDeque<Integer> wrapped(int headShift){
+        MyArrayDeque<Integer> deque = new MyArrayDeque<>();
+        assertEquals(16, deque.elements.length);
+        for (int i = 0; i < headShift; i++){
+            deque.addLast(0);
+            deque.pollFirst();
+        }
+        for (int i = 0; i < 12; i++){
+            deque.addLast(i);
+        }
+        assertEquals(16, deque.elements.length);
+        assertEquals(headShift, deque.head);
+        return deque;
+    }
+
+    private static void assertFreeSlotsAreNull(MyArrayDeque<?> deque){
+        Object[] a = deque.elements;
+        int mask = a.length - 1;
+        for (int i = deque.size(); i < a.length; i++){
+            assertNull(a[(deque.head + i) & mask]);
+        }
+    }
+
+    @Test
+    public void serializationRoundTrip() throws Exception{
+        MyArrayDeque<Integer> deque = wrapped(13);
+        assertEquals(deque, roundTrip(deque));
+        assertEquals(new MyArrayDeque<Integer>(), roundTrip(new MyArrayDeque<Integer>()));
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void rejectsNegativeSize() throws Exception{
+        MyArrayDeque<Integer> deque = new MyArrayDeque<>();
+        Field size = MyArrayDeque.class.getDeclaredField("size");
+        size.setAccessible(true);
+        size.setInt(deque, -1);
+        roundTrip(deque);
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void rejectsNullElement() throws Exception{
+        MyArrayDeque<Integer> deque = new MyArrayDeque<>(Arrays.asList(1, 2, 3));
+        deque.elements[(deque.head + 1) & (deque.elements.length - 1)] = null;
+        roundTrip(deque);
+    }
+
+    private static Object roundTrip(Object o) throws Exception{
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(o);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyArrayList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:40
+ */
+public class MyArrayListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MyArrayList<>(), seed, 2000);
+        }
+    }
+
+    @Test
+    public void parallelSortIsStable(){
+        Random r = new Random(13);
+        //跨过Arrays.parallelSort的分割粒度，两条路径都会走到
+        for (int n : new int[]{0, 1, 100, 10_000, 200_000}){
+            MyArrayList<int[]> list = new MyArrayList<>();
+            List<int[]> ref = new ArrayList<>();
+            for (int i = 0; i < n; i++){
+                int[] e = {r.nextInt(1000), i};
+                list.add(e);
+                ref.add(e);
+            }
+            Comparator<int[]> byKey = Comparator.comparingInt(e -> e[0]);
+            list.parallelSort(byKey);
+            ref.sort(byKey);
+            assertEquals(ref.size(), list.size());
+            for (int i = 0; i < n; i++){
+                assertSame(ref.get(i), list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void parallelSortNaturalOrder(){
+        Random r = new Random(17);
+        MyArrayList<Integer> list = new MyArrayList<>();
+        List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++){
+            int v = r.nextInt();
+            list.add(v);
+            ref.add(v);
+        }
+        list.parallelSort(null);
+        Collections.sort(ref);
+        assertEquals(ref, list);
+    }
+
+    private static final Comparator<Integer> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    @Test
+    public void indexedMatchesArrayList(){
+        for (long seed = 0; seed < 10; seed++){
+            MyArrayList<Integer> list = new MyArrayList<>();
+            list.setIndexed(true);
+            ListDiff.run(list, seed, 2000);
+        }
+    }
+
+    /**
+     * 值域很小，重复的值很多，尾部和中间的修改交替进行
+     */
+    @Test
+    public void indexedLookupsWithDuplicates(){
+        Random r = new Random(19);
+        MyArrayList<Integer> list = new MyArrayList<>();
+        list.setIndexed(true);
+        List<Integer> ref = new ArrayList<>();
+        for (int op = 0; op < 20_000; op++){
+            Integer v = r.nextInt(8) == 0 ? null : r.nextInt(20);
+            int n = ref.size();
+            switch (r.nextInt(7)){
+                case 0: list.add(v); ref.add(v); break;
+                case 1: if (n > 0){ assertEquals(ref.remove(n - 1), list.remove(n - 1)); } break;
+                case 2: { int i = r.nextInt(n + 1); list.add(i, v); ref.add(i, v); break; }
+                case 3: assertEquals(ref.remove(v), list.remove(v)); break;
+                case 4: if (n > 0){ int i = r.nextInt(n); assertEquals(ref.set(i, v), list.set(i, v)); } break;
+                case 5:
+                    if (r.nextInt(50) == 0){
+                        list.sort(NULLS_FIRST);
+                        ref.sort(NULLS_FIRST);
+                    }
+                    break;
+                default: list.add(v); ref.add(v); break;
+            }
+            assertEquals(ref.contains(v), list.contains(v));
+            assertEquals(ref.indexOf(v), list.indexOf(v));
+            assertEquals(ref.lastIndexOf(v), list.lastIndexOf(v));
+        }
+        assertEquals(ref, list);
+    }
+
+    /**
+     * removeAll按参数集合自己的contains判断，不能用元素的equals/hashCode代替
+     */
+    @Test
+    public void indexedRemoveAllUsesTheCollectionsContains(){
+        MyArrayList<String> list = new MyArrayList<>(Arrays.asList("Apple", "banana", "Cherry"));
+        list.setIndexed(true);
+        assertTrue(list.contains("banana"));
+        Set<String> remove = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        remove.addAll(Arrays.asList("APPLE", "cherry"));
+        assertTrue(list.removeAll(remove));
+        assertEquals(Collections.singletonList("banana"), list);
+        assertFalse(list.removeAll(remove));
+        assertEquals(-1, list.indexOf("Apple"));
+    }
+
+    /**
+     * 在有4个线程的池中执行，单核机器上的公共池并行度为1，不会走到并行路径
+     */
+    private static <T> T inPool(Callable<T> task) throws Exception{
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            return pool.submit(task).get();
+        }finally {
+            pool.shutdown();
+        }
+    }
+
+    private static MyArrayList<Integer> large(){
+        int n = 2 * ParallelArrayOps.PARALLEL_THRESHOLD + 37;
+        MyArrayList<Integer> list = new MyArrayList<>(n);
+        for (int i = 0; i < n; i++){
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void parallelRemoveIfMatchesRemoveIf() throws Exception{
+        List<Predicate<Integer>> filters = Arrays.asList(
+                e -> false, e -> true, e -> e % 3 == 0, e -> e < 1000, e -> e >= 150_000);
+        for (Predicate<Integer> filter : filters){
+            MyArrayList<Integer> list = large();
+            list.setIndexed(true);
+            List<Integer> ref = new ArrayList<>(list);
+            boolean expected = ref.removeIf(filter);
+            assertEquals(expected, inPool(() -> list.parallelRemoveIf(filter)));
+            assertEquals(ref, list);
+            assertEquals(ref.indexOf(150_001), list.indexOf(150_001));
+            assertEquals(ref.contains(3), list.contains(3));
+        }
+    }
+
+    @Test
+    public void failingParallelRemoveIfLeavesListUnchanged() throws Exception{
+        MyArrayList<Integer> list = large();
+        List<Integer> ref = new ArrayList<>(list);
+        try {
+            inPool(() -> list.parallelRemoveIf(e -> {
+                if (e == 200_000){
+                    throw new IllegalStateException();
+                }
+                return (e & 1) == 0;
+            }));
+            fail();
+        }catch (ExecutionException expected){
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(ref, list);
+    }
+
+    @Test
+    public void parallelReplaceAllMatchesReplaceAll() throws Exception{
+        MyArrayList<Integer> list = large();
+        list.setIndexed(true);
+        List<Integer> ref = new ArrayList<>(list);
+        ref.replaceAll(e -> e * 2);
+        inPool(() -> {
+            list.parallelReplaceAll(e -> e * 2);
+            return null;
+        });
+        assertEquals(ref, list);
+        assertTrue(list.contains(4));
+        assertFalse(list.contains(3));
+    }
+
+    /**
+     * 参数是较大的普通列表时先复制到HashSet，再走并行的batchRemove
+     */
+    @Test
+    public void parallelRemoveAllAndRetainAll() throws Exception{
+        List<Integer> odds = new ArrayList<>();
+        for (int i = 1; i < 100_000; i += 2){
+            odds.add(i);
+        }
+        MyArrayList<Integer> list = large();
+        List<Integer> ref = new ArrayList<>(list);
+        ref.removeAll(odds);
+        assertTrue(inPool(() -> list.removeAll(odds)));
+        assertEquals(ref, list);
+
+        MyArrayList<Integer> list2 = large();
+        List<Integer> ref2 = new ArrayList<>(list2);
+        ref2.retainAll(odds);
+        assertTrue(inPool(() -> list2.retainAll(odds)));
+        assertEquals(ref2, list2);
+    }
+
+    @Test
+    public void growthPoliciesMatchArrayList(){
+        for (GrowthPolicy policy : Arrays.asList(GrowthPolicy.DEFAULT, GrowthPolicy.DOUBLING, GrowthPolicy.MEMORY_TIGHT)){
+            for (long seed = 0; seed < 5; seed++){
+                ListDiff.run(new MyArrayList<>(policy), seed, 3000);
+            }
+        }
+    }
+
+    @Test
+    public void memoryTightShrinksAfterRemovals(){
+        MyArrayList<Integer> list = new MyArrayList<>(GrowthPolicy.MEMORY_TIGHT);
+        for (int i = 0; i < 10_000; i++){
+            list.add(i);
+        }
+        int grown = list.elementData.length;
+        assertTrue(grown >= 10_000);
+        //删到容量的1/4以下时缩容到元素个数的1.5倍
+        while (list.size() >= grown / 4){
+            list.remove(list.size() - 1);
+        }
+        int size = list.size();
+        assertEquals(size + (size >> 1), list.elementData.length);
+        for (int i = 0; i < size; i++){
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+
+        //批量删除同样会缩容
+        list.removeIf(e -> e >= 100);
+        assertEquals(150, list.elementData.length);
+        list.subList(10, 100).clear();
+        assertEquals(15, list.elementData.length);
+
+        //容量不超过16时不再缩容
+        list.subList(1, 10).clear();
+        assertEquals(15, list.elementData.length);
+        assertEquals(Collections.singletonList(0), list);
+    }
+
+    @Test
+    public void memoryTightClearReleasesTheArray(){
+        MyArrayList<Integer> list = new MyArrayList<>(GrowthPolicy.MEMORY_TIGHT);
+        for (int i = 0; i < 1000; i++){
+            list.add(i);
+        }
+        list.clear();
+        assertEquals(0, list.elementData.length);
+        list.add(1);
+        assertEquals(Collections.singletonList(1), list);
+    }
+
+    @Test
+    public void defaultPolicyNeverShrinks(){
+        MyArrayList<Integer> list = new MyArrayList<>();
+        for (int i = 0; i < 1000; i++){
+            list.add(i);
+        }
+        int capacity = list.elementData.length;
+        list.subList(1, 1000).clear();
+        assertEquals(capacity, list.elementData.length);
+        list.trimToSize();
+        assertEquals(1, list.elementData.length);
+    }
+}
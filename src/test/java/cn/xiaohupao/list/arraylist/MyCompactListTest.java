@@ -0,0 +1,69 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyCompactList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:35
+ */
+public class MyCompactListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MyCompactList<>(), seed, 2000);
+        }
+    }
+
+    @Test
+    public void switchesBetweenFieldsAndArray(){
+        MyCompactList<String> list = new MyCompactList<>();
+        for (int i = 0; i < MyCompactList.INLINE_CAPACITY; i++){
+            list.add("e" + i);
+        }
+        assertTrue(list.isInline());
+        list.add(0, "head");
+        assertFalse(list.isInline());
+        assertEquals(Arrays.asList("head", "e0", "e1", "e2", "e3"), list);
+        list.remove("e1");
+        list.trimToSize();
+        assertTrue(list.isInline());
+        assertEquals(Arrays.asList("head", "e0", "e2", "e3"), list);
+        list.add(null);
+        assertEquals(4, list.indexOf(null));
+        list.clear();
+        assertTrue(list.isInline());
+        assertTrue(list.isEmpty());
+    }
+
+    @Test
+    public void cloneAndSerialization() throws Exception{
+        for (int n : new int[]{0, 3, 4, 5, 100}){
+            MyCompactList<Integer> list = new MyCompactList<>();
+            for (int i = 0; i < n; i++){
+                list.add(i);
+            }
+            @SuppressWarnings("unchecked")
+            MyCompactList<Integer> copy = (MyCompactList<Integer>) list.clone();
+            copy.add(-1);
+            assertEquals(n, list.size());
+            assertEquals(n + 1, copy.size());
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)){
+                out.writeObject(list);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+                MyCompactList<?> read = (MyCompactList<?>) in.readObject();
+                assertEquals(list, read);
+                assertEquals(n <= MyCompactList.INLINE_CAPACITY, read.isInline());
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyConcurrentLinkedDeque
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:00
+ */
+public class MyConcurrentLinkedDequeTest {
+
+    @Test
+    public void matchesArrayDeque(){
+        Random r = new Random(3);
+        Deque<Integer> deque = new MyConcurrentLinkedDeque<>();
+        Deque<Integer> ref = new ArrayDeque<>();
+        for (int op = 0; op < 20_000; op++){
+            int v = r.nextInt(50);
+            switch (r.nextInt(8)){
+                case 0: deque.addFirst(v); ref.addFirst(v); break;
+                case 1: deque.addLast(v); ref.addLast(v); break;
+                case 2: assertEquals(ref.pollFirst(), deque.pollFirst()); break;
+                case 3: assertEquals(ref.pollLast(), deque.pollLast()); break;
+                case 4: assertEquals(ref.peekFirst(), deque.peekFirst()); break;
+                case 5: assertEquals(ref.removeFirstOccurrence(v), deque.removeFirstOccurrence(v)); break;
+                case 6: assertEquals(ref.removeLastOccurrence(v), deque.removeLastOccurrence(v)); break;
+                default: assertEquals(ref.contains(v), deque.contains(v)); break;
+            }
+            assertEquals(ref.size(), deque.size());
+        }
+        assertEquals(new ArrayList<>(ref), new ArrayList<>(deque));
+        List<Integer> reversed = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(reversed::add);
+        List<Integer> expected = new ArrayList<>(ref);
+        Collections.reverse(expected);
+        assertEquals(expected, reversed);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void rejectsNull(){
+        new MyConcurrentLinkedDeque<Integer>().addLast(null);
+    }
+
+    @Test
+    public void concurrentProducersAndConsumers() throws Exception{
+        final MyConcurrentLinkedDeque<Integer> deque = new MyConcurrentLinkedDeque<>();
+        final int producers = 4, perProducer = 20_000;
+        final Set<Integer> taken = ConcurrentHashMap.newKeySet();
+        final AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        final AtomicInteger duplicates = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++){
+            final int base = p * perProducer;
+            final boolean front = (p & 1) == 0;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                for (int i = 0; i < perProducer; i++){
+                    if (front){
+                        deque.offerFirst(base + i);
+                    }else{
+                        deque.offerLast(base + i);
+                    }
+                }
+            }));
+        }
+        for (int c = 0; c < 4; c++){
+            final boolean front = (c & 1) == 0;
+            threads.add(new Thread(() -> {
+                awaitQuietly(start);
+                while (remaining.get() > 0){
+                    Integer e = front ? deque.pollFirst() : deque.pollLast();
+                    if (e != null){
+                        if (!taken.add(e)){
+                            duplicates.incrementAndGet();
+                        }
+                        remaining.decrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads){
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : threads){
+            t.join();
+        }
+        assertEquals(0, duplicates.get());
+        assertEquals(producers * perProducer, taken.size());
+        assertTrue(deque.isEmpty());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch){
+        try {
+            latch.await();
+        }catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+}
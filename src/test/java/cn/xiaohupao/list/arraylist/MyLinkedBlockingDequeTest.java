@@ -0,0 +1,84 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyLinkedBlockingDeque
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:05
+ */
+public class MyLinkedBlockingDequeTest {
+
+    @Test
+    public void respectsCapacity() throws Exception{
+        MyLinkedBlockingDeque<Integer> deque = new MyLinkedBlockingDeque<>(2);
+        assertTrue(deque.offerLast(1));
+        assertTrue(deque.offerFirst(0));
+        assertFalse(deque.offerLast(2));
+        assertFalse(deque.offer(2, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, deque.remainingCapacity());
+        assertEquals(Integer.valueOf(0), deque.takeFirst());
+        assertEquals(Integer.valueOf(1), deque.takeLast());
+        assertNull(deque.pollFirst(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addWhenFullThrows(){
+        MyLinkedBlockingDeque<Integer> deque = new MyLinkedBlockingDeque<>(1);
+        deque.add(1);
+        deque.add(2);
+    }
+
+    @Test
+    public void drainTo(){
+        MyLinkedBlockingDeque<Integer> deque = new MyLinkedBlockingDeque<>(Arrays.asList(1, 2, 3, 4, 5));
+        List<Integer> out = new ArrayList<>();
+        assertEquals(2, deque.drainTo(out, 2));
+        assertEquals(3, deque.drainTo(out));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), out);
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void producerConsumerPipelinePreservesOrder() throws Exception{
+        final MyLinkedBlockingDeque<Integer> deque = new MyLinkedBlockingDeque<>(16);
+        final int n = 50_000;
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < n; i++){
+                    deque.putLast(i);
+                }
+            }catch (InterruptedException e){
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        for (int i = 0; i < n; i++){
+            assertEquals(Integer.valueOf(i), deque.takeFirst());
+        }
+        producer.join();
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void takeIsInterruptible() throws Exception{
+        final MyLinkedBlockingDeque<Integer> deque = new MyLinkedBlockingDeque<>();
+        final boolean[] interrupted = new boolean[1];
+        Thread consumer = new Thread(() -> {
+            try {
+                deque.take();
+            }catch (InterruptedException e){
+                interrupted[0] = true;
+            }
+        });
+        consumer.start();
+        consumer.interrupt();
+        consumer.join();
+        assertTrue(interrupted[0]);
+    }
+}
@@ -0,0 +1,325 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyLinkedList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:25
+ */
+public class MyLinkedListTest {
+
+    private static MyLinkedList<Integer> range(int n){
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        for (int i = 0; i < n; i++){
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MyLinkedList<>(), seed, 2000);
+        }
+    }
+
+    @Test
+    public void spliteratorSplitsIntoBatchesInOrder(){
+        int n = 100_000;
+        MyLinkedList<Integer> list = range(n);
+        Spliterator<Integer> s = list.spliterator();
+        int batch = MyLinkedList.LLSpliterator.batchSize(n);
+        List<Integer> seen = new ArrayList<>();
+        Spliterator<Integer> prefix;
+        int remaining = n;
+        while ((prefix = s.trySplit()) != null){
+            long expected = Math.min(batch, remaining);
+            assertEquals(expected, prefix.estimateSize());
+            assertTrue(prefix.hasCharacteristics(Spliterator.SIZED));
+            //批次是数组，还能继续对半分割
+            Spliterator<Integer> half = prefix.trySplit();
+            assertNotNull(half);
+            assertEquals(expected, half.estimateSize() + prefix.estimateSize());
+            half.forEachRemaining(seen::add);
+            prefix.forEachRemaining(seen::add);
+            remaining -= expected;
+            assertEquals(remaining, s.estimateSize());
+        }
+        assertTrue(s.estimateSize() <= 1);
+        s.forEachRemaining(seen::add);
+        assertEquals(list, seen);
+
+        assertEquals(list, list.parallelStream().collect(Collectors.toList()));
+        assertEquals((long) n * (n - 1) / 2, list.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+
+    @Test
+    public void batchSizeIsBounded(){
+        assertEquals(MyLinkedList.LLSpliterator.BATCH_UNIT, MyLinkedList.LLSpliterator.batchSize(10));
+        assertTrue(MyLinkedList.LLSpliterator.batchSize(Integer.MAX_VALUE) <= MyLinkedList.LLSpliterator.MAX_BATCH);
+    }
+
+    @Test
+    public void spliteratorDetectsModification(){
+        MyLinkedList<Integer> list = range(10);
+        Spliterator<Integer> s = list.spliterator();
+        assertTrue(s.tryAdvance(e -> {}));
+        list.add(10);
+        try {
+            s.tryAdvance(e -> {});
+            fail();
+        }catch (ConcurrentModificationException expected){
+        }
+
+        Spliterator<Integer> s2 = list.spliterator();
+        s2.estimateSize();
+        list.removeFirst();
+        try {
+            s2.forEachRemaining(e -> {});
+            fail();
+        }catch (ConcurrentModificationException expected){
+        }
+
+        Spliterator<Integer> s3 = list.spliterator();
+        s3.estimateSize();
+        list.removeFirst();
+        try {
+            s3.trySplit();
+            fail();
+        }catch (ConcurrentModificationException expected){
+        }
+    }
+
+    /**
+     * 按索引访问移动finger之后，在两端和中间做结构修改，再从finger附近访问
+     */
+    @Test
+    public void fingerFollowsStructuralChanges(){
+        Random r = new Random(23);
+        MyLinkedList<Integer> list = range(1000);
+        List<Integer> ref = new ArrayList<>(list);
+        for (int op = 0; op < 20_000; op++){
+            int n = ref.size();
+            int near = Math.max(0, Math.min(n - 1, n / 2 + r.nextInt(21) - 10));
+            if (n > 0){
+                assertEquals(ref.get(near), list.get(near));
+            }
+            int v = r.nextInt();
+            switch (r.nextInt(9)){
+                case 0: list.addFirst(v); ref.add(0, v); break;
+                case 1: assertEquals(n == 0 ? null : ref.remove(0), list.pollFirst()); break;
+                case 2: list.addLast(v); ref.add(v); break;
+                case 3: assertEquals(n == 0 ? null : ref.remove(n - 1), list.pollLast()); break;
+                case 4: list.add(Math.min(near, n), v); ref.add(Math.min(near, n), v); break;
+                case 5: if (n > 0){ assertEquals(ref.remove(near), list.remove(near)); } break;
+                case 6: {
+                    List<Integer> pair = Arrays.asList(v, v + 1);
+                    list.addAll(Math.min(near, n), pair);
+                    ref.addAll(Math.min(near, n), pair);
+                    break;
+                }
+                case 7: if (n > 0){ assertEquals(ref.set(near, v), list.set(near, v)); } break;
+                default:
+                    if (n > 0){
+                        Integer o = ref.get(r.nextInt(n));
+                        assertEquals(ref.remove(o), list.remove(o));
+                    }
+                    break;
+            }
+            assertEquals(ref.size(), list.size());
+        }
+        assertEquals(ref, list);
+    }
+
+    @Test
+    public void sequentialGetWalksBothWays(){
+        int n = 5000;
+        MyLinkedList<Integer> list = range(n);
+        for (int i = 0; i < n; i++){
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+        for (int i = n - 1; i >= 0; i--){
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+        //finger停在开头附近时在头部插入和删除
+        list.get(3);
+        list.addFirst(-1);
+        assertEquals(Integer.valueOf(3), list.get(4));
+        list.pollFirst();
+        list.pollFirst();
+        assertEquals(Integer.valueOf(3), list.get(2));
+        assertEquals(Integer.valueOf(1), list.get(0));
+    }
+
+    private static int poolSize(MyLinkedList<?> list) throws Exception{
+        Field f = MyLinkedList.class.getDeclaredField("poolSize");
+        f.setAccessible(true);
+        return f.getInt(list);
+    }
+
+    @Test
+    public void pooledListMatchesArrayList(){
+        for (long seed = 0; seed < 10; seed++){
+            MyLinkedList<Integer> list = new MyLinkedList<>();
+            list.setNodePoolCapacity(seed % 2 == 0 ? 8 : 1000);
+            ListDiff.run(list, seed, 2000);
+        }
+    }
+
+    @Test
+    public void poolReusesRemovedNodes() throws Exception{
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        list.setNodePoolCapacity(4);
+        list.add(1);
+        Object node = list.first;
+        assertEquals(Integer.valueOf(1), list.pollFirst());
+        assertEquals(1, poolSize(list));
+        list.addLast(2);
+        assertSame(node, list.first);
+        assertEquals(0, poolSize(list));
+        assertEquals(Collections.singletonList(2), list);
+
+        //没有启用时不回收
+        MyLinkedList<Integer> plain = new MyLinkedList<>();
+        plain.add(1);
+        node = plain.first;
+        plain.pollFirst();
+        plain.add(2);
+        assertNotSame(node, plain.first);
+        assertEquals(0, poolSize(plain));
+    }
+
+    @Test
+    public void poolIsCapped() throws Exception{
+        MyLinkedList<Integer> list = range(100);
+        list.setNodePoolCapacity(16);
+        list.clear();
+        assertEquals(16, poolSize(list));
+        for (int i = 0; i < 10; i++){
+            list.addFirst(i);
+        }
+        assertEquals(6, poolSize(list));
+        list.subList(0, 10).clear();
+        assertEquals(16, poolSize(list));
+
+        //克隆不共享空闲结点，但保留上限
+        list.addAll(Arrays.asList(1, 2, 3));
+        @SuppressWarnings("unchecked")
+        MyLinkedList<Integer> clone = (MyLinkedList<Integer>) list.clone();
+        assertEquals(0, poolSize(clone));
+        assertEquals(16, clone.getNodePoolCapacity());
+        assertEquals(list, clone);
+
+        list.setNodePoolCapacity(5);
+        assertEquals(5, poolSize(list));
+        list.setNodePoolCapacity(0);
+        assertEquals(0, poolSize(list));
+        list.clear();
+        assertEquals(0, poolSize(list));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativePoolCapacityIsRejected(){
+        new MyLinkedList<Integer>().setNodePoolCapacity(-1);
+    }
+
+    @Test
+    public void transferFromMovesAllNodes(){
+        Random r = new Random(5);
+        for (int round = 0; round < 200; round++){
+            MyLinkedList<Integer> list = new MyLinkedList<>();
+            MyLinkedList<Integer> other = new MyLinkedList<>();
+            List<Integer> ref = new ArrayList<>();
+            for (int i = r.nextInt(20); i > 0; i--){
+                list.add(i);
+                ref.add(i);
+            }
+            List<Integer> moved = new ArrayList<>();
+            for (int i = r.nextInt(20); i > 0; i--){
+                other.add(-i);
+                moved.add(-i);
+            }
+            int index = r.nextInt(list.size() + 1);
+            //先访问一次，让按索引访问的缓存指向转移位置附近
+            if (!list.isEmpty()){
+                list.get(Math.min(index, list.size() - 1));
+            }
+            list.transferFrom(index, other);
+            ref.addAll(index, moved);
+            assertEquals(ref, list);
+            assertTrue(other.isEmpty());
+            for (int i = 0; i < ref.size(); i++){
+                assertEquals(ref.get(i), list.get(i));
+            }
+            List<Integer> backwards = new ArrayList<>();
+            list.descendingIterator().forEachRemaining(backwards::add);
+            Collections.reverse(backwards);
+            assertEquals(ref, backwards);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void transferFromSelfThrows(){
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        list.add(1);
+        list.transferFrom(list);
+    }
+
+    @Test
+    public void sortMatchesArrayListAndIsStable(){
+        Random r = new Random(11);
+        for (int n : new int[]{0, 1, 2, 3, 31, 32, 33, 1000, 12_345}){
+            MyLinkedList<int[]> list = new MyLinkedList<>();
+            List<int[]> ref = new ArrayList<>();
+            for (int i = 0; i < n; i++){
+                int[] e = {r.nextInt(50), i};
+                list.add(e);
+                ref.add(e);
+            }
+            Comparator<int[]> byKey = Comparator.comparingInt(e -> e[0]);
+            list.sort(byKey);
+            ref.sort(byKey);
+            assertEquals(ref.size(), list.size());
+            Iterator<int[]> it = list.iterator();
+            for (int[] e : ref){
+                assertSame(e, it.next());
+            }
+            List<int[]> backwards = new ArrayList<>();
+            list.descendingIterator().forEachRemaining(backwards::add);
+            Collections.reverse(backwards);
+            assertEquals(ref, backwards);
+        }
+    }
+
+    @Test
+    public void failingComparatorKeepsAllElements(){
+        MyLinkedList<Integer> list = new MyLinkedList<>();
+        for (int i = 0; i < 100; i++){
+            list.add(100 - i);
+        }
+        int[] calls = {0};
+        try {
+            list.sort((a, b) -> {
+                if (++calls[0] == 150){
+                    throw new IllegalStateException();
+                }
+                return Integer.compare(a, b);
+            });
+            fail();
+        }catch (IllegalStateException expected){
+        }
+        assertEquals(100, list.size());
+        List<Integer> sorted = new ArrayList<>(list);
+        Collections.sort(sorted);
+        for (int i = 0; i < 100; i++){
+            assertEquals(Integer.valueOf(i + 1), sorted.get(i));
+        }
+    }
+}
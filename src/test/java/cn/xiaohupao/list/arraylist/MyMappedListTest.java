@@ -0,0 +1,111 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyMappedList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:15
+ */
+public class MyMappedListTest {
+
+    private Path dir;
+
+    @Before
+    public void createDir() throws IOException{
+        dir = Files.createTempDirectory("mapped-list");
+    }
+
+    @After
+    public void deleteDir() throws IOException{
+        try (java.util.stream.Stream<Path> files = Files.list(dir)){
+            for (Path p : (Iterable<Path>) files::iterator){
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void matchesArrayList() throws IOException{
+        for (long seed = 0; seed < 5; seed++){
+            try (MyMappedList<Integer> list = new MyMappedList<>(dir.resolve("diff" + seed), FixedWidthCodec.INT)){
+                ListDiff.run(list, seed, 2000);
+            }
+        }
+    }
+
+    @Test
+    public void reopenKeepsElementsAndFileIsTruncated() throws IOException{
+        Path file = dir.resolve("longs");
+        int n = 300_000;
+        try (MyMappedList<Long> list = new MyMappedList<>(file, FixedWidthCodec.LONG)){
+            for (long i = 0; i < n; i++){
+                list.add(i * i);
+            }
+            //映射按需增长，不会一次把文件扩到整个区域
+            assertTrue(Files.size(file) < 2L * n * Long.BYTES + (1 << 20));
+        }
+        assertTrue(Files.size(file) <= (long) n * Long.BYTES + 4096);
+
+        try (MyMappedList<Long> list = new MyMappedList<>(file, FixedWidthCodec.LONG)){
+            assertEquals(n, list.size());
+            for (int i = 0; i < n; i += 997){
+                assertEquals(Long.valueOf((long) i * i), list.get(i));
+            }
+            list.subList(0, n - 10).clear();
+            assertEquals(10, list.size());
+        }
+        try (MyMappedList<Long> list = new MyMappedList<>(file, FixedWidthCodec.LONG)){
+            assertEquals(Long.valueOf((long) (n - 10) * (n - 10)), list.get(0));
+        }
+    }
+
+    /**
+     * 编码失败的插入不能在文件里留下移动了一半的记录
+     */
+    @Test
+    public void failedInsertLeavesFileUnchanged() throws IOException{
+        Path file = dir.resolve("failed");
+        List<Integer> expected = Arrays.asList(1, 2, 3, 4, 5);
+        try (MyMappedList<Integer> list = new MyMappedList<>(file, FixedWidthCodec.INT)){
+            list.addAll(expected);
+            try {
+                list.add(1, null);
+                fail();
+            }catch (NullPointerException e){
+                //INT不能编码null
+            }
+            assertEquals(expected, list);
+        }
+        try (MyMappedList<Integer> list = new MyMappedList<>(file, FixedWidthCodec.INT)){
+            assertEquals(expected, list);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsMismatchedWidth() throws IOException{
+        Path file = dir.resolve("ints");
+        try (MyMappedList<Integer> list = new MyMappedList<>(file, FixedWidthCodec.INT)){
+            list.add(1);
+        }
+        new MyMappedList<>(file, FixedWidthCodec.LONG).close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void closedListThrows() throws IOException{
+        MyMappedList<Integer> list = new MyMappedList<>(dir.resolve("closed"), FixedWidthCodec.INT);
+        list.add(1);
+        list.close();
+        list.get(0);
+    }
+}
@@ -0,0 +1,99 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyOffHeapList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:10
+ */
+public class MyOffHeapListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 10; seed++){
+            try (MyOffHeapList<Integer> list = new MyOffHeapList<>(FixedWidthCodec.INT)){
+                ListDiff.run(list, seed, 2000);
+            }
+        }
+    }
+
+    @Test
+    public void growsPastOneSegment(){
+        try (MyOffHeapList<Long> list = new MyOffHeapList<>(FixedWidthCodec.LONG)){
+            int n = 3_000_000;
+            for (long i = 0; i < n; i++){
+                list.add(i * 31);
+            }
+            assertEquals(n, list.size());
+            assertTrue(list.capacity() >= n);
+            assertEquals(Long.valueOf((n - 1) * 31L), list.get(n - 1));
+            assertEquals(list.stream().mapToLong(Long::longValue).sum(),
+                    list.parallelStream().mapToLong(Long::longValue).sum());
+            list.remove(0);
+            assertEquals(Long.valueOf(31), list.get(0));
+        }
+    }
+
+    @Test
+    public void failedInsertLeavesListUnchanged(){
+        try (MyOffHeapList<Integer> list = new MyOffHeapList<>(FixedWidthCodec.INT, Arrays.asList(1, 2, 3, 4))){
+            try {
+                list.add(1, null);
+                fail();
+            }catch (NullPointerException expected){
+            }
+            assertEquals(Arrays.asList(1, 2, 3, 4), list);
+            list.add(1, 9);
+            assertEquals(Arrays.asList(1, 9, 2, 3, 4), list);
+        }
+    }
+
+    @Test
+    public void closeReleasesDirectMemory(){
+        BufferPoolMXBean direct = null;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)){
+            if ("direct".equals(pool.getName())){
+                direct = pool;
+            }
+        }
+        assertNotNull(direct);
+        MyOffHeapList<Long> list = new MyOffHeapList<>(FixedWidthCodec.LONG, 4_000_000);
+        long before = direct.getMemoryUsed();
+        list.close();
+        //32MB的段不经过GC就已经释放
+        assertTrue(before - direct.getMemoryUsed() >= 4_000_000L * Long.BYTES);
+    }
+
+    @Test
+    public void closedListAndViewsThrow(){
+        MyOffHeapList<Integer> list = new MyOffHeapList<>(FixedWidthCodec.INT, Arrays.asList(1, 2, 3));
+        Iterator<Integer> it = list.iterator();
+        Spliterator<Integer> spliterator = list.spliterator();
+        assertEquals(Arrays.asList(1, 2, 3), list.stream().collect(Collectors.toList()));
+        list.close();
+        list.close();
+        try {
+            list.get(0);
+            fail();
+        }catch (IllegalStateException expected){
+        }
+        try {
+            it.next();
+            fail();
+        }catch (IllegalStateException | ConcurrentModificationException expected){
+        }
+        try {
+            spliterator.tryAdvance(e -> fail());
+            fail();
+        }catch (IllegalStateException | ConcurrentModificationException expected){
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static cn.xiaohupao.list.arraylist.MySegmentedList.SEGMENT_SIZE;
+import static org.junit.Assert.*;
+
+/**
+ * MySegmentedList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 01:10
+ */
+public class MySegmentedListTest {
+
+    private static MySegmentedList<Integer> range(int n){
+        MySegmentedList<Integer> list = new MySegmentedList<>();
+        for (int i = 0; i < n; i++){
+            list.add(i);
+        }
+        return list;
+    }
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MySegmentedList<>(), seed, 2000);
+        }
+    }
+
+    /**
+     * 在段的边界两侧插入、删除和区间删除，移动会跨过若干个段
+     */
+    @Test
+    public void movesAcrossSegmentBoundaries(){
+        int n = 3 * SEGMENT_SIZE + 100;
+        int[] points = {0, 1, SEGMENT_SIZE - 1, SEGMENT_SIZE, SEGMENT_SIZE + 1,
+                2 * SEGMENT_SIZE - 3, 2 * SEGMENT_SIZE, 3 * SEGMENT_SIZE, n - 1};
+        for (int p : points){
+            MySegmentedList<Integer> list = range(n);
+            List<Integer> ref = new ArrayList<>(list);
+            list.add(p, -1);
+            ref.add(p, -1);
+            assertEquals("add " + p, ref, list);
+            assertEquals(ref.remove(p + 1), list.remove(p + 1));
+            assertEquals("remove " + (p + 1), ref, list);
+            int to = Math.min(ref.size(), p + SEGMENT_SIZE + 7);
+            list.subList(p, to).clear();
+            ref.subList(p, to).clear();
+            assertEquals("removeRange " + p, ref, list);
+            list.addAll(Collections.nCopies(SEGMENT_SIZE, 7));
+            ref.addAll(Collections.nCopies(SEGMENT_SIZE, 7));
+            assertEquals("addAll " + p, ref, list);
+        }
+    }
+
+    /**
+     * 分割点落在段的起点上，各部分按顺序拼起来就是整个列表
+     */
+    @Test
+    public void spliteratorSplitsAtSegmentBoundaries(){
+        int n = 5 * SEGMENT_SIZE + 123;
+        MySegmentedList<Integer> list = range(n);
+        Spliterator<Integer> s = list.spliterator();
+        Spliterator<Integer> prefix = s.trySplit();
+        assertNotNull(prefix);
+        assertEquals(2L * SEGMENT_SIZE, prefix.estimateSize());
+        assertEquals(n - 2L * SEGMENT_SIZE, s.estimateSize());
+
+        //只剩一段以内时取中点
+        Spliterator<Integer> one = range(100).spliterator();
+        assertEquals(50, one.trySplit().estimateSize());
+
+        List<Spliterator<Integer>> parts = new ArrayList<>();
+        Deque<Spliterator<Integer>> pending = new ArrayDeque<>(Arrays.asList(prefix, s));
+        while (!pending.isEmpty()){
+            Spliterator<Integer> part = pending.pollFirst();
+            Spliterator<Integer> left = part.estimateSize() > SEGMENT_SIZE ? part.trySplit() : null;
+            if (left == null){
+                parts.add(part);
+            }else{
+                pending.addFirst(part);
+                pending.addFirst(left);
+            }
+        }
+        List<Integer> seen = new ArrayList<>();
+        long start = 0;
+        for (Spliterator<Integer> part : parts){
+            //除了最后一部分，每部分都从段的起点开始
+            assertEquals(0, start % SEGMENT_SIZE);
+            start += part.estimateSize();
+            part.forEachRemaining(seen::add);
+        }
+        assertEquals(list, seen);
+        assertEquals(list, list.parallelStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void serializationRoundTrip() throws Exception{
+        for (int n : new int[]{0, 5, SEGMENT_SIZE, 2 * SEGMENT_SIZE + 1}){
+            MySegmentedList<Integer> list = range(n);
+            @SuppressWarnings("unchecked")
+            MySegmentedList<Integer> copy = (MySegmentedList<Integer>) roundTrip(list);
+            assertEquals(list, copy);
+            copy.add(-1);
+            assertEquals(n + 1, copy.size());
+        }
+    }
+
+    @Test(expected = InvalidObjectException.class)
+    public void rejectsNegativeSize() throws Exception{
+        MySegmentedList<Integer> list = new MySegmentedList<>();
+        Field size = MySegmentedList.class.getDeclaredField("size");
+        size.setAccessible(true);
+        size.setLong(list, -1);
+        roundTrip(list);
+    }
+
+    private static Object roundTrip(Object o) throws Exception{
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(o);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyTreeList
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:50
+ */
+public class MyTreeListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 30; seed++){
+            MyTreeList<Integer> list = new MyTreeList<>();
+            ListDiff.run(list, seed, 3000);
+            checkTree(list.root);
+        }
+    }
+
+    @Test
+    public void removalsKeepChunksHalfFull(){
+        MyTreeList<Integer> list = new MyTreeList<>();
+        for (int i = 0; i < 100_000; i++){
+            list.add(i);
+        }
+        for (int i = 0; i < list.size(); i++){
+            list.remove(i);
+        }
+        assertEquals(50_000, list.size());
+        assertEquals(0, underfullChunks(list.root));
+
+        list.subList(100, 40_000).clear();
+        assertEquals(10_100, list.size());
+        assertEquals(0, underfullChunks(list.root));
+        for (int i = 0; i < list.size(); i++){
+            assertEquals(Integer.valueOf(i < 100 ? 2 * i + 1 : 2 * (i + 39_900) + 1), list.get(i));
+        }
+        checkTree(list.root);
+    }
+
+    @Test
+    public void iteratorAndSpliterator(){
+        MyTreeList<Integer> list = new MyTreeList<>();
+        List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 5000; i++){
+            list.add(i >> 1, i);
+            ref.add(i >> 1, i);
+        }
+        ListIterator<Integer> it = list.listIterator();
+        while (it.hasNext()){
+            int v = it.next();
+            if (v % 3 == 0){
+                it.remove();
+            }else if (v % 3 == 1){
+                it.set(-v);
+            }
+        }
+        ref.removeIf(v -> v % 3 == 0);
+        ref.replaceAll(v -> v % 3 == 1 ? -v : v);
+        assertEquals(ref, list);
+        assertEquals(ref, list.parallelStream().collect(Collectors.toList()));
+        checkTree(list.root);
+    }
+
+    @Test
+    public void forEachRemainingAtEndLeavesNothingToRemove(){
+        MyTreeList<Integer> list = new MyTreeList<>(Arrays.asList(1, 2, 3));
+        ListIterator<Integer> it = list.listIterator(list.size());
+        it.forEachRemaining(e -> fail());
+        try {
+            it.remove();
+            fail();
+        }catch (IllegalStateException expected){
+        }
+        try {
+            it.set(0);
+            fail();
+        }catch (IllegalStateException expected){
+        }
+        assertEquals(Arrays.asList(1, 2, 3), list);
+
+        //遍历过元素之后remove删除的是最后一个
+        it = list.listIterator(1);
+        it.forEachRemaining(e -> {});
+        it.set(30);
+        assertEquals(Arrays.asList(1, 2, 30), list);
+        it.remove();
+        assertEquals(Arrays.asList(1, 2), list);
+    }
+
+    /**
+     * 检查AVL平衡、子树元素个数和块内多余位置已清空
+     * @return 子树的高度
+     */
+    private static int checkTree(MyTreeList.Node x){
+        if (x == null){
+            return 0;
+        }
+        int hl = checkTree(x.left), hr = checkTree(x.right);
+        assertTrue(Math.abs(hl - hr) <= 1);
+        assertTrue(x.count >= 1 && x.count <= MyTreeList.CHUNK_CAPACITY);
+        int ls = x.left == null ? 0 : x.left.size;
+        int rs = x.right == null ? 0 : x.right.size;
+        assertEquals(ls + x.count + rs, x.size);
+        assertEquals(Math.max(hl, hr) + 1, x.height);
+        for (int i = x.count; i < x.items.length; i++){
+            assertNull(x.items[i]);
+        }
+        return x.height;
+    }
+
+    private static int underfullChunks(MyTreeList.Node x){
+        if (x == null){
+            return 0;
+        }
+        return underfullChunks(x.left) + underfullChunks(x.right)
+                + (x.count < MyTreeList.MIN_CHUNK_COUNT ? 1 : 0);
+    }
+}
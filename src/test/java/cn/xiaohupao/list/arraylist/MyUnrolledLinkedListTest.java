@@ -0,0 +1,78 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * MyUnrolledLinkedList
+ * @Author: xiaohupao
+ * @Date: 2026/10/18 00:30
+ */
+public class MyUnrolledLinkedListTest {
+
+    @Test
+    public void matchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new MyUnrolledLinkedList<>(seed % 2 == 0 ? 4 : 64), seed, 2000);
+        }
+    }
+
+    @Test
+    public void dequeOperations(){
+        Random r = new Random(9);
+        MyUnrolledLinkedList<Integer> deque = new MyUnrolledLinkedList<>(8);
+        Deque<Integer> ref = new ArrayDeque<>();
+        for (int op = 0; op < 20_000; op++){
+            int v = r.nextInt(30);
+            switch (r.nextInt(7)){
+                case 0: deque.addFirst(v); ref.addFirst(v); break;
+                case 1: deque.addLast(v); ref.addLast(v); break;
+                case 2: assertEquals(ref.pollFirst(), deque.pollFirst()); break;
+                case 3: assertEquals(ref.pollLast(), deque.pollLast()); break;
+                case 4: assertEquals(ref.peekLast(), deque.peekLast()); break;
+                case 5: assertEquals(ref.removeFirstOccurrence(v), deque.removeFirstOccurrence(v)); break;
+                default: assertEquals(ref.removeLastOccurrence(v), deque.removeLastOccurrence(v)); break;
+            }
+            assertEquals(ref.size(), deque.size());
+        }
+        assertEquals(new ArrayList<>(ref), deque);
+        List<Integer> reversed = new ArrayList<>();
+        deque.descendingIterator().forEachRemaining(reversed::add);
+        List<Integer> expected = new ArrayList<>(ref);
+        Collections.reverse(expected);
+        assertEquals(expected, reversed);
+    }
+
+    @Test
+    public void listIteratorEditsInPlace(){
+        MyUnrolledLinkedList<Integer> list = new MyUnrolledLinkedList<>(4);
+        List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 1000; i++){
+            list.add(i);
+            ref.add(i);
+        }
+        ListIterator<Integer> it = list.listIterator();
+        ListIterator<Integer> refIt = ref.listIterator();
+        while (it.hasNext()){
+            int v = it.next();
+            refIt.next();
+            if (v % 5 == 0){
+                it.remove();
+                refIt.remove();
+            }else if (v % 5 == 1){
+                it.add(-v);
+                refIt.add(-v);
+            }else if (v % 5 == 2){
+                it.set(v * 10);
+                refIt.set(v * 10);
+            }
+        }
+        assertEquals(ref, list);
+        assertEquals(ref, list.parallelStream().collect(Collectors.toList()));
+        assertEquals(ref, list.clone());
+    }
+}
@@ -0,0 +1,104 @@
+package cn.xiaohupao.list.arraylist;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * IntArrayList、LongArrayList、DoubleArrayList
+ * @Author: xiaohupao
+ * @Date: 2026/10/17 23:45
+ */
+public class PrimitiveArrayListTest {
+
+    @Test
+    public void intListMatchesArrayList(){
+        for (long seed = 0; seed < 20; seed++){
+            ListDiff.run(new IntArrayList(), seed, 2000);
+        }
+    }
+
+    @Test
+    public void primitiveAccessors(){
+        IntArrayList ints = new IntArrayList(new int[]{5, 3, 9, 3});
+        assertEquals(9, ints.getInt(2));
+        assertEquals(9, ints.setInt(2, 7));
+        assertEquals(1, ints.indexOfInt(3));
+        assertEquals(3, ints.lastIndexOfInt(3));
+        assertTrue(ints.removeIfInt(v -> v == 3));
+        ints.replaceAllInt(v -> v * 2);
+        assertArrayEquals(new int[]{10, 14}, ints.toIntArray());
+        assertEquals(24, ints.intStream().sum());
+
+        LongArrayList longs = new LongArrayList();
+        longs.addLong(Long.MAX_VALUE);
+        longs.addLong(0, -1L);
+        assertEquals(Long.MAX_VALUE, longs.removeLong(1));
+        assertEquals(Collections.singletonList(-1L), longs);
+
+        DoubleArrayList doubles = new DoubleArrayList();
+        doubles.addDouble(Double.NaN);
+        doubles.addDouble(-0.0);
+        //与Double.equals一致：NaN等于自身，0.0与-0.0不相等
+        assertEquals(0, doubles.indexOfDouble(Double.NaN));
+        assertEquals(-1, doubles.indexOfDouble(0.0));
+        assertTrue(doubles.contains(-0.0));
+    }
+
+    @Test
+    public void sortWithAndWithoutComparator(){
+        Random r = new Random(7);
+        IntArrayList list = new IntArrayList();
+        List<Integer> ref = new ArrayList<>();
+        for (int i = 0; i < 1000; i++){
+            int v = r.nextInt(100);
+            list.addInt(v);
+            ref.add(v);
+        }
+        list.sort(null);
+        Collections.sort(ref);
+        assertEquals(ref, list);
+        list.sort(Comparator.reverseOrder());
+        ref.sort(Comparator.reverseOrder());
+        assertEquals(ref, list);
+    }
+
+    @Test
+    public void cloneAndSerialization() throws Exception{
+        IntArrayList list = new IntArrayList();
+        IntStream.range(0, 100).forEach(list::addInt);
+        IntArrayList copy = (IntArrayList) list.clone();
+        copy.removeInt(0);
+        assertEquals(100, list.size());
+        assertEquals(99, copy.size());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)){
+            out.writeObject(list);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))){
+            assertEquals(list, in.readObject());
+        }
+    }
+
+    @Test
+    public void parallelStreamSplitsWholeRange(){
+        IntArrayList list = new IntArrayList();
+        IntStream.range(0, 100_000).forEach(list::addInt);
+        assertEquals(IntStream.range(0, 100_000).asLongStream().sum(), list.parallelIntStream().asLongStream().sum());
+        assertEquals(list, list.parallelIntStream().boxed().collect(Collectors.toList()));
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void iteratorFailsFast(){
+        IntArrayList list = new IntArrayList(new int[]{1, 2, 3});
+        for (Integer ignored : list){
+            list.addInt(4);
+        }
+    }
+}